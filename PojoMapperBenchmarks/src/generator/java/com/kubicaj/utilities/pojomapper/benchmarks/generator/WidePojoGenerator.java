@@ -0,0 +1,225 @@
+package com.kubicaj.utilities.pojomapper.benchmarks.generator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Generator of wide pojos and their hand-written mappers used by benchmarks. It is run by maven in phase
+ * <i>generate-sources</i> and the sources are generated into <i>target/generated-sources/wide-pojos</i>
+ * <p>
+ * Generated classes:
+ * <ul>
+ * <li>WidePojoN - pojo with N fields <i>fieldI</i></li>
+ * <li>PrefixedWidePojoN - pojo with N fields <i>dtoFieldIValue</i> mapped from WidePojoN</li>
+ * <li>WideMappers - copy by plain getters and setters, chain of MapperBuilder and factory of filled pojos</li>
+ * </ul>
+ * Run e.g.: java WidePojoGenerator PojoMapperBenchmarks/target/generated-sources/wide-pojos
+ */
+public final class WidePojoGenerator {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // ATTRIBUTES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private static final String PACKAGE_NAME = "com.kubicaj.utilities.pojomapper.benchmarks.pojos";
+
+    /**
+     * the numbers of fields of generated pojos
+     */
+    private static final int[] WIDTHS = {5, 50, 500};
+
+    /**
+     * the types of fields. The field with index I has type FIELD_TYPES[I % FIELD_TYPES.length]
+     */
+    private static final String[] FIELD_TYPES = {"int", "long", "String", "Integer", "double"};
+
+    /**
+     * the setters of {@code MapperBuilder} for each type of {@link WidePojoGenerator#FIELD_TYPES}
+     */
+    private static final String[] BUILDER_SETTERS = {"withIntSetter", "withLongSetter", "withSetter", "withSetter", "withDoubleSetter"};
+
+    private static final String LINE_SEPARATOR = "\n";
+
+    private WidePojoGenerator() {
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // GENERATING METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * @param args - the root directory of generated sources
+     * @throws IOException
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("The root directory of generated sources is expected");
+        }
+        Path packageDirectory = Paths.get(args[0], PACKAGE_NAME.split("\\."));
+        Files.createDirectories(packageDirectory);
+        for (int width : WIDTHS) {
+            write(packageDirectory, "WidePojo" + width, generatePojo("WidePojo" + width, width, "", "",
+                    "pojo with " + width + " fields"));
+            write(packageDirectory, "PrefixedWidePojo" + width, generatePojo("PrefixedWidePojo" + width, width, "dto", "Value",
+                    "pojo with " + width + " fields with prefix <i>dto</i> and suffix <i>Value</i> mapped from {@link WidePojo" + width + "}"));
+        }
+        write(packageDirectory, "WideMappers", generateMappers());
+    }
+
+    /**
+     * generate pojo with {@code width} fields with getters and setters
+     *
+     * @param className
+     * @param width       - number of fields
+     * @param prefix      - prefix of field names
+     * @param suffix      - suffix of field names
+     * @param description - first line of class javadoc
+     * @return - source code of class
+     */
+    private static String generatePojo(String className, int width, String prefix, String suffix, String description) {
+        StringBuilder result = new StringBuilder();
+        appendHeader(result);
+        line(result, "/**");
+        line(result, " * " + description);
+        line(result, " * <p>");
+        line(result, " * Generated pojo - the types of fields repeat in order " + String.join(", ", FIELD_TYPES));
+        line(result, " */");
+        line(result, "public class " + className + " {");
+        line(result, "");
+        for (int i = 0; i < width; i++) {
+            line(result, "    private " + fieldType(i) + " " + fieldName(prefix, i, suffix) + ";");
+        }
+        for (int i = 0; i < width; i++) {
+            String fieldName = fieldName(prefix, i, suffix);
+            String propertyName = capitalize(fieldName);
+            line(result, "");
+            line(result, "    public " + fieldType(i) + " get" + propertyName + "() {");
+            line(result, "        return " + fieldName + ";");
+            line(result, "    }");
+            line(result, "");
+            line(result, "    public void set" + propertyName + "(" + fieldType(i) + " " + fieldName + ") {");
+            line(result, "        this." + fieldName + " = " + fieldName + ";");
+            line(result, "    }");
+        }
+        line(result, "}");
+        return result.toString();
+    }
+
+    /**
+     * generate class with hand-written mappers of all widths of {@link WidePojoGenerator#WIDTHS}
+     *
+     * @return - source code of class
+     */
+    private static String generateMappers() {
+        StringBuilder result = new StringBuilder();
+        appendHeader(result);
+        line(result, "import com.kubicaj.utilities.pojomapper.MapperBuilder;");
+        line(result, "");
+        line(result, "/**");
+        line(result, " * Hand-written mappers of wide pojos - the baseline of benchmarks and the chains of {@link MapperBuilder}");
+        line(result, " * <p>");
+        line(result, " * Generated class");
+        line(result, " */");
+        line(result, "public final class WideMappers {");
+        line(result, "");
+        line(result, "    private WideMappers() {");
+        line(result, "    }");
+        for (int width : WIDTHS) {
+            String className = "WidePojo" + width;
+            // copy by getters and setters
+            line(result, "");
+            line(result, "    /**");
+            line(result, "     * copy all fields of {@code source} into new instance of {@link " + className + "} by plain getters and setters");
+            line(result, "     */");
+            line(result, "    public static " + className + " copy(" + className + " source) {");
+            line(result, "        " + className + " result = new " + className + "();");
+            for (int i = 0; i < width; i++) {
+                line(result, "        result.setField" + i + "(source.getField" + i + "());");
+            }
+            line(result, "        return result;");
+            line(result, "    }");
+            // chain of builder
+            line(result, "");
+            line(result, "    /**");
+            line(result, "     * map all fields of {@code source} into new instance of {@link " + className + "} by chain of {@link MapperBuilder}");
+            line(result, "     */");
+            line(result, "    public static " + className + " mapByBuilder(" + className + " source) {");
+            line(result, "        MapperBuilder<" + className + "> builder = MapperBuilder.createBuilder(" + className + ".class);");
+            for (int i = 0; i < width; i++) {
+                line(result, "        builder." + BUILDER_SETTERS[i % BUILDER_SETTERS.length] + "(" + className + "::setField" + i
+                        + ", source.getField" + i + "());");
+            }
+            line(result, "        return builder.apply();");
+            line(result, "    }");
+            // filled instance
+            line(result, "");
+            line(result, "    /**");
+            line(result, "     * @return - new instance of {@link " + className + "} with all fields filled");
+            line(result, "     */");
+            line(result, "    public static " + className + " new" + className + "() {");
+            line(result, "        " + className + " result = new " + className + "();");
+            for (int i = 0; i < width; i++) {
+                line(result, "        result.setField" + i + "(" + fieldValue(i) + ");");
+            }
+            line(result, "        return result;");
+            line(result, "    }");
+        }
+        line(result, "}");
+        return result.toString();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // HELPER METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private static void appendHeader(StringBuilder result) {
+        line(result, "package " + PACKAGE_NAME + ";");
+        line(result, "");
+    }
+
+    private static void line(StringBuilder result, String line) {
+        result.append(line).append(LINE_SEPARATOR);
+    }
+
+    private static String fieldType(int index) {
+        return FIELD_TYPES[index % FIELD_TYPES.length];
+    }
+
+    private static String fieldName(String prefix, int index, String suffix) {
+        return prefix.isEmpty() ? "field" + index + suffix : prefix + "Field" + index + suffix;
+    }
+
+    /**
+     * @return - literal of value of field with {@code index} according its type
+     */
+    private static String fieldValue(int index) {
+        switch (fieldType(index)) {
+            case "long":
+                return index + "L";
+            case "String":
+                return "\"value" + index + "\"";
+            case "double":
+                return index + ".5";
+            default:
+                return String.valueOf(index);
+        }
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static void write(Path packageDirectory, String className, String source) throws IOException {
+        Path file = packageDirectory.resolve(className + ".java");
+        byte[] content = source.getBytes(StandardCharsets.UTF_8);
+        // the unchanged file is not written again, so the incremental build does not compile it again
+        if (Files.exists(file) && Arrays.equals(Files.readAllBytes(file), content)) {
+            return;
+        }
+        Files.write(file, content);
+    }
+}
@@ -0,0 +1,91 @@
+package com.kubicaj.utilities.pojomapper.benchmarks;
+
+import com.kubicaj.utilities.pojomapper.ReflectionMapperBuilder;
+import com.kubicaj.utilities.pojomapper.benchmarks.pojos.NestedPojo1;
+import com.kubicaj.utilities.pojomapper.benchmarks.pojos.NestedPojo2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of mapping of chain of internal objects with {@code depth} levels. The internal objects are mapped by:
+ * <ul>
+ * <li>{@link NestingBenchmark#handWritten()} - plain getters and setters (baseline)</li>
+ * <li>{@link NestingBenchmark#internalClassMapper()} - internal class mapper of {@link ReflectionMapperBuilder}</li>
+ * <li>{@link NestingBenchmark#internalFieldMapper()} - internal field mapper of {@link ReflectionMapperBuilder}</li>
+ * </ul>
+ * The internal mappers are created once, the builder of root object is created in each operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class NestingBenchmark {
+
+    @Param({"1", "4", "16"})
+    private int depth;
+
+    private NestedPojo1 source;
+    private ReflectionMapperBuilder<NestedPojo2, NestedPojo1> classMapper;
+    private ReflectionMapperBuilder<NestedPojo2, NestedPojo1> fieldMapper;
+
+    @Setup
+    public void setUp() {
+        source = null;
+        for (int level = depth; level > 0; level--) {
+            NestedPojo1 parent = new NestedPojo1();
+            parent.setId(level);
+            parent.setName("level" + level);
+            parent.setAmount(level * 1000L);
+            parent.setChild(source);
+            source = parent;
+        }
+        classMapper = ReflectionMapperBuilder.createReflectionBuilder(NestedPojo1.class, NestedPojo2.class);
+        classMapper.withInternalClassMapper(NestedPojo2.class, classMapper);
+        fieldMapper = ReflectionMapperBuilder.createReflectionBuilder(NestedPojo1.class, NestedPojo2.class);
+        fieldMapper.withInternalFieldMapper("child", fieldMapper);
+    }
+
+    @Benchmark
+    public NestedPojo2 handWritten() {
+        return copy(source);
+    }
+
+    @Benchmark
+    public NestedPojo2 internalClassMapper() {
+        return ReflectionMapperBuilder.createReflectionBuilder(source, NestedPojo1.class, NestedPojo2.class)
+                .withInternalClassMapper(NestedPojo2.class, classMapper)
+                .apply();
+    }
+
+    @Benchmark
+    public NestedPojo2 internalFieldMapper() {
+        return ReflectionMapperBuilder.createReflectionBuilder(source, NestedPojo1.class, NestedPojo2.class)
+                .withInternalFieldMapper("child", fieldMapper)
+                .apply();
+    }
+
+    private static NestedPojo2 copy(NestedPojo1 source) {
+        if (source == null) {
+            return null;
+        }
+        NestedPojo2 result = new NestedPojo2();
+        result.setId(source.getId());
+        result.setName(source.getName());
+        result.setAmount(source.getAmount());
+        result.setChild(copy(source.getChild()));
+        return result;
+    }
+}
@@ -0,0 +1,126 @@
+package com.kubicaj.utilities.pojomapper.benchmarks;
+
+import com.kubicaj.utilities.pojomapper.MappingPlan;
+import com.kubicaj.utilities.pojomapper.ReflectionMapperBuilder;
+import com.kubicaj.utilities.pojomapper.benchmarks.pojos.PrefixedWidePojo5;
+import com.kubicaj.utilities.pojomapper.benchmarks.pojos.PrefixedWidePojo50;
+import com.kubicaj.utilities.pojomapper.benchmarks.pojos.PrefixedWidePojo500;
+import com.kubicaj.utilities.pojomapper.benchmarks.pojos.WideMappers;
+import com.kubicaj.utilities.pojomapper.benchmarks.pojos.WidePojo5;
+import com.kubicaj.utilities.pojomapper.benchmarks.pojos.WidePojo50;
+import com.kubicaj.utilities.pojomapper.benchmarks.pojos.WidePojo500;
+import com.kubicaj.utilities.pojomapper.options.MapperOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Benchmarks of mapping of one pojo with {@code width} fields. The types of fields repeat in order int, long, String,
+ * Integer, double. All the mappers create new destination object in each operation:
+ * <ul>
+ * <li>{@link WidthBenchmark#handWritten()} - plain getters and setters (baseline)</li>
+ * <li>{@link WidthBenchmark#mapperBuilderChain()} - chain of setters of {@link com.kubicaj.utilities.pojomapper.MapperBuilder}</li>
+ * <li>{@link WidthBenchmark#reflectionBuilder()} - new {@link ReflectionMapperBuilder} applied on source object</li>
+ * <li>{@link WidthBenchmark#reflectionBuilderPrefixSuffix()} - the same with prefix and suffix of destination fields</li>
+ * <li>{@link WidthBenchmark#reflectionBuilderExclusions()} - the same with each fifth field excluded</li>
+ * <li>{@link WidthBenchmark#mappingPlan()} - {@link MappingPlan} created once and reused</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class WidthBenchmark {
+
+    @Param({"5", "50", "500"})
+    private int width;
+
+    private Object source;
+    private Class<Object> type;
+    private Class<Object> prefixedType;
+    private UnaryOperator<Object> handWrittenMapper;
+    private UnaryOperator<Object> builderChainMapper;
+    private MapperOptions prefixSuffixOptions;
+    private MapperOptions excludingOptions;
+    private MappingPlan<Object, Object> mappingPlan;
+
+    @Setup
+    public void setUp() {
+        switch (width) {
+            case 5:
+                init(WidePojo5.class, PrefixedWidePojo5.class, WideMappers.newWidePojo5(),
+                        object -> WideMappers.copy((WidePojo5) object), object -> WideMappers.mapByBuilder((WidePojo5) object));
+                break;
+            case 50:
+                init(WidePojo50.class, PrefixedWidePojo50.class, WideMappers.newWidePojo50(),
+                        object -> WideMappers.copy((WidePojo50) object), object -> WideMappers.mapByBuilder((WidePojo50) object));
+                break;
+            case 500:
+                init(WidePojo500.class, PrefixedWidePojo500.class, WideMappers.newWidePojo500(),
+                        object -> WideMappers.copy((WidePojo500) object), object -> WideMappers.mapByBuilder((WidePojo500) object));
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported width " + width);
+        }
+        prefixSuffixOptions = new MapperOptions()
+                .setDestinationObjectFieldPrefix("dto")
+                .setDestinationObjectFieldSuffixe("Value");
+        excludingOptions = new MapperOptions();
+        for (int i = 4; i < width; i += 5) {
+            excludingOptions.addExcludingField("field" + i);
+        }
+        mappingPlan = MappingPlan.of(type, type);
+    }
+
+    private void init(Class<?> type, Class<?> prefixedType, Object source, UnaryOperator<Object> handWrittenMapper,
+                      UnaryOperator<Object> builderChainMapper) {
+        this.type = (Class<Object>) type;
+        this.prefixedType = (Class<Object>) prefixedType;
+        this.source = source;
+        this.handWrittenMapper = handWrittenMapper;
+        this.builderChainMapper = builderChainMapper;
+    }
+
+    @Benchmark
+    public Object handWritten() {
+        return handWrittenMapper.apply(source);
+    }
+
+    @Benchmark
+    public Object mapperBuilderChain() {
+        return builderChainMapper.apply(source);
+    }
+
+    @Benchmark
+    public Object reflectionBuilder() {
+        return ReflectionMapperBuilder.createReflectionBuilder(source, type, type).apply();
+    }
+
+    @Benchmark
+    public Object reflectionBuilderPrefixSuffix() {
+        return ReflectionMapperBuilder.createReflectionBuilder(source, type, prefixedType, prefixSuffixOptions).apply();
+    }
+
+    @Benchmark
+    public Object reflectionBuilderExclusions() {
+        return ReflectionMapperBuilder.createReflectionBuilder(source, type, type, excludingOptions).apply();
+    }
+
+    @Benchmark
+    public Object mappingPlan() {
+        return mappingPlan.map(source);
+    }
+}
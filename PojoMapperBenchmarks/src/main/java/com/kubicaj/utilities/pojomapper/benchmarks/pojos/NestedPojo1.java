@@ -0,0 +1,44 @@
+package com.kubicaj.utilities.pojomapper.benchmarks.pojos;
+
+/**
+ * pojo with internal object of the same type. It is mapped into {@link NestedPojo2}
+ */
+public class NestedPojo1 {
+
+    private int id;
+    private String name;
+    private long amount;
+    private NestedPojo1 child;
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+
+    public NestedPojo1 getChild() {
+        return child;
+    }
+
+    public void setChild(NestedPojo1 child) {
+        this.child = child;
+    }
+}
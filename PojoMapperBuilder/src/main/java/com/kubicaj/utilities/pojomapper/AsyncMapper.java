@@ -0,0 +1,165 @@
+package com.kubicaj.utilities.pojomapper;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Asynchronous facade of thread-safe mapper (e.g. {@link MappingPlan} or {@link MapperTemplate}).
+ * <p>
+ * Each source object is mapped as separate task of {@link Executor}, therefore slow getters of source objects
+ * (e.g. lazy loading from database) of many objects are processed at the same time. The default executor uses
+ * virtual threads if they are available in running JVM, otherwise it is a bounded pool of daemon threads.
+ * <p>
+ * Sample:
+ * <pre>
+ * AsyncMapper&lt;SimplePojoTest1, SimplePojoTest2&gt; asyncMapper = AsyncMapper.of(MappingPlan.of(SimplePojoTest1.class, SimplePojoTest2.class));
+ * CompletableFuture&lt;List&lt;SimplePojoTest2&gt;&gt; result = asyncMapper.mapAll(sourceObjects);
+ * </pre>
+ *
+ * @param <S> - type of source object
+ * @param <R> - type of destination object
+ */
+public class AsyncMapper<S, R> {
+
+    /**
+     * size of default pool if virtual threads are not available. The tasks wait mostly for slow getters,
+     * therefore there are more threads than processors
+     */
+    private static final int DEFAULT_POOL_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // ATTRIBUTES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private final Function<? super S, ? extends R> mapper;
+    private final Executor executor;
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CONSTRUCTORS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private AsyncMapper(Function<? super S, ? extends R> mapper, Executor executor) {
+        this.mapper = mapper;
+        this.executor = executor;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // INSTANCES CREATION METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Create new instance of {@link AsyncMapper} with default executor
+     *
+     * @param mapper - thread-safe mapper of source object into destination object
+     * @return
+     * @see AsyncMapper#defaultExecutor()
+     */
+    public static <S, R> AsyncMapper<S, R> of(Function<? super S, ? extends R> mapper) {
+        return new AsyncMapper<>(mapper, defaultExecutor());
+    }
+
+    /**
+     * Create new instance of {@link AsyncMapper}
+     *
+     * @param mapper   - thread-safe mapper of source object into destination object
+     * @param executor - executor of mapping tasks
+     * @return
+     */
+    public static <S, R> AsyncMapper<S, R> of(Function<? super S, ? extends R> mapper, Executor executor) {
+        return new AsyncMapper<>(mapper, executor);
+    }
+
+    /**
+     * @return - shared executor which creates new virtual thread for each task if the JVM supports virtual threads,
+     * otherwise bounded pool of daemon threads
+     */
+    public static Executor defaultExecutor() {
+        return DefaultExecutorHolder.DEFAULT_EXECUTOR;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // MAPPING METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * map {@code sourceObject} asynchronously
+     *
+     * @param sourceObject - object from which the values are get
+     * @return - future of mapped object. The future is completed exceptionally if the mapping fails
+     */
+    public CompletableFuture<R> map(S sourceObject) {
+        return CompletableFuture.supplyAsync(() -> mapper.apply(sourceObject), executor);
+    }
+
+    /**
+     * map all {@code sourceObjects} asynchronously. Each object is mapped as separate task
+     *
+     * @param sourceObjects - objects from which the values are get
+     * @return - future of list of mapped objects in the same order as {@code sourceObjects}. The future is completed
+     * exceptionally if mapping of any object fails
+     */
+    public CompletableFuture<List<R>> mapAll(Collection<? extends S> sourceObjects) {
+        CompletableFuture<R>[] futures = new CompletableFuture[sourceObjects.size()];
+        int index = 0;
+        for (S sourceObject : sourceObjects) {
+            futures[index++] = map(sourceObject);
+        }
+        return CompletableFuture.allOf(futures).thenApply(ignored -> {
+            List<R> result = new ArrayList<>(futures.length);
+            for (CompletableFuture<R> future : futures) {
+                result.add(future.join());
+            }
+            return result;
+        });
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // GETTERS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // INTERNAL CLASSES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Lazy holder of default executor - the executor is created when it is used first time
+     */
+    private static class DefaultExecutorHolder {
+
+        private static final Executor DEFAULT_EXECUTOR = createDefaultExecutor();
+
+        /**
+         * the project is compiled for java 8, therefore the virtual threads are found by reflection
+         *
+         * @return
+         */
+        private static Executor createDefaultExecutor() {
+            try {
+                Method factoryMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) factoryMethod.invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // virtual threads are not available
+            }
+            AtomicInteger threadCounter = new AtomicInteger();
+            ThreadFactory threadFactory = runnable -> {
+                Thread thread = new Thread(runnable, "pojo-mapper-async-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            return Executors.newFixedThreadPool(DEFAULT_POOL_SIZE, threadFactory);
+        }
+    }
+}
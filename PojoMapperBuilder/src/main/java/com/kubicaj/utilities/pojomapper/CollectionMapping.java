@@ -0,0 +1,489 @@
+package com.kubicaj.utilities.pojomapper;
+
+import com.kubicaj.utilities.pojomapper.exception.MapperException;
+import com.kubicaj.utilities.pojomapper.function.ConverterFunction;
+import com.kubicaj.utilities.pojomapper.options.MapperOptions;
+import com.kubicaj.utilities.pojomapper.reflection.ReflectionUtils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * Mapping of field which type is collection or array into field which type is collection or array.
+ * <p>
+ * The element types are resolved only once from generic types of fields (e.g. {@code List<SimplePojoTest1>}).
+ * The destination collection is new instance created with the size of source collection:
+ * <ul>
+ * <li>array - new array of destination component type</li>
+ * <li>{@link List}, {@link Collection}, {@link java.util.ArrayList} - {@link ArrayList}</li>
+ * <li>{@link java.util.Set}, {@link java.util.HashSet} - {@link LinkedHashSet}, so the order of source is kept</li>
+ * <li>{@link SortedSet}, {@link java.util.NavigableSet} - {@link TreeSet}. The comparator of source {@link SortedSet}
+ * is used if the elements are copied as they are</li>
+ * <li>{@link java.util.Queue}, {@link java.util.Deque} - {@link ArrayDeque}</li>
+ * <li>other collection - new instance created by its public no-argument constructor</li>
+ * </ul>
+ * If the destination collection can not be created (e.g. {@link java.util.EnumSet} or other abstract type) and the
+ * elements are not mapped then there is no collection mapping and the field is copied by reference as any other field.
+ * <p>
+ * The elements are mapped by:
+ * <ol>
+ * <li>internal class mapper of destination element type if it is type mapper (see {@link ReflectionMapperBuilder#isTypeMapper()})</li>
+ * <li>converter of {@link MapperOptions#getConverterRegistry()} if the source element can not be assigned into
+ * destination element (e.g. {@code List<Integer>} into {@code List<Long>})</li>
+ * <li>{@link MappingPlan} of element types if the source element can not be assigned into destination element
+ * and the destination element is not JDK type</li>
+ * <li>otherwise the elements are copied as they are. The array of elements which can be assigned into destination
+ * array is copied by {@link System#arraycopy(Object, int, Object, int, int)}</li>
+ * </ol>
+ * If the source element can not be assigned into destination element and there is no converter, then each element
+ * is checked and {@link MapperException} is thrown if the element is not instance of destination element type.
+ */
+class CollectionMapping {
+
+    private static final byte ARRAY = 0;
+    private static final byte LIST = 1;
+    private static final byte SET = 2;
+    private static final byte SORTED_SET = 3;
+    private static final byte DEQUE = 4;
+    private static final byte OTHER = 5;
+
+    /**
+     * kind of destination type which can not be created
+     */
+    private static final byte NOT_INSTANTIABLE = -1;
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // ATTRIBUTES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private final Class<?> destinationType;
+    private final Class<?> sourceElementType;
+    private final Class<?> destinationElementType;
+    private final MapperOptions mapperOptions;
+
+    /**
+     * kind of destination - one of constants {@link CollectionMapping#ARRAY}, {@link CollectionMapping#LIST}, ...
+     */
+    private final byte destinationKind;
+
+    /**
+     * factory of destination collection of kind {@link CollectionMapping#OTHER}
+     */
+    private final Supplier<?> destinationSupplier;
+
+    /**
+     * internal type mapper of elements. The value is null if there is no such mapper
+     */
+    private final ReflectionMapperBuilder elementMapper;
+
+    /**
+     * converter of elements found in {@link MapperOptions#getConverterRegistry()}. The value is null if the elements
+     * are assignable or mapped or if there is no converter
+     */
+    private final ConverterFunction<Object, Object> elementConverter;
+
+    /**
+     * true if the source element type can not be assigned into destination element type and the elements are not
+     * mapped, therefore each element is converted by {@link CollectionMapping#elementConverter} or checked
+     */
+    private final boolean checkingElements;
+
+    /**
+     * true if the elements are mapped by {@link CollectionMapping#elementMappingPlan}
+     */
+    private final boolean planElementMapping;
+
+    /**
+     * plan of elements. It is created when the first element is mapped, because the element type can refer
+     * back to the type of this field
+     */
+    private volatile MappingPlan<Object, Object> elementMappingPlan;
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CONSTRUCTORS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private CollectionMapping(Class<?> destinationType, byte destinationKind, Class<?> sourceElementType, Class<?> destinationElementType,
+                              MapperOptions mapperOptions, ReflectionMapperBuilder elementMapper, ConverterFunction<Object, Object> elementConverter,
+                              boolean checkingElements, boolean planElementMapping) {
+        this.destinationType = destinationType;
+        this.destinationKind = destinationKind;
+        this.sourceElementType = sourceElementType;
+        this.destinationElementType = destinationElementType;
+        this.mapperOptions = mapperOptions;
+        this.elementMapper = elementMapper;
+        this.elementConverter = elementConverter;
+        this.checkingElements = checkingElements;
+        this.planElementMapping = planElementMapping;
+        this.destinationSupplier = destinationKind == OTHER ? ReflectionUtils.getInstanceSupplier(destinationType) : null;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // INSTANCES CREATION METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Create mapping of collection field
+     *
+     * @param propertyMapping - resolved field
+     * @param internalMappers - internal mappers in the format of {@link ReflectionMapperBuilder#internalMapperBuilders}
+     * @param mapperOptions
+     * @return - new instance of {@link CollectionMapping} or null if source or destination of field is not
+     * collection or array or if the destination collection can not be created and the elements are not mapped
+     * @throws MapperException - if the elements have to be mapped but the destination collection can not be created
+     */
+    static CollectionMapping of(PropertyMapping propertyMapping, Map<String, IMapperBuilder> internalMappers, MapperOptions mapperOptions) {
+        Class<?> sourceElementType = resolveElementType(propertyMapping.getSourceGenericType());
+        Class<?> destinationElementType = resolveElementType(propertyMapping.getDestinationGenericType());
+        if (sourceElementType == null || destinationElementType == null) {
+            return null;
+        }
+        IMapperBuilder internalMapper = internalMappers.get(destinationElementType.getName());
+        ReflectionMapperBuilder elementMapper = internalMapper instanceof ReflectionMapperBuilder && ((ReflectionMapperBuilder) internalMapper).isTypeMapper()
+                ? (ReflectionMapperBuilder) internalMapper
+                : null;
+        boolean assignableElements = ReflectionUtils.wrapPrimitiveType(destinationElementType)
+                .isAssignableFrom(ReflectionUtils.wrapPrimitiveType(sourceElementType));
+        // the converter is resolved only once for all elements
+        ConverterFunction<Object, Object> elementConverter = elementMapper == null && !assignableElements
+                ? mapperOptions.getConverterRegistry().findConverter(sourceElementType, destinationElementType)
+                : null;
+        boolean planElementMapping = elementMapper == null && elementConverter == null
+                && !assignableElements
+                && !isJdkType(destinationElementType);
+        boolean checkingElements = elementMapper == null && !planElementMapping && !assignableElements;
+        Class<?> destinationType = propertyMapping.getDestinationFieldType();
+        byte destinationKind = resolveDestinationKind(destinationType);
+        if (destinationKind == NOT_INSTANTIABLE) {
+            if (elementMapper == null && !planElementMapping && elementConverter == null) {
+                // the same reference is set into destination
+                return null;
+            }
+            throw new MapperException(String.format("The elements of field %s are mapped or converted, but the collection of type %s can not be created",
+                    propertyMapping.getDestinationFieldName(), destinationType.getName()));
+        }
+        return new CollectionMapping(destinationType, destinationKind, sourceElementType, destinationElementType, mapperOptions,
+                elementMapper, elementConverter, checkingElements, planElementMapping);
+    }
+
+    /**
+     * @param destinationType - type of destination field
+     * @return - kind of destination or {@link CollectionMapping#NOT_INSTANTIABLE} if there is no known implementation
+     * of the type and the type itself has no public no-argument constructor
+     */
+    private static byte resolveDestinationKind(Class<?> destinationType) {
+        if (destinationType.isArray()) {
+            return ARRAY;
+        } else if (destinationType.isAssignableFrom(ArrayList.class)) {
+            return LIST;
+        } else if (destinationType.isAssignableFrom(LinkedHashSet.class)) {
+            return SET;
+        } else if (destinationType.isAssignableFrom(TreeSet.class)) {
+            return SORTED_SET;
+        } else if (destinationType.isAssignableFrom(ArrayDeque.class)) {
+            return DEQUE;
+        }
+        if (destinationType.isInterface() || Modifier.isAbstract(destinationType.getModifiers())) {
+            return NOT_INSTANTIABLE;
+        }
+        try {
+            destinationType.getConstructor();
+            return OTHER;
+        } catch (NoSuchMethodException e) {
+            return NOT_INSTANTIABLE;
+        }
+    }
+
+    /**
+     * resolve type of element of collection or array
+     *
+     * @param genericType - generic type of field or getter
+     * @return - type of element or null if {@code genericType} is not collection or array. If the type of element
+     * is not known (e.g. raw collection) then {@link Object} is returned
+     */
+    static Class<?> resolveElementType(Type genericType) {
+        if (genericType instanceof Class) {
+            Class<?> classType = (Class<?>) genericType;
+            if (classType.isArray()) {
+                return classType.getComponentType();
+            }
+            return Collection.class.isAssignableFrom(classType) ? Object.class : null;
+        }
+        if (genericType instanceof GenericArrayType) {
+            return toClass(((GenericArrayType) genericType).getGenericComponentType());
+        }
+        if (genericType instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) genericType;
+            Type rawType = parameterizedType.getRawType();
+            if (!(rawType instanceof Class) || !Collection.class.isAssignableFrom((Class<?>) rawType)) {
+                return null;
+            }
+            Type[] typeArguments = parameterizedType.getActualTypeArguments();
+            return typeArguments.length == 1 ? toClass(typeArguments[0]) : Object.class;
+        }
+        return null;
+    }
+
+    private static Class<?> toClass(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return toClass(((ParameterizedType) type).getRawType());
+        }
+        if (type instanceof WildcardType) {
+            return toClass(((WildcardType) type).getUpperBounds()[0]);
+        }
+        if (type instanceof GenericArrayType) {
+            return Array.newInstance(toClass(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        }
+        // type variable
+        return Object.class;
+    }
+
+    private static boolean isJdkType(Class<?> classType) {
+        return classType.isPrimitive() || classType.isArray() || classType.getName().startsWith("java.");
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // MAPPING METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return - true if the elements are mapped into other objects, therefore {@link MappingContext} is needed
+     */
+    boolean isMappingElements() {
+        return elementMapper != null || planElementMapping;
+    }
+
+    /**
+     * map collection or array {@code sourceValue} into new collection or array of destination type
+     *
+     * @param sourceValue - collection or array
+     * @param context     - context of mapped objects. It can be null if {@link CollectionMapping#isMappingElements()} is false
+     * @return - new collection or array or null if {@code sourceValue} is null
+     */
+    Object map(Object sourceValue, MappingContext context) {
+        if (sourceValue == null) {
+            return null;
+        }
+        if (sourceValue instanceof Collection) {
+            Collection<?> sourceCollection = (Collection<?>) sourceValue;
+            int size = sourceCollection.size();
+            Object result = newDestination(sourceValue, size);
+            if (sourceCollection instanceof List && sourceCollection instanceof RandomAccess) {
+                List<?> sourceList = (List<?>) sourceCollection;
+                for (int i = 0; i < size; i++) {
+                    add(result, i, mapElement(sourceList.get(i), context));
+                }
+            } else {
+                Iterator<?> iterator = sourceCollection.iterator();
+                for (int i = 0; i < size; i++) {
+                    add(result, i, mapElement(iterator.next(), context));
+                }
+            }
+            return result;
+        }
+        int length = Array.getLength(sourceValue);
+        Object result = newDestination(sourceValue, length);
+        if (destinationKind == ARRAY && !isMappingElements() && !checkingElements
+                && (sourceValue.getClass() == destinationType || !destinationElementType.isPrimitive() && !sourceElementType.isPrimitive())) {
+            // bulk copy - primitive arrays of the same type or arrays of references
+            System.arraycopy(sourceValue, 0, result, 0, length);
+            return result;
+        }
+        if (sourceValue instanceof Object[]) {
+            Object[] sourceArray = (Object[]) sourceValue;
+            for (int i = 0; i < length; i++) {
+                add(result, i, mapElement(sourceArray[i], context));
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                add(result, i, mapElement(Array.get(sourceValue, i), context));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * patch collection or array {@code sourceValue} into existing collection or array {@code destinationValue}
+     * (see {@link MappingPlan#patch(Object, Object)}). The elements are compared one by one:
+     * <ul>
+     * <li>the mapped elements of array, list or deque are patched into the existing elements of the same index.
+     * If some element has to be replaced, then the new collection is mapped and the patched elements are reused
+     * from {@code context}</li>
+     * <li>other elements are mapped into new collection which is compared with {@code destinationValue}
+     * by {@link Objects#equals(Object, Object)} of elements</li>
+     * </ul>
+     * The collection of other size than {@code sourceValue} is always replaced by new collection
+     *
+     * @param sourceValue      - collection or array
+     * @param destinationValue - current collection or array of destination
+     * @param context          - context of mapped objects. It can be null if {@link CollectionMapping#isMappingElements()} is false
+     * @return - {@link MappingPlan#NO_VALUE} if nothing was changed, {@code destinationValue} if its elements were
+     * patched or the new collection or array which has to be set
+     */
+    Object patch(Object sourceValue, Object destinationValue, MappingContext context) {
+        if (sourceValue == null || destinationValue == null) {
+            return sourceValue == destinationValue ? MappingPlan.NO_VALUE : map(sourceValue, context);
+        }
+        if (isMappingElements() && (destinationKind == ARRAY || destinationKind == LIST || destinationKind == DEQUE)) {
+            return patchElements(sourceValue, destinationValue, context);
+        }
+        Object result = map(sourceValue, context);
+        return equalElements(result, destinationValue) ? MappingPlan.NO_VALUE : result;
+    }
+
+    /**
+     * patch mapped elements of {@code sourceValue} into the elements of {@code destinationValue} with the same index
+     *
+     * @param sourceValue      - collection or array
+     * @param destinationValue - array, list or deque
+     * @param context          - context of mapped objects
+     * @return - the same as {@link CollectionMapping#patch(Object, Object, MappingContext)}
+     */
+    private Object patchElements(Object sourceValue, Object destinationValue, MappingContext context) {
+        Object[] sourceElements = toArray(sourceValue);
+        Object[] destinationElements = toArray(destinationValue);
+        if (sourceElements.length != destinationElements.length) {
+            return map(sourceValue, context);
+        }
+        MappingPlan<Object, Object> mappingPlan = elementMapper != null ? elementMapper.toMappingPlan() : getElementMappingPlan();
+        boolean patched = false;
+        for (int i = 0; i < sourceElements.length; i++) {
+            Object element = MappingPlan.patchInternalObject(mappingPlan, sourceElements[i], destinationElements[i], context);
+            if (element == MappingPlan.NO_VALUE) {
+                continue;
+            }
+            if (element != destinationElements[i]) {
+                // the element has to be replaced
+                return map(sourceValue, context);
+            }
+            patched = true;
+        }
+        return patched ? destinationValue : MappingPlan.NO_VALUE;
+    }
+
+    private static Object[] toArray(Object value) {
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).toArray();
+        }
+        if (value instanceof Object[]) {
+            return (Object[]) value;
+        }
+        Object[] result = new Object[Array.getLength(value)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Array.get(value, i);
+        }
+        return result;
+    }
+
+    /**
+     * @param value            - new collection or array
+     * @param destinationValue - current collection or array of destination
+     * @return - true if both have the same elements. The sets are compared regardless of order
+     */
+    private static boolean equalElements(Object value, Object destinationValue) {
+        if (value instanceof Set && destinationValue instanceof Set) {
+            return value.equals(destinationValue);
+        }
+        if (value instanceof Collection && destinationValue instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            Collection<?> destinationCollection = (Collection<?>) destinationValue;
+            if (collection.size() != destinationCollection.size()) {
+                return false;
+            }
+            Iterator<?> iterator = collection.iterator();
+            for (Object destinationElement : destinationCollection) {
+                if (!Objects.equals(iterator.next(), destinationElement)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return Objects.deepEquals(value, destinationValue);
+    }
+
+    /**
+     * @param sourceValue - source collection or array
+     * @param size        - size of source
+     * @return - new empty collection or array of destination type
+     */
+    private Object newDestination(Object sourceValue, int size) {
+        switch (destinationKind) {
+            case ARRAY:
+                return Array.newInstance(destinationElementType, size);
+            case LIST:
+                return new ArrayList<>(size);
+            case SET:
+                return new LinkedHashSet<>(Math.max((int) (size / .75f) + 1, 16));
+            case SORTED_SET:
+                // the comparator of source elements can not be used for mapped or converted elements
+                return sourceValue instanceof SortedSet && !isMappingElements() && !checkingElements
+                        ? new TreeSet<>(((SortedSet<Object>) sourceValue).comparator())
+                        : new TreeSet<>();
+            case DEQUE:
+                return new ArrayDeque<>(size);
+            default:
+                return destinationSupplier.get();
+        }
+    }
+
+    private void add(Object destination, int index, Object element) {
+        if (destinationKind != ARRAY) {
+            ((Collection<Object>) destination).add(element);
+        } else if (destination instanceof Object[]) {
+            ((Object[]) destination)[index] = element;
+        } else {
+            Array.set(destination, index, element);
+        }
+    }
+
+    private Object mapElement(Object sourceElement, MappingContext context) {
+        if (sourceElement == null) {
+            return null;
+        }
+        if (elementMapper != null) {
+            return elementMapper.mapInternalObject(sourceElement, context);
+        }
+        if (planElementMapping) {
+            return getElementMappingPlan().map(sourceElement, context);
+        }
+        if (checkingElements) {
+            if (elementConverter != null) {
+                return elementConverter.convert(sourceElement);
+            }
+            if (!ReflectionUtils.wrapPrimitiveType(destinationElementType).isInstance(sourceElement)) {
+                throw new MapperException(String.format("The element of type %s can not be set into collection of %s and there is no converter",
+                        sourceElement.getClass().getName(), destinationElementType.getName()));
+            }
+        }
+        return sourceElement;
+    }
+
+    private MappingPlan<Object, Object> getElementMappingPlan() {
+        MappingPlan<Object, Object> result = elementMappingPlan;
+        if (result == null) {
+            result = MappingPlan.of((Class<Object>) sourceElementType, (Class<Object>) destinationElementType, mapperOptions);
+            elementMappingPlan = result;
+        }
+        return result;
+    }
+}
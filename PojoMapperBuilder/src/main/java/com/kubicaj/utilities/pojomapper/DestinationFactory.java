@@ -0,0 +1,301 @@
+package com.kubicaj.utilities.pojomapper;
+
+import com.kubicaj.utilities.pojomapper.exception.MapperException;
+import com.kubicaj.utilities.pojomapper.function.GetterFunction;
+import com.kubicaj.utilities.pojomapper.function.SetterFunction;
+import com.kubicaj.utilities.pojomapper.reflection.AccessorFactory;
+import com.kubicaj.utilities.pojomapper.reflection.ClassMetadataCache;
+import com.kubicaj.utilities.pojomapper.reflection.ReflectionUtils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Factory of immutable destination objects which are created with all values at once instead of no-argument
+ * constructor and setters. The factory is resolved once per class in this order:
+ * <ol>
+ * <li>java record - canonical constructor. The records are found by reflection, because the library is compiled
+ * for java 8</li>
+ * <li>class with public no-argument constructor - no factory, the object is created by the constructor and
+ * filled by setters</li>
+ * <li>class with public static method {@code builder()} whose result has method {@code build()} - the values are set
+ * into builder by methods with name of field, with prefix {@code with} or with prefix {@code set}</li>
+ * <li>class with public constructor whose parameters are fields of class - the parameters are matched by names if
+ * the class is compiled with {@code -parameters}, otherwise the types of parameters have to be the same as types of
+ * fields in order of declaration (all-args constructor)</li>
+ * </ol>
+ */
+class DestinationFactory {
+
+    /**
+     * the cache of resolved factories
+     * key = destination type
+     * value = factory or {@link DestinationFactory#NO_FACTORY} if the type is created by no-argument constructor
+     */
+    private static final ClassMetadataCache<DestinationFactory> destinationFactoryStaticCache =
+            ReflectionUtils.createMetadataCache(DestinationFactory::resolveDestinationFactory);
+
+    private static final DestinationFactory NO_FACTORY = new DestinationFactory(new String[0], new Class<?>[0], null, null, null, null);
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // ATTRIBUTES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * names of fields in order of arguments of {@link DestinationFactory#newInstance(Object[])}
+     */
+    private final String[] argumentNames;
+
+    private final Class<?>[] argumentTypes;
+
+    /**
+     * default values of primitive arguments which are used instead of null
+     */
+    private final Object[] defaultValues;
+
+    /**
+     * invoker of constructor. The value is null if the object is created by builder
+     */
+    private final Function<Object[], Object> constructorInvoker;
+
+    /**
+     * factory of new builder. The value is null if the object is created by constructor
+     */
+    private final Supplier<Object> builderFactory;
+
+    /**
+     * setters of builder in order of arguments. The value is null if the builder has no setter for the argument
+     */
+    private final SetterFunction<Object, Object>[] builderSetters;
+
+    /**
+     * method build of builder
+     */
+    private final GetterFunction<Object, Object> buildFunction;
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CONSTRUCTORS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private DestinationFactory(String[] argumentNames, Class<?>[] argumentTypes, Function<Object[], Object> constructorInvoker,
+                               Supplier<Object> builderFactory, SetterFunction<Object, Object>[] builderSetters,
+                               GetterFunction<Object, Object> buildFunction) {
+        this.argumentNames = argumentNames;
+        this.argumentTypes = argumentTypes;
+        this.defaultValues = new Object[argumentTypes.length];
+        for (int i = 0; i < argumentTypes.length; i++) {
+            if (argumentTypes[i].isPrimitive()) {
+                defaultValues[i] = Array.get(Array.newInstance(argumentTypes[i], 1), 0);
+            }
+        }
+        this.constructorInvoker = constructorInvoker;
+        this.builderFactory = builderFactory;
+        this.builderSetters = builderSetters;
+        this.buildFunction = buildFunction;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // INSTANCES CREATION METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * get factory of destination type from cache
+     *
+     * @param destinationObjectType
+     * @return - factory or null if the type is created by no-argument constructor and setters
+     */
+    static DestinationFactory of(Class<?> destinationObjectType) {
+        DestinationFactory result = destinationFactoryStaticCache.get(destinationObjectType);
+        return result == NO_FACTORY ? null : result;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // FACTORY METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * create new instance of destination type
+     *
+     * @param arguments - values of fields in order of {@link DestinationFactory#getArgumentNames()}. The null value of
+     *                  primitive field is replaced by default value. The array is changed
+     * @return - new instance
+     */
+    Object newInstance(Object[] arguments) {
+        for (int i = 0; i < arguments.length; i++) {
+            if (arguments[i] == null) {
+                arguments[i] = defaultValues[i];
+            }
+        }
+        if (constructorInvoker != null) {
+            return constructorInvoker.apply(arguments);
+        }
+        Object builder = builderFactory.get();
+        for (int i = 0; i < arguments.length; i++) {
+            if (builderSetters[i] != null) {
+                builderSetters[i].accept(builder, arguments[i]);
+            }
+        }
+        return buildFunction.apply(builder);
+    }
+
+    String[] getArgumentNames() {
+        return argumentNames;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // RESOLVING METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private static DestinationFactory resolveDestinationFactory(Class<?> destinationObjectType) {
+        if (destinationObjectType.isInterface() || destinationObjectType.isArray() || destinationObjectType.isPrimitive()
+                || Modifier.isAbstract(destinationObjectType.getModifiers())) {
+            return NO_FACTORY;
+        }
+        DestinationFactory result = resolveRecordFactory(destinationObjectType);
+        if (result != null) {
+            return result;
+        }
+        try {
+            destinationObjectType.getConstructor();
+            return NO_FACTORY;
+        } catch (NoSuchMethodException e) {
+            // immutable type
+        }
+        result = resolveBuilderFactory(destinationObjectType);
+        if (result == null) {
+            result = resolveConstructorFactory(destinationObjectType);
+        }
+        return result == null ? NO_FACTORY : result;
+    }
+
+    /**
+     * @param destinationObjectType
+     * @return - factory of canonical constructor of record or null if the type is not record
+     */
+    private static DestinationFactory resolveRecordFactory(Class<?> destinationObjectType) {
+        Object[] recordComponents;
+        try {
+            Method isRecordMethod = Class.class.getMethod("isRecord");
+            if (!(Boolean) isRecordMethod.invoke(destinationObjectType)) {
+                return null;
+            }
+            recordComponents = (Object[]) Class.class.getMethod("getRecordComponents").invoke(destinationObjectType);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // records are not available in running JVM
+            return null;
+        }
+        String[] argumentNames = new String[recordComponents.length];
+        Class<?>[] argumentTypes = new Class<?>[recordComponents.length];
+        try {
+            for (int i = 0; i < recordComponents.length; i++) {
+                Class<?> componentClass = recordComponents[i].getClass();
+                argumentNames[i] = (String) componentClass.getMethod("getName").invoke(recordComponents[i]);
+                argumentTypes[i] = (Class<?>) componentClass.getMethod("getType").invoke(recordComponents[i]);
+            }
+            Constructor<?> constructor = destinationObjectType.getDeclaredConstructor(argumentTypes);
+            return new DestinationFactory(argumentNames, argumentTypes, AccessorFactory.createConstructorInvoker(constructor), null, null, null);
+        } catch (ReflectiveOperationException e) {
+            throw new MapperException(String.format("Not able to resolve canonical constructor of record %s", destinationObjectType.getName()), e);
+        }
+    }
+
+    /**
+     * @param destinationObjectType
+     * @return - factory of builder or null if the type has no builder
+     */
+    private static DestinationFactory resolveBuilderFactory(Class<?> destinationObjectType) {
+        Method builderMethod = ReflectionUtils.findMethodByName(destinationObjectType, "builder");
+        if (builderMethod == null || !Modifier.isStatic(builderMethod.getModifiers())) {
+            return null;
+        }
+        Class<?> builderType = builderMethod.getReturnType();
+        Method buildMethod = ReflectionUtils.findMethodByName(builderType, "build");
+        if (buildMethod == null || !destinationObjectType.isAssignableFrom(buildMethod.getReturnType())) {
+            return null;
+        }
+        Collection<Field> fields = ReflectionUtils.getDeclarativeFields(destinationObjectType);
+        String[] argumentNames = new String[fields.size()];
+        Class<?>[] argumentTypes = new Class<?>[fields.size()];
+        SetterFunction<Object, Object>[] builderSetters = new SetterFunction[fields.size()];
+        int index = 0;
+        for (Field field : fields) {
+            argumentNames[index] = field.getName();
+            argumentTypes[index] = field.getType();
+            String capitalizedName = Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+            for (String setterName : Arrays.asList(field.getName(), "with" + capitalizedName, "set" + capitalizedName)) {
+                Method setterMethod = ReflectionUtils.findMethodByName(builderType, setterName, field.getType());
+                if (setterMethod != null) {
+                    builderSetters[index] = AccessorFactory.createSetter(setterMethod);
+                    break;
+                }
+            }
+            index++;
+        }
+        return new DestinationFactory(argumentNames, argumentTypes, null,
+                AccessorFactory.createStaticFactory(builderMethod), builderSetters, AccessorFactory.createGetter(buildMethod));
+    }
+
+    /**
+     * @param destinationObjectType
+     * @return - factory of constructor whose parameters are fields of type or null if there is no such constructor
+     */
+    private static DestinationFactory resolveConstructorFactory(Class<?> destinationObjectType) {
+        Collection<Field> fields = ReflectionUtils.getDeclarativeFields(destinationObjectType);
+        List<String> fieldNames = new ArrayList<>(fields.size());
+        List<Class<?>> fieldTypes = new ArrayList<>(fields.size());
+        for (Field field : fields) {
+            fieldNames.add(field.getName());
+            fieldTypes.add(field.getType());
+        }
+        Constructor<?> bestConstructor = null;
+        String[] bestArgumentNames = null;
+        for (Constructor<?> constructor : destinationObjectType.getConstructors()) {
+            String[] argumentNames = resolveArgumentNames(constructor, fieldNames, fieldTypes);
+            if (argumentNames != null && (bestConstructor == null || argumentNames.length > bestArgumentNames.length)) {
+                bestConstructor = constructor;
+                bestArgumentNames = argumentNames;
+            }
+        }
+        if (bestConstructor == null) {
+            return null;
+        }
+        return new DestinationFactory(bestArgumentNames, bestConstructor.getParameterTypes(),
+                AccessorFactory.createConstructorInvoker(bestConstructor), null, null, null);
+    }
+
+    /**
+     * @param constructor
+     * @param fieldNames
+     * @param fieldTypes
+     * @return - names of fields for parameters of constructor or null if the parameters do not match fields
+     */
+    private static String[] resolveArgumentNames(Constructor<?> constructor, List<String> fieldNames, List<Class<?>> fieldTypes) {
+        Parameter[] parameters = constructor.getParameters();
+        String[] result = new String[parameters.length];
+        if (parameters.length > 0 && parameters[0].isNamePresent()) {
+            for (int i = 0; i < parameters.length; i++) {
+                int fieldIndex = fieldNames.indexOf(parameters[i].getName());
+                if (fieldIndex < 0 || fieldTypes.get(fieldIndex) != parameters[i].getType()) {
+                    return null;
+                }
+                result[i] = parameters[i].getName();
+            }
+            return result;
+        }
+        // all-args constructor
+        if (!Arrays.asList(constructor.getParameterTypes()).equals(fieldTypes)) {
+            return null;
+        }
+        return fieldNames.toArray(result);
+    }
+}
@@ -0,0 +1,124 @@
+package com.kubicaj.utilities.pojomapper;
+
+import com.kubicaj.utilities.pojomapper.exception.MapperException;
+import com.kubicaj.utilities.pojomapper.reflection.ReflectionUtils;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Factory of destination objects which reuses fixed number of pre-created instances in round-robin order.
+ * <p>
+ * It is designed for hot loops which map many objects and which use the destination object only shortly
+ * (e.g. the destination object is serialized and then thrown away). There is no allocation of destination objects
+ * during mapping. The instance returned by {@link DestinationRing#get()} is returned again after next {@code size}
+ * calls, therefore the caller must not keep the reference longer than that.
+ * <p>
+ * The ring is NOT thread-safe. Each thread has to use its own ring (and its own mapper created with the ring).
+ * <p>
+ * Sample:
+ * <pre>
+ * DestinationRing&lt;SimplePojoTest2&gt; ring = DestinationRing.of(SimplePojoTest2.class, 16);
+ * MappingPlan&lt;SimplePojoTest1, SimplePojoTest2&gt; mappingPlan = MappingPlan.of(SimplePojoTest1.class, SimplePojoTest2.class)
+ *         .withDestinationSupplier(ring);
+ * </pre>
+ *
+ * @param <R> - type of destination object
+ */
+public class DestinationRing<R> implements Supplier<R> {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // ATTRIBUTES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private final Object[] instances;
+
+    /**
+     * function which is called on reused instance before it is returned. The value is null if the instances are
+     * returned without reset
+     */
+    private final Consumer<? super R> resetFunction;
+
+    /**
+     * index of next returned instance
+     */
+    private int nextIndex = 0;
+
+    /**
+     * number of returned instances up to the size of ring. The instance is reset only if it was returned before
+     */
+    private int returnedCount = 0;
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CONSTRUCTORS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private DestinationRing(Supplier<? extends R> instanceSupplier, int size, Consumer<? super R> resetFunction) {
+        if (size <= 0) {
+            throw new MapperException("The size of ring has to be positive");
+        }
+        this.instances = new Object[size];
+        for (int i = 0; i < size; i++) {
+            instances[i] = instanceSupplier.get();
+        }
+        this.resetFunction = resetFunction;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // INSTANCES CREATION METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Create new ring of instances created by no-argument constructor of {@code destinationObjectType}.
+     * The reused instances are not reset
+     *
+     * @param destinationObjectType - type of destination object
+     * @param size                  - number of instances in ring
+     * @return
+     */
+    public static <R> DestinationRing<R> of(Class<R> destinationObjectType, int size) {
+        return new DestinationRing<>(ReflectionUtils.getInstanceSupplier(destinationObjectType), size, null);
+    }
+
+    /**
+     * Create new ring of instances
+     *
+     * @param instanceSupplier - factory of instances of ring. It is called {@code size} times when the ring is created
+     * @param size             - number of instances in ring
+     * @param resetFunction    - function which is called on reused instance before it is returned (e.g. clear
+     *                         of collections). It can be null
+     * @return
+     */
+    public static <R> DestinationRing<R> of(Supplier<? extends R> instanceSupplier, int size, Consumer<? super R> resetFunction) {
+        return new DestinationRing<>(instanceSupplier, size, resetFunction);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // SUPPLIER METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return - next instance of ring. The same instance is returned again after {@link DestinationRing#size()} calls
+     */
+    @Override
+    public R get() {
+        R instance = (R) instances[nextIndex];
+        if (++nextIndex == instances.length) {
+            nextIndex = 0;
+        }
+        if (returnedCount < instances.length) {
+            returnedCount++;
+        } else if (resetFunction != null) {
+            resetFunction.accept(instance);
+        }
+        return instance;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // GETTERS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    public int size() {
+        return instances.length;
+    }
+}
@@ -0,0 +1,417 @@
+package com.kubicaj.utilities.pojomapper;
+
+import com.kubicaj.utilities.pojomapper.exception.MapperException;
+import com.kubicaj.utilities.pojomapper.function.ConditionFunction;
+import com.kubicaj.utilities.pojomapper.function.ConverterFunction;
+import com.kubicaj.utilities.pojomapper.function.GetterFunction;
+import com.kubicaj.utilities.pojomapper.function.SetterFunction;
+import com.kubicaj.utilities.pojomapper.function.SourceConditionFunction;
+import com.kubicaj.utilities.pojomapper.options.AccessMode;
+import com.kubicaj.utilities.pojomapper.options.MapperOptions;
+import com.kubicaj.utilities.pojomapper.options.NamingStrategy;
+import com.kubicaj.utilities.pojomapper.reflection.AccessorFactory;
+import com.kubicaj.utilities.pojomapper.reflection.ClassMetadataCache;
+import com.kubicaj.utilities.pojomapper.reflection.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Compiled mapping of object of type {@code T} into {@link Map} and back.
+ * <p>
+ * The map is handled as object whose fields are the keys of map. The key of each field of type {@code T} is the name
+ * of source field according {@link NamingStrategy#getSourceFieldName(Field)}, therefore the same prefixes, suffixes
+ * and naming strategies as in {@link MappingPlan} are used. The excluding fields of {@link MapperOptions} are
+ * skipped in both directions.
+ * <p>
+ * The index of keys and accessors is created only once per class and naming options and it is cached. Each entry
+ * of map is resolved by one hash lookup in the index - no names are created during mapping. The keys of map which
+ * have no field are ignored.
+ * <p>
+ * The value of map which is not instance of type of field is converted by converter of
+ * {@link MapperOptions#getConverterRegistry()}. The converter is found only once per field and type of value.
+ * If there is no converter or the null value has to be set into primitive field, then {@link MapperException}
+ * is thrown.
+ * <p>
+ * The plan holds no state of mapping, therefore it is thread-safe.
+ * <p>
+ * Sample:
+ * <pre>
+ * MapMappingPlan&lt;SimplePojoTest1&gt; mapMappingPlan = MapMappingPlan.of(SimplePojoTest1.class);
+ * Map&lt;String, Object&gt; map = mapMappingPlan.toMap(simplePojoTest1);
+ * SimplePojoTest1 copy = mapMappingPlan.fromMap(map);
+ * </pre>
+ *
+ * @param <T> - type of object
+ */
+public class MapMappingPlan<T> {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // ATTRIBUTES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * the cache of indexes of keys
+     * key = type of object
+     * value = map of indexes of type. The key of map is pair of naming strategy and access mode
+     */
+    private static final ClassMetadataCache<Map<IndexKey, KeyIndex>> keyIndexStaticCache =
+            ReflectionUtils.createMetadataCache(objectType -> new ConcurrentHashMap<>());
+
+    private final Class<T> objectType;
+    private final MapperOptions mapperOptions;
+    private final KeyIndex keyIndex;
+
+    /**
+     * conditions of excluding of fields resolved from frozen {@link MapperOptions}. The index is the same as index
+     * of field in {@link MapMappingPlan#keyIndex}. The value is null if the options are not frozen
+     */
+    private final ConditionFunction[] excludingConditions;
+
+    /**
+     * conditions of excluding of fields evaluated on source of mapping resolved from frozen {@link MapperOptions}.
+     * The value is null if the options are not frozen
+     */
+    private final SourceConditionFunction<Object>[] sourceExcludingConditions;
+
+    private final Supplier<T> objectSupplier;
+
+    /**
+     * converters of values of map found in {@link MapperOptions#getConverterRegistry()}. The index is the same as
+     * index of field in {@link MapMappingPlan#keyIndex}. The key of map is type of value of map. The map is created
+     * when the first value of field is converted
+     */
+    private final Map<Class<?>, ConverterFunction<Object, Object>>[] converters;
+
+    /**
+     * marker of type of value which has no converter
+     */
+    private static final ConverterFunction<Object, Object> NO_CONVERTER = value -> value;
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CONSTRUCTORS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private MapMappingPlan(Class<T> objectType, MapperOptions mapperOptions) {
+        this.objectType = objectType;
+        this.mapperOptions = mapperOptions;
+        this.keyIndex = getKeyIndex(objectType, mapperOptions);
+        if (mapperOptions.isFrozen()) {
+            this.excludingConditions = new ConditionFunction[keyIndex.fieldNames.length];
+            this.sourceExcludingConditions = new SourceConditionFunction[keyIndex.fieldNames.length];
+            for (int i = 0; i < excludingConditions.length; i++) {
+                excludingConditions[i] = mapperOptions.getExcludingCondition(keyIndex.fieldNames[i]);
+                sourceExcludingConditions[i] = mapperOptions.getSourceExcludingCondition(keyIndex.fieldNames[i]);
+            }
+        } else {
+            this.excludingConditions = null;
+            this.sourceExcludingConditions = null;
+        }
+        this.objectSupplier = ReflectionUtils.getInstanceSupplier(objectType);
+        this.converters = new Map[keyIndex.fieldNames.length];
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // INSTANCES CREATION METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Create new instance of {@link MapMappingPlan} with default frozen {@link MapperOptions}
+     *
+     * @param objectType
+     * @return
+     */
+    public static <T> MapMappingPlan<T> of(Class<T> objectType) {
+        return new MapMappingPlan<>(objectType, new MapperOptions().freeze());
+    }
+
+    /**
+     * Create new instance of {@link MapMappingPlan}
+     *
+     * @param objectType
+     * @param mapperOptions
+     * @return
+     */
+    public static <T> MapMappingPlan<T> of(Class<T> objectType, MapperOptions mapperOptions) {
+        return new MapMappingPlan<>(objectType, mapperOptions);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // MAPPING METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * map {@code sourceObject} into new {@link LinkedHashMap}. The order of keys is the order of fields
+     *
+     * @param sourceObject - object from which the values are get
+     * @return - new map or null if {@code sourceObject} is null
+     */
+    public Map<String, Object> toMap(T sourceObject) {
+        if (sourceObject == null) {
+            return null;
+        }
+        return toMap(sourceObject, new LinkedHashMap<>(Math.max((int) (keyIndex.keys.length / .75f) + 1, 16)));
+    }
+
+    /**
+     * put values of all fields of {@code sourceObject} into existing {@code destinationMap}. The fields without
+     * getter are skipped
+     *
+     * @param sourceObject   - object from which the values are get
+     * @param destinationMap - map into which the values are put
+     * @return - {@code destinationMap}
+     */
+    public Map<String, Object> toMap(T sourceObject, Map<String, Object> destinationMap) {
+        for (int i = 0; i < keyIndex.keys.length; i++) {
+            GetterFunction<Object, Object> getter = keyIndex.getters[i];
+            if (getter != null && !isExcluding(i, sourceObject)) {
+                destinationMap.put(keyIndex.keys[i], getter.apply(sourceObject));
+            }
+        }
+        return destinationMap;
+    }
+
+    /**
+     * map {@code sourceMap} into new instance of type {@code T}
+     *
+     * @param sourceMap - map from which the values are get
+     * @return - new instance of type {@code T} or null if {@code sourceMap} is null
+     */
+    public T fromMap(Map<String, ?> sourceMap) {
+        if (sourceMap == null) {
+            return null;
+        }
+        return fromMap(sourceMap, objectSupplier.get());
+    }
+
+    /**
+     * set values of {@code sourceMap} into existing {@code destinationObject}. The keys without field or setter
+     * are ignored
+     *
+     * @param sourceMap         - map from which the values are get
+     * @param destinationObject - object into which the values are set
+     * @return - {@code destinationObject}
+     * @throws MapperException - if the value can not be converted into type of field
+     */
+    public T fromMap(Map<String, ?> sourceMap, T destinationObject) {
+        for (Map.Entry<String, ?> entry : sourceMap.entrySet()) {
+            Integer index = keyIndex.keyIndexes.get(entry.getKey());
+            if (index != null && !isExcluding(index, sourceMap)) {
+                keyIndex.setters[index].accept(destinationObject, convertValue(index, entry.getValue()));
+            }
+        }
+        return destinationObject;
+    }
+
+    /**
+     * convert value of map into type of field
+     *
+     * @param index - index of field
+     * @param value - value of map
+     * @return - {@code value} or converted value
+     */
+    private Object convertValue(int index, Object value) {
+        if (value == null) {
+            if (keyIndex.fieldTypes[index].isPrimitive()) {
+                throw new MapperException(String.format("The null value of key %s can not be set into field %s of primitive type %s",
+                        keyIndex.keys[index], keyIndex.fieldNames[index], keyIndex.fieldTypes[index].getName()));
+            }
+            return null;
+        }
+        if (keyIndex.valueTypes[index].isInstance(value)) {
+            return value;
+        }
+        ConverterFunction<Object, Object> converter = findConverter(index, value.getClass());
+        if (converter == NO_CONVERTER) {
+            throw new MapperException(String.format("The value of key %s of type %s can not be set into field %s of type %s and there is no converter",
+                    keyIndex.keys[index], value.getClass().getName(), keyIndex.fieldNames[index], keyIndex.fieldTypes[index].getName()));
+        }
+        return converter.convert(value);
+    }
+
+    /**
+     * @param index     - index of field
+     * @param valueType - type of value of map
+     * @return - cached converter or {@link MapMappingPlan#NO_CONVERTER} if there is no converter
+     */
+    private ConverterFunction<Object, Object> findConverter(int index, Class<?> valueType) {
+        Map<Class<?>, ConverterFunction<Object, Object>> fieldConverters = converters[index];
+        if (fieldConverters == null) {
+            fieldConverters = new ConcurrentHashMap<>();
+            converters[index] = fieldConverters;
+        }
+        return fieldConverters.computeIfAbsent(valueType, type -> {
+            ConverterFunction<Object, Object> converter = mapperOptions.getConverterRegistry().findConverter(type, keyIndex.valueTypes[index]);
+            return converter != null ? converter : NO_CONVERTER;
+        });
+    }
+
+    /**
+     * @param index        - index of field
+     * @param sourceObject - source of mapping - the object in {@link MapMappingPlan#toMap(Object, Map)} and the map
+     *                     in {@link MapMappingPlan#fromMap(Map, Object)}
+     * @return - true if the field is excluded
+     */
+    private boolean isExcluding(int index, Object sourceObject) {
+        if (excludingConditions == null) {
+            return mapperOptions.isFieldExcluding(keyIndex.fieldNames[index], sourceObject);
+        }
+        return excludingConditions[index] != null && excludingConditions[index].test()
+                || sourceExcludingConditions[index] != null && sourceExcludingConditions[index].test(sourceObject);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // GETTERS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    public Class<T> getObjectType() {
+        return objectType;
+    }
+
+    public MapperOptions getMapperOptions() {
+        return mapperOptions;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // RESOLVING METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * remove indexes of keys of type {@code objectType} and cached definitions of the type from {@link ReflectionUtils}
+     *
+     * @param objectType
+     */
+    public static void invalidate(Class<?> objectType) {
+        ReflectionUtils.invalidate(objectType);
+    }
+
+    /**
+     * remove indexes of keys of all types and all cached definitions from {@link ReflectionUtils}
+     */
+    public static void clearCache() {
+        ReflectionUtils.clear();
+    }
+
+    /**
+     * get index of keys from cache. If it is not in cache then it is resolved and stored
+     *
+     * @param objectType
+     * @param mapperOptions
+     * @return - index of keys
+     */
+    private static KeyIndex getKeyIndex(Class<?> objectType, MapperOptions mapperOptions) {
+        Map<IndexKey, KeyIndex> objectKeyIndexes = keyIndexStaticCache.get(objectType);
+        IndexKey indexKey = new IndexKey(mapperOptions);
+        KeyIndex result = objectKeyIndexes.get(indexKey);
+        if (result == null) {
+            result = objectKeyIndexes.computeIfAbsent(indexKey, key -> new KeyIndex(objectType, mapperOptions));
+        }
+        return result;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // INTERNAL CLASSES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Index of keys and accessors of all fields of one type. All the arrays have the same indexes
+     */
+    private static class KeyIndex {
+
+        private final String[] fieldNames;
+        private final String[] keys;
+        private final Class<?>[] fieldTypes;
+
+        /**
+         * types of fields - the primitive types are wrapped
+         */
+        private final Class<?>[] valueTypes;
+
+        /**
+         * getters of fields. The value is null if there is no such getter
+         */
+        private final GetterFunction<Object, Object>[] getters;
+
+        /**
+         * setters of fields. The value is null if there is no such setter
+         */
+        private final SetterFunction<Object, Object>[] setters;
+
+        /**
+         * key = key of map
+         * value = index of field with setter
+         */
+        private final Map<String, Integer> keyIndexes;
+
+        KeyIndex(Class<?> objectType, MapperOptions mapperOptions) {
+            NamingStrategy namingStrategy = mapperOptions.getNamingStrategy();
+            boolean fieldAccess = mapperOptions.getAccessMode() == AccessMode.FIELDS;
+            Collection<Field> fields = ReflectionUtils.getDeclarativeFields(objectType);
+            this.fieldNames = new String[fields.size()];
+            this.keys = new String[fields.size()];
+            this.fieldTypes = new Class[fields.size()];
+            this.valueTypes = new Class[fields.size()];
+            this.getters = new GetterFunction[fields.size()];
+            this.setters = new SetterFunction[fields.size()];
+            this.keyIndexes = new HashMap<>();
+            int index = 0;
+            for (Field field : fields) {
+                fieldNames[index] = field.getName();
+                keys[index] = namingStrategy.getSourceFieldName(field);
+                fieldTypes[index] = field.getType();
+                valueTypes[index] = ReflectionUtils.wrapPrimitiveType(field.getType());
+                if (fieldAccess) {
+                    getters[index] = AccessorFactory.createFieldGetter(field);
+                    setters[index] = AccessorFactory.createFieldSetter(field);
+                } else {
+                    Method getterMethod = ReflectionUtils.findMethodByName(objectType, namingStrategy.getOwnGetterName(field));
+                    Method setterMethod = ReflectionUtils.findMethodByName(objectType, namingStrategy.getSetterName(field), field.getType());
+                    getters[index] = getterMethod == null ? null : AccessorFactory.createGetter(getterMethod);
+                    setters[index] = setterMethod == null ? null : AccessorFactory.createSetter(setterMethod);
+                }
+                if (setters[index] != null) {
+                    keyIndexes.put(keys[index], index);
+                }
+                index++;
+            }
+        }
+    }
+
+    /**
+     * Key of {@link MapMappingPlan#keyIndexStaticCache}. It consists of naming strategy and access mode
+     */
+    private static class IndexKey {
+
+        private final NamingStrategy namingStrategy;
+        private final AccessMode accessMode;
+
+        IndexKey(MapperOptions mapperOptions) {
+            this.namingStrategy = mapperOptions.getNamingStrategy();
+            this.accessMode = mapperOptions.getAccessMode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof IndexKey)) {
+                return false;
+            }
+            IndexKey indexKey = (IndexKey) o;
+            return namingStrategy.equals(indexKey.namingStrategy) && accessMode == indexKey.accessMode;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(namingStrategy, accessMode);
+        }
+    }
+}
@@ -1,15 +1,20 @@
 package com.kubicaj.utilities.pojomapper;
 
+import com.kubicaj.utilities.pojomapper.exception.MapperException;
+import com.kubicaj.utilities.pojomapper.function.BooleanGetterFunction;
+import com.kubicaj.utilities.pojomapper.function.BooleanSetterFunction;
 import com.kubicaj.utilities.pojomapper.function.ConditionFunction;
+import com.kubicaj.utilities.pojomapper.function.DoubleGetterFunction;
+import com.kubicaj.utilities.pojomapper.function.DoubleSetterFunction;
 import com.kubicaj.utilities.pojomapper.function.GetterFunction;
-import com.kubicaj.utilities.pojomapper.function.ProcessingFunction;
+import com.kubicaj.utilities.pojomapper.function.IntGetterFunction;
+import com.kubicaj.utilities.pojomapper.function.IntSetterFunction;
+import com.kubicaj.utilities.pojomapper.function.LongGetterFunction;
+import com.kubicaj.utilities.pojomapper.function.LongSetterFunction;
 import com.kubicaj.utilities.pojomapper.function.SetterFunction;
+import com.kubicaj.utilities.pojomapper.function.SourceConditionFunction;
 import com.kubicaj.utilities.pojomapper.options.MapperOptions;
-
-import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import com.kubicaj.utilities.pojomapper.reflection.ReflectionUtils;
 
 /**
  * Builder of object of type {@code S}
@@ -23,7 +28,7 @@ public class MapperBuilder<R> implements IMapperBuilder {
     // -----------------------------------------------------------------------------------------------------------------
 
     protected MapperOptions mapperOptions;
-    private List<FunctionWrapper> processingFunctions = new ArrayList<>();
+    private final ProcessingProgram<Object, R> processingProgram = new ProcessingProgram<>();
     protected final R destinationObject;
     protected final Class<R> destinationObjectType;
 
@@ -35,8 +40,8 @@ public class MapperBuilder<R> implements IMapperBuilder {
         try {
             this.mapperOptions = mapperOptions;
             this.destinationObjectType = destinationObjectType;
-            this.destinationObject = destinationObjectType.getConstructor().newInstance();
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+            this.destinationObject = newDestinationObject(destinationObjectType);
+        } catch (MapperException e) {
             throw new RuntimeException("Not able to create Builder", e);
         }
     }
@@ -51,8 +56,8 @@ public class MapperBuilder<R> implements IMapperBuilder {
         try {
             this.mapperOptions = new MapperOptions();
             this.destinationObjectType = destinationObjectType;
-            this.destinationObject = destinationObjectType.getConstructor().newInstance();
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+            this.destinationObject = newDestinationObject(destinationObjectType);
+        } catch (MapperException e) {
             throw new RuntimeException("Not able to create Builder", e);
         }
     }
@@ -63,6 +68,20 @@ public class MapperBuilder<R> implements IMapperBuilder {
         this.destinationObject = destinationObject;
     }
 
+    /**
+     * create destination object by no-argument constructor
+     *
+     * @param destinationObjectType
+     * @return - new instance or null if the type is immutable and it is created by {@link DestinationFactory}
+     * only when the builder is applied
+     */
+    private static <R> R newDestinationObject(Class<R> destinationObjectType) {
+        if (DestinationFactory.of(destinationObjectType) != null) {
+            return null;
+        }
+        return ReflectionUtils.getInstanceSupplier(destinationObjectType).get();
+    }
+
     // -----------------------------------------------------------------------------------------------------------------
     // INSTANCES CREATION METHODS
     // -----------------------------------------------------------------------------------------------------------------
@@ -96,7 +115,18 @@ public class MapperBuilder<R> implements IMapperBuilder {
      */
     @Override
     public R apply() {
-        applyWithCondition(true, processingFunctions.iterator());
+        return process(null);
+    }
+
+    /**
+     * process all added setters and conditions
+     *
+     * @param sourceObject - object which is passed into conditions of source object
+     * @return - destination object
+     */
+    protected R process(Object sourceObject) {
+        // each setter has its own object to set, therefore no destination object is passed into program
+        processingProgram.process(sourceObject, null, mapperOptions);
         return destinationObject;
     }
 
@@ -125,7 +155,7 @@ public class MapperBuilder<R> implements IMapperBuilder {
      * @return this instance of {@link MapperBuilder}
      */
     public <S, G> MapperBuilder<R> withSetter(R objectToSet, SetterFunction<R, S> setterFunction, G objectToGet, GetterFunction<G, S> getterFunction) {
-        processingFunctions.add(FunctionWrapper.ofFunctionWrap(new SetterRepresentation(objectToSet, setterFunction, getterFunction.apply(objectToGet))));
+        processingProgram.addValueSetter(objectToSet, setterFunction, getterFunction.apply(objectToGet));
         return this;
     }
 
@@ -139,7 +169,7 @@ public class MapperBuilder<R> implements IMapperBuilder {
      * @return this instance of {@link MapperBuilder}
      */
     public <S> MapperBuilder<R> withSetter(R objectToSet, SetterFunction<R, S> setterFunction, S valueToSet) {
-        processingFunctions.add(FunctionWrapper.ofFunctionWrap(new SetterRepresentation(objectToSet, setterFunction, valueToSet)));
+        processingProgram.addValueSetter(objectToSet, setterFunction, valueToSet);
         return this;
     }
 
@@ -155,7 +185,7 @@ public class MapperBuilder<R> implements IMapperBuilder {
      * @return this instance of {@link MapperBuilder}
      */
     public <S, G> MapperBuilder<R> withSetter(SetterFunction<R, S> setterFunction, G objectToGet, GetterFunction<G, S> getterFunction) {
-        processingFunctions.add(FunctionWrapper.ofFunctionWrap(new SetterRepresentation(this.destinationObject, setterFunction, getterFunction.apply(objectToGet))));
+        processingProgram.addValueSetter(this.destinationObject, setterFunction, getterFunction.apply(objectToGet));
         return this;
     }
 
@@ -168,174 +198,172 @@ public class MapperBuilder<R> implements IMapperBuilder {
      * @return this instance of {@link MapperBuilder}
      */
     public <S> MapperBuilder<R> withSetter(SetterFunction<R, S> setterFunction, S valueToSet) {
-        processingFunctions.add(FunctionWrapper.ofFunctionWrap(new SetterRepresentation(this.destinationObject, setterFunction, valueToSet)));
+        processingProgram.addValueSetter(this.destinationObject, setterFunction, valueToSet);
         return this;
     }
 
     /**
-     * start processing with condition. Condition is evaluated according {@code conditionFunction}
+     * add processing of {@code setterFunction} method of object {@link this#destinationObject} with primitive
+     * {@code int} value as return from {@code getterFunction} function of object {@code objectToGet}.
+     * The value is not boxed
      *
-     * @param conditionFunction
+     * @param setterFunction - function which is call for setting of exact value of object {@code objectToSet}
+     * @param objectToGet    - object from which we are getting a value
+     * @param getterFunction - function which is call on {@code objectToGet} to gain a value to {@code setterFunction}
+     * @param <G>            - type of value {@code objectToGet}
      * @return this instance of {@link MapperBuilder}
      */
-    public MapperBuilder<R> withStartCondition(ConditionFunction conditionFunction) {
-        processingFunctions.add(FunctionWrapper.ofFunctionWrap(conditionFunction));
+    public <G> MapperBuilder<R> withIntSetter(IntSetterFunction<R> setterFunction, G objectToGet, IntGetterFunction<G> getterFunction) {
+        processingProgram.addIntValueSetter(this.destinationObject, setterFunction, getterFunction.apply(objectToGet));
         return this;
     }
 
     /**
-     * end condition processing
+     * add processing of {@code setterFunction} method of object {@link this#destinationObject} with input parameter
+     * as primitive {@code int} {@code valueToSet}. The value is not boxed
      *
+     * @param setterFunction - function which is call for setting of exact value of object {@code objectToSet}
+     * @param valueToSet     - input parameter into method {@code setterFunction}
      * @return this instance of {@link MapperBuilder}
      */
-    public MapperBuilder<R> withEndCondition() {
-        processingFunctions.add(FunctionWrapper.ofEndCondition());
+    public MapperBuilder<R> withIntSetter(IntSetterFunction<R> setterFunction, int valueToSet) {
+        processingProgram.addIntValueSetter(this.destinationObject, setterFunction, valueToSet);
         return this;
     }
 
     /**
-     * Method process all functions added into builder. The functions are processing in order its were add into builder.
-     * It is call in {@link MapperBuilder#apply()} as recursive processing of builder
+     * add processing of {@code setterFunction} method of object {@link this#destinationObject} with primitive
+     * {@code long} value as return from {@code getterFunction} function of object {@code objectToGet}.
+     * The value is not boxed
      *
-     * @param conditionEvaluationValue - evaluated condition - if false then processing of several function may be skip
-     * @param functionIterator         - the stack of function to process
+     * @param setterFunction - function which is call for setting of exact value of object {@code objectToSet}
+     * @param objectToGet    - object from which we are getting a value
+     * @param getterFunction - function which is call on {@code objectToGet} to gain a value to {@code setterFunction}
+     * @param <G>            - type of value {@code objectToGet}
+     * @return this instance of {@link MapperBuilder}
      */
-    private void applyWithCondition(boolean conditionEvaluationValue, Iterator<FunctionWrapper> functionIterator) {
-        // if there are no more function then end
-        if (!functionIterator.hasNext()) {
-            return;
-        }
-        // get next function
-        FunctionWrapper nextFunctionWrapper = functionIterator.next();
-        if (!conditionEvaluationValue) {
-            // check if end condition is in order to process
-            if (nextFunctionWrapper.isEndCondition()) {
-                applyWithCondition(true, functionIterator);
-            } else {
-                applyWithCondition(conditionEvaluationValue, functionIterator);
-            }
-        } else {
-            if (nextFunctionWrapper.isSetterRepresentation()) {
-                // in case of SetterRepresentation process setter function and continue processing
-                ((SetterRepresentation) nextFunctionWrapper.getProcessingFunction()).process();
-                applyWithCondition(conditionEvaluationValue, functionIterator);
-            } else if (nextFunctionWrapper.isConditionFunction()) {
-                // in case of ConditionFunction evaluate condition and continue processing
-                applyWithCondition(((ConditionFunction) nextFunctionWrapper.getProcessingFunction()).test(), functionIterator);
-            } else {
-                applyWithCondition(conditionEvaluationValue, functionIterator);
-            }
-        }
+    public <G> MapperBuilder<R> withLongSetter(LongSetterFunction<R> setterFunction, G objectToGet, LongGetterFunction<G> getterFunction) {
+        processingProgram.addLongValueSetter(this.destinationObject, setterFunction, getterFunction.apply(objectToGet));
+        return this;
     }
 
     /**
-     * Create error according {@link MapperBuilder#mapperOptions}
+     * add processing of {@code setterFunction} method of object {@link this#destinationObject} with input parameter
+     * as primitive {@code long} {@code valueToSet}. The value is not boxed
      *
-     * @param errorMessage - text for error message
-     * @return {@link RuntimeException} error instance
+     * @param setterFunction - function which is call for setting of exact value of object {@code objectToSet}
+     * @param valueToSet     - input parameter into method {@code setterFunction}
+     * @return this instance of {@link MapperBuilder}
      */
-    protected RuntimeException createNewNullError(String errorMessage) {
-        if (errorMessage == null || errorMessage.isEmpty()) {
-            errorMessage = mapperOptions.getErrorMessage();
-        }
-        try {
-            return mapperOptions.getNullErrorExceptionType().getConstructor(String.class).newInstance(errorMessage);
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-            e.printStackTrace();
-        }
-        return null;
+    public MapperBuilder<R> withLongSetter(LongSetterFunction<R> setterFunction, long valueToSet) {
+        processingProgram.addLongValueSetter(this.destinationObject, setterFunction, valueToSet);
+        return this;
     }
 
-    // -----------------------------------------------------------------------------------------------------------------
-    // INTERNAL CLASSES
-    // -----------------------------------------------------------------------------------------------------------------
-
     /**
-     * Setter representation of current value
+     * add processing of {@code setterFunction} method of object {@link this#destinationObject} with primitive
+     * {@code double} value as return from {@code getterFunction} function of object {@code objectToGet}.
+     * The value is not boxed
      *
-     * @param <S> the type of value which is set into object {@link SetterRepresentation#objectToSet} within function
-     *            {@link SetterRepresentation#setterFunction}
+     * @param setterFunction - function which is call for setting of exact value of object {@code objectToSet}
+     * @param objectToGet    - object from which we are getting a value
+     * @param getterFunction - function which is call on {@code objectToGet} to gain a value to {@code setterFunction}
+     * @param <G>            - type of value {@code objectToGet}
+     * @return this instance of {@link MapperBuilder}
      */
-    private class SetterRepresentation<S> implements ProcessingFunction {
-        private R objectToSet;
-        private SetterFunction<R, S> setterFunction;
-        private S valueToSet;
-
-        public SetterRepresentation(R objectToSet, SetterFunction<R, S> setterFunction, S valueToSet) {
-            this.objectToSet = objectToSet;
-            this.setterFunction = setterFunction;
-            this.valueToSet = valueToSet;
-        }
-
-        /**
-         * invoke setter function and return object to set
-         *
-         * @return - instance of object of type {@code S}
-         */
-        public R process() {
-            if (objectToSet == null) {
-                throw createNewNullError("The object is null");
-            }
-            setterFunction.accept(objectToSet, valueToSet);
-            return objectToSet;
-        }
+    public <G> MapperBuilder<R> withDoubleSetter(DoubleSetterFunction<R> setterFunction, G objectToGet, DoubleGetterFunction<G> getterFunction) {
+        processingProgram.addDoubleValueSetter(this.destinationObject, setterFunction, getterFunction.apply(objectToGet));
+        return this;
     }
 
     /**
-     * Class wrap {@link ProcessingFunction} objects and consists several metadata information
+     * add processing of {@code setterFunction} method of object {@link this#destinationObject} with input parameter
+     * as primitive {@code double} {@code valueToSet}. The value is not boxed
+     *
+     * @param setterFunction - function which is call for setting of exact value of object {@code objectToSet}
+     * @param valueToSet     - input parameter into method {@code setterFunction}
+     * @return this instance of {@link MapperBuilder}
      */
-    private static class FunctionWrapper {
-
-        private ProcessingFunction processingFunction;
-        private boolean isEndCondition;
-        private String functionName;
-
-        protected FunctionWrapper(ProcessingFunction processingFunction) {
-            this.processingFunction = processingFunction;
-        }
-
-        protected FunctionWrapper(String functionName, ProcessingFunction processingFunction) {
-            this.processingFunction = processingFunction;
-            this.functionName = functionName;
-        }
+    public MapperBuilder<R> withDoubleSetter(DoubleSetterFunction<R> setterFunction, double valueToSet) {
+        processingProgram.addDoubleValueSetter(this.destinationObject, setterFunction, valueToSet);
+        return this;
+    }
 
-        protected FunctionWrapper(boolean isEndCondition) {
-            this.isEndCondition = isEndCondition;
-        }
+    /**
+     * add processing of {@code setterFunction} method of object {@link this#destinationObject} with primitive
+     * {@code boolean} value as return from {@code getterFunction} function of object {@code objectToGet}.
+     * The value is not boxed
+     *
+     * @param setterFunction - function which is call for setting of exact value of object {@code objectToSet}
+     * @param objectToGet    - object from which we are getting a value
+     * @param getterFunction - function which is call on {@code objectToGet} to gain a value to {@code setterFunction}
+     * @param <G>            - type of value {@code objectToGet}
+     * @return this instance of {@link MapperBuilder}
+     */
+    public <G> MapperBuilder<R> withBooleanSetter(BooleanSetterFunction<R> setterFunction, G objectToGet, BooleanGetterFunction<G> getterFunction) {
+        processingProgram.addBooleanValueSetter(this.destinationObject, setterFunction, getterFunction.apply(objectToGet));
+        return this;
+    }
 
-        public boolean isEndCondition() {
-            return isEndCondition;
-        }
+    /**
+     * add processing of {@code setterFunction} method of object {@link this#destinationObject} with input parameter
+     * as primitive {@code boolean} {@code valueToSet}. The value is not boxed
+     *
+     * @param setterFunction - function which is call for setting of exact value of object {@code objectToSet}
+     * @param valueToSet     - input parameter into method {@code setterFunction}
+     * @return this instance of {@link MapperBuilder}
+     */
+    public MapperBuilder<R> withBooleanSetter(BooleanSetterFunction<R> setterFunction, boolean valueToSet) {
+        processingProgram.addBooleanValueSetter(this.destinationObject, setterFunction, valueToSet);
+        return this;
+    }
 
-        public boolean isConditionFunction() {
-            return processingFunction != null && processingFunction instanceof ConditionFunction;
-        }
+    /**
+     * start processing with condition. Condition is evaluated according {@code conditionFunction}.
+     * If the condition is not valid then all functions up to matching {@link MapperBuilder#withEndCondition()}
+     * are skipped (including nested conditions)
+     *
+     * @param conditionFunction
+     * @return this instance of {@link MapperBuilder}
+     */
+    public MapperBuilder<R> withStartCondition(ConditionFunction conditionFunction) {
+        processingProgram.addStartCondition(conditionFunction);
+        return this;
+    }
 
-        public boolean isSetterRepresentation() {
-            return processingFunction != null && processingFunction instanceof MapperBuilder.SetterRepresentation;
-        }
+    /**
+     * add start of condition which is evaluated on source object (see {@link MapperBuilder#process(Object)})
+     *
+     * @param conditionFunction
+     */
+    void addStartSourceCondition(SourceConditionFunction<?> conditionFunction) {
+        processingProgram.addStartSourceCondition((SourceConditionFunction<Object>) conditionFunction);
+    }
 
-        public ProcessingFunction getProcessingFunction() {
-            return processingFunction;
-        }
+    /**
+     * end processing of the last started condition
+     *
+     * @return this instance of {@link MapperBuilder}
+     */
+    public MapperBuilder<R> withEndCondition() {
+        processingProgram.addEndCondition();
+        return this;
+    }
 
-        /**
-         * create new FunctionWrapper object
-         *
-         * @param processingFunction
-         * @return
-         */
-        public static FunctionWrapper ofFunctionWrap(ProcessingFunction processingFunction) {
-            return new FunctionWrapper(processingFunction);
-        }
+    /**
+     * @return - true if any setter or condition was added into this builder
+     */
+    boolean hasProcessingSteps() {
+        return !processingProgram.isEmpty();
+    }
 
-        /**
-         * create new function wrapper represented the ending of condition
-         *
-         * @return
-         */
-        public static FunctionWrapper ofEndCondition() {
-            return new FunctionWrapper(true);
-        }
+    /**
+     * Create error according {@link MapperBuilder#mapperOptions}
+     *
+     * @param errorMessage - text for error message
+     * @return {@link RuntimeException} error instance
+     */
+    protected RuntimeException createNewNullError(String errorMessage) {
+        return mapperOptions.createNullError(errorMessage);
     }
 }
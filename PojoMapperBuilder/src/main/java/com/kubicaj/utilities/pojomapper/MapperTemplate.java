@@ -0,0 +1,366 @@
+package com.kubicaj.utilities.pojomapper;
+
+import com.kubicaj.utilities.pojomapper.function.BooleanGetterFunction;
+import com.kubicaj.utilities.pojomapper.function.BooleanSetterFunction;
+import com.kubicaj.utilities.pojomapper.function.ConditionFunction;
+import com.kubicaj.utilities.pojomapper.function.DoubleGetterFunction;
+import com.kubicaj.utilities.pojomapper.function.DoubleSetterFunction;
+import com.kubicaj.utilities.pojomapper.function.GetterFunction;
+import com.kubicaj.utilities.pojomapper.function.IntGetterFunction;
+import com.kubicaj.utilities.pojomapper.function.IntSetterFunction;
+import com.kubicaj.utilities.pojomapper.function.LongGetterFunction;
+import com.kubicaj.utilities.pojomapper.function.LongSetterFunction;
+import com.kubicaj.utilities.pojomapper.function.SetterFunction;
+import com.kubicaj.utilities.pojomapper.function.SourceConditionFunction;
+import com.kubicaj.utilities.pojomapper.options.MapperOptions;
+import com.kubicaj.utilities.pojomapper.reflection.ReflectionUtils;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Immutable and thread-safe mapping of object of type {@code S} into object of type {@code R}.
+ * <p>
+ * In contrast to {@link MapperBuilder} the getters are not called when the template is defined. The source object
+ * is bound when {@link MapperTemplate#apply(Object)} is called, therefore one template can be defined once
+ * (e.g. as static constant) and used for any number of objects from any thread without creating of new builder.
+ * <p>
+ * Sample:
+ * <pre>
+ * MapperTemplate&lt;SimplePojoTest1, SimplePojoTest2&gt; template = MapperTemplate.builder(SimplePojoTest1.class, SimplePojoTest2.class)
+ *         .withSetter(SimplePojoTest2::setIntParam1, SimplePojoTest1::getIntParam1)
+ *         .withStartCondition(() -&gt; isStrParamEnabled)
+ *             .withSetter(SimplePojoTest2::setStrParam1, SimplePojoTest1::getStrParam1)
+ *         .withEndCondition()
+ *         .build();
+ * SimplePojoTest2 result = template.apply(simplePojoTest1);
+ * </pre>
+ *
+ * @param <S> - type of source object
+ * @param <R> - type of destination object
+ */
+public class MapperTemplate<S, R> implements Function<S, R> {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // ATTRIBUTES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private final Class<S> sourceObjectType;
+    private final Class<R> destinationObjectType;
+    private final MapperOptions mapperOptions;
+    private final ProcessingProgram<S, R> processingProgram;
+
+    /**
+     * factory of new instances of destination type. Default is cached no-argument constructor of destination type
+     */
+    private final Supplier<R> destinationSupplier;
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CONSTRUCTORS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private MapperTemplate(Builder<S, R> builder) {
+        this.sourceObjectType = builder.sourceObjectType;
+        this.destinationObjectType = builder.destinationObjectType;
+        // the frozen copy is kept so later changes of the options of builder do not change the template
+        this.mapperOptions = builder.mapperOptions.freeze();
+        this.processingProgram = builder.processingProgram.compact();
+        this.destinationSupplier = builder.destinationSupplier != null
+                ? builder.destinationSupplier
+                : ReflectionUtils.getInstanceSupplier(destinationObjectType);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // INSTANCES CREATION METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Create new builder of {@link MapperTemplate}
+     *
+     * @param sourceObjectType      - type of source object
+     * @param destinationObjectType - type of destination object
+     * @return
+     */
+    public static <S, R> Builder<S, R> builder(Class<S> sourceObjectType, Class<R> destinationObjectType) {
+        return new Builder<>(sourceObjectType, destinationObjectType, new MapperOptions());
+    }
+
+    /**
+     * Create new builder of {@link MapperTemplate}
+     *
+     * @param sourceObjectType      - type of source object
+     * @param destinationObjectType - type of destination object
+     * @param mapperOptions         - options of mapping (e.g. the type of null error)
+     * @return
+     */
+    public static <S, R> Builder<S, R> builder(Class<S> sourceObjectType, Class<R> destinationObjectType, MapperOptions mapperOptions) {
+        return new Builder<>(sourceObjectType, destinationObjectType, mapperOptions);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // MAPPING METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * map {@code sourceObject} into new instance of destination type
+     *
+     * @param sourceObject - object from which the values are get
+     * @return - new instance of destination type or null if {@code sourceObject} is null
+     */
+    @Override
+    public R apply(S sourceObject) {
+        if (sourceObject == null) {
+            return null;
+        }
+        return apply(sourceObject, newDestinationObject());
+    }
+
+    /**
+     * map {@code sourceObject} into existing {@code destinationObject}. The functions are processing in order
+     * its were add into builder.
+     *
+     * @param sourceObject      - object from which the values are get
+     * @param destinationObject - object into which the values are set
+     * @return - {@code destinationObject}
+     */
+    public R apply(S sourceObject, R destinationObject) {
+        if (destinationObject == null) {
+            throw mapperOptions.createNullError("The object is null");
+        }
+        processingProgram.process(sourceObject, destinationObject, mapperOptions);
+        return destinationObject;
+    }
+
+    /**
+     * create new instance of destination type by {@link MapperTemplate#destinationSupplier}
+     *
+     * @return - new instance of destination type
+     */
+    private R newDestinationObject() {
+        return destinationSupplier.get();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // GETTERS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    public Class<S> getSourceType() {
+        return sourceObjectType;
+    }
+
+    public Class<R> getDestinationType() {
+        return destinationObjectType;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // INTERNAL CLASSES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Builder of {@link MapperTemplate}. The builder is not thread-safe, but the built template is.
+     *
+     * @param <S> - type of source object
+     * @param <R> - type of destination object
+     */
+    public static class Builder<S, R> {
+
+        private final Class<S> sourceObjectType;
+        private final Class<R> destinationObjectType;
+        private final MapperOptions mapperOptions;
+        private final ProcessingProgram<S, R> processingProgram = new ProcessingProgram<>();
+        private Supplier<R> destinationSupplier;
+
+        private Builder(Class<S> sourceObjectType, Class<R> destinationObjectType, MapperOptions mapperOptions) {
+            this.sourceObjectType = sourceObjectType;
+            this.destinationObjectType = destinationObjectType;
+            this.mapperOptions = mapperOptions;
+        }
+
+        /**
+         * add processing of {@code setterFunction} of destination object with input parameter value as return
+         * from {@code getterFunction} of source object
+         *
+         * @param setterFunction - function which is call for setting of exact value of destination object
+         * @param getterFunction - function which is call on source object to gain a value to {@code setterFunction}
+         * @param <V>            - type of value which is set into destination object
+         * @return this instance of {@link Builder}
+         */
+        public <V> Builder<S, R> withSetter(SetterFunction<R, V> setterFunction, GetterFunction<S, V> getterFunction) {
+            processingProgram.addGetterSetter(null, setterFunction, getterFunction);
+            return this;
+        }
+
+        /**
+         * add processing of {@code setterFunction} of destination object with input parameter as {@code valueToSet}
+         *
+         * @param setterFunction - function which is call for setting of exact value of destination object
+         * @param valueToSet     - constant input parameter into method {@code setterFunction}
+         * @param <V>            - type of value which is set into destination object
+         * @return this instance of {@link Builder}
+         */
+        public <V> Builder<S, R> withValue(SetterFunction<R, V> setterFunction, V valueToSet) {
+            processingProgram.addValueSetter(null, setterFunction, valueToSet);
+            return this;
+        }
+
+        /**
+         * add processing of {@code setterFunction} of destination object with primitive {@code int} value
+         * as return from {@code getterFunction} of source object. The value is not boxed
+         *
+         * @param setterFunction - function which is call for setting of exact value of destination object
+         * @param getterFunction - function which is call on source object to gain a value to {@code setterFunction}
+         * @return this instance of {@link Builder}
+         */
+        public Builder<S, R> withIntSetter(IntSetterFunction<R> setterFunction, IntGetterFunction<S> getterFunction) {
+            processingProgram.addIntGetterSetter(null, setterFunction, getterFunction);
+            return this;
+        }
+
+        /**
+         * add processing of {@code setterFunction} of destination object with primitive {@code int} constant
+         * {@code valueToSet}. The value is not boxed
+         *
+         * @param setterFunction - function which is call for setting of exact value of destination object
+         * @param valueToSet     - constant input parameter into method {@code setterFunction}
+         * @return this instance of {@link Builder}
+         */
+        public Builder<S, R> withIntValue(IntSetterFunction<R> setterFunction, int valueToSet) {
+            processingProgram.addIntValueSetter(null, setterFunction, valueToSet);
+            return this;
+        }
+
+        /**
+         * add processing of {@code setterFunction} of destination object with primitive {@code long} value
+         * as return from {@code getterFunction} of source object. The value is not boxed
+         *
+         * @param setterFunction - function which is call for setting of exact value of destination object
+         * @param getterFunction - function which is call on source object to gain a value to {@code setterFunction}
+         * @return this instance of {@link Builder}
+         */
+        public Builder<S, R> withLongSetter(LongSetterFunction<R> setterFunction, LongGetterFunction<S> getterFunction) {
+            processingProgram.addLongGetterSetter(null, setterFunction, getterFunction);
+            return this;
+        }
+
+        /**
+         * add processing of {@code setterFunction} of destination object with primitive {@code long} constant
+         * {@code valueToSet}. The value is not boxed
+         *
+         * @param setterFunction - function which is call for setting of exact value of destination object
+         * @param valueToSet     - constant input parameter into method {@code setterFunction}
+         * @return this instance of {@link Builder}
+         */
+        public Builder<S, R> withLongValue(LongSetterFunction<R> setterFunction, long valueToSet) {
+            processingProgram.addLongValueSetter(null, setterFunction, valueToSet);
+            return this;
+        }
+
+        /**
+         * add processing of {@code setterFunction} of destination object with primitive {@code double} value
+         * as return from {@code getterFunction} of source object. The value is not boxed
+         *
+         * @param setterFunction - function which is call for setting of exact value of destination object
+         * @param getterFunction - function which is call on source object to gain a value to {@code setterFunction}
+         * @return this instance of {@link Builder}
+         */
+        public Builder<S, R> withDoubleSetter(DoubleSetterFunction<R> setterFunction, DoubleGetterFunction<S> getterFunction) {
+            processingProgram.addDoubleGetterSetter(null, setterFunction, getterFunction);
+            return this;
+        }
+
+        /**
+         * add processing of {@code setterFunction} of destination object with primitive {@code double} constant
+         * {@code valueToSet}. The value is not boxed
+         *
+         * @param setterFunction - function which is call for setting of exact value of destination object
+         * @param valueToSet     - constant input parameter into method {@code setterFunction}
+         * @return this instance of {@link Builder}
+         */
+        public Builder<S, R> withDoubleValue(DoubleSetterFunction<R> setterFunction, double valueToSet) {
+            processingProgram.addDoubleValueSetter(null, setterFunction, valueToSet);
+            return this;
+        }
+
+        /**
+         * add processing of {@code setterFunction} of destination object with primitive {@code boolean} value
+         * as return from {@code getterFunction} of source object. The value is not boxed
+         *
+         * @param setterFunction - function which is call for setting of exact value of destination object
+         * @param getterFunction - function which is call on source object to gain a value to {@code setterFunction}
+         * @return this instance of {@link Builder}
+         */
+        public Builder<S, R> withBooleanSetter(BooleanSetterFunction<R> setterFunction, BooleanGetterFunction<S> getterFunction) {
+            processingProgram.addBooleanGetterSetter(null, setterFunction, getterFunction);
+            return this;
+        }
+
+        /**
+         * add processing of {@code setterFunction} of destination object with primitive {@code boolean} constant
+         * {@code valueToSet}. The value is not boxed
+         *
+         * @param setterFunction - function which is call for setting of exact value of destination object
+         * @param valueToSet     - constant input parameter into method {@code setterFunction}
+         * @return this instance of {@link Builder}
+         */
+        public Builder<S, R> withBooleanValue(BooleanSetterFunction<R> setterFunction, boolean valueToSet) {
+            processingProgram.addBooleanValueSetter(null, setterFunction, valueToSet);
+            return this;
+        }
+
+        /**
+         * start processing with condition. Condition is evaluated according {@code conditionFunction}
+         * every time when the template is applied. If the condition is not valid then all steps up to matching
+         * {@link Builder#withEndCondition()} are skipped (including nested conditions)
+         *
+         * @param conditionFunction
+         * @return this instance of {@link Builder}
+         */
+        public Builder<S, R> withStartCondition(ConditionFunction conditionFunction) {
+            processingProgram.addStartCondition(conditionFunction);
+            return this;
+        }
+
+        /**
+         * start processing with condition of source object. Condition is evaluated according {@code conditionFunction}
+         * on the source object of each mapping, therefore one template can be used for all source objects without
+         * new condition per object. If the condition is not valid then all functions up to matching
+         * {@link Builder#withEndCondition()} are skipped (including nested conditions)
+         *
+         * @param conditionFunction
+         * @return this instance of {@link Builder}
+         */
+        public Builder<S, R> withStartCondition(SourceConditionFunction<? super S> conditionFunction) {
+            processingProgram.addStartSourceCondition(conditionFunction);
+            return this;
+        }
+
+        /**
+         * end processing of the last started condition
+         *
+         * @return this instance of {@link Builder}
+         */
+        public Builder<S, R> withEndCondition() {
+            processingProgram.addEndCondition();
+            return this;
+        }
+
+        /**
+         * set factory of destination objects which are created by {@link MapperTemplate#apply(Object)}.
+         * If it is not set then no-argument constructor of destination type is used
+         *
+         * @param destinationSupplier - factory of new instances of destination type (e.g. {@link DestinationRing})
+         * @return this instance of {@link Builder}
+         */
+        public Builder<S, R> withDestinationSupplier(Supplier<R> destinationSupplier) {
+            this.destinationSupplier = destinationSupplier;
+            return this;
+        }
+
+        /**
+         * @return - new immutable instance of {@link MapperTemplate}
+         */
+        public MapperTemplate<S, R> build() {
+            return new MapperTemplate<>(this);
+        }
+    }
+}
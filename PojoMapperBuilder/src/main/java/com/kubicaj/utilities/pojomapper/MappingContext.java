@@ -0,0 +1,102 @@
+package com.kubicaj.utilities.pojomapper;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * State of one mapping of object graph. It remembers which source objects were already mapped into which
+ * destination objects. The objects are compared by identity (not by {@link Object#equals(Object)}).
+ * <p>
+ * {@link MappingPlan} uses the context for internal objects, therefore:
+ * <ul>
+ * <li>each source object is mapped only once into each destination type</li>
+ * <li>the source object referenced from more places is mapped into one shared destination object</li>
+ * <li>the cycles of references are mapped into the same cycles of destination objects. The destination object is
+ * registered before its fields are mapped, therefore the reference back to it is resolved</li>
+ * </ul>
+ * The context is created for one call of {@link MappingPlan#map(Object)} and it is not thread-safe. It can be passed
+ * into {@link MappingPlan#map(Object, MappingContext)} explicitly if more calls have to share the mapped objects.
+ */
+public class MappingContext {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // ATTRIBUTES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * key = destination type
+     * value = mapped objects of destination type - key is source object, value is destination object
+     */
+    private final Map<Class<?>, IdentityHashMap<Object, Object>> mappedObjects = new IdentityHashMap<>();
+
+    /**
+     * the last used destination type and its mapped objects. The graph of objects has usually only few types
+     * and the same type is looked up repeatedly
+     */
+    private Class<?> lastDestinationObjectType;
+    private IdentityHashMap<Object, Object> lastMappedObjects;
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CONTEXT METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * get destination object into which the {@code sourceObject} was already mapped
+     *
+     * @param sourceObject
+     * @param destinationObjectType
+     * @return - destination object or null if the {@code sourceObject} was not mapped into {@code destinationObjectType} yet
+     */
+    public <R> R getMappedObject(Object sourceObject, Class<R> destinationObjectType) {
+        IdentityHashMap<Object, Object> destinationMappedObjects = getMappedObjects(destinationObjectType, false);
+        return destinationMappedObjects == null ? null : (R) destinationMappedObjects.get(sourceObject);
+    }
+
+    /**
+     * register that {@code sourceObject} is mapped into {@code destinationObject}
+     *
+     * @param sourceObject
+     * @param destinationObjectType
+     * @param destinationObject
+     */
+    public <R> void putMappedObject(Object sourceObject, Class<R> destinationObjectType, R destinationObject) {
+        getMappedObjects(destinationObjectType, true).put(sourceObject, destinationObject);
+    }
+
+    /**
+     * @return - number of mapped source objects of all destination types
+     */
+    public int size() {
+        int result = 0;
+        for (IdentityHashMap<Object, Object> destinationMappedObjects : mappedObjects.values()) {
+            result += destinationMappedObjects.size();
+        }
+        return result;
+    }
+
+    /**
+     * remove all mapped objects
+     */
+    public void clear() {
+        mappedObjects.clear();
+        lastDestinationObjectType = null;
+        lastMappedObjects = null;
+    }
+
+    private IdentityHashMap<Object, Object> getMappedObjects(Class<?> destinationObjectType, boolean create) {
+        if (destinationObjectType == lastDestinationObjectType) {
+            return lastMappedObjects;
+        }
+        IdentityHashMap<Object, Object> result = mappedObjects.get(destinationObjectType);
+        if (result == null) {
+            if (!create) {
+                return null;
+            }
+            result = new IdentityHashMap<>();
+            mappedObjects.put(destinationObjectType, result);
+        }
+        lastDestinationObjectType = destinationObjectType;
+        lastMappedObjects = result;
+        return result;
+    }
+}
@@ -0,0 +1,1109 @@
+package com.kubicaj.utilities.pojomapper;
+
+import com.kubicaj.utilities.pojomapper.bytecode.GeneratedMapper;
+import com.kubicaj.utilities.pojomapper.bytecode.GeneratedMapperFactory;
+import com.kubicaj.utilities.pojomapper.exception.MapperException;
+import com.kubicaj.utilities.pojomapper.function.ConditionFunction;
+import com.kubicaj.utilities.pojomapper.function.ConverterFunction;
+import com.kubicaj.utilities.pojomapper.function.GetterFunction;
+import com.kubicaj.utilities.pojomapper.function.SourceConditionFunction;
+import com.kubicaj.utilities.pojomapper.options.AccessMode;
+import com.kubicaj.utilities.pojomapper.options.MapperOptions;
+import com.kubicaj.utilities.pojomapper.options.MappingEngine;
+import com.kubicaj.utilities.pojomapper.options.NamingStrategy;
+import com.kubicaj.utilities.pojomapper.reflection.AccessorFactory;
+import com.kubicaj.utilities.pojomapper.reflection.ClassPairMetadataCache;
+import com.kubicaj.utilities.pojomapper.reflection.ReflectionUtils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Compiled mapping of object of type {@code S} into object of type {@code R}.
+ * <p>
+ * All the work which {@link ReflectionMapperBuilder} does for each field (walking of fields, creating of getter and
+ * setter names, parsing of prefixes and suffixes, searching of methods) is done only once when the plan is created.
+ * The resolved fields are cached per pair of types and naming options, therefore creating of plan for already known
+ * types is cheap. The plan itself holds no state of mapping and the method {@link MappingPlan#map(Object)} can be
+ * called any number of times.
+ * <p>
+ * The plan without internal mappers is thread-safe, therefore it can be shared e.g. by all threads of parallel stream
+ * as {@link Function} (see {@link MappingPlan#stream(Collection, boolean)}). The internal mappers are instances of
+ * {@link IMapperBuilder} which hold state of mapping and they can not be used from more threads at once.
+ * <p>
+ * The internal objects mapped by type mapper are tracked in {@link MappingContext}, therefore the shared references
+ * stay shared in destination object graph and the cycles are mapped into cycles.
+ * <p>
+ * The immutable destination type without no-argument constructor (record, class with all-args constructor or with
+ * builder - see {@link DestinationFactory}) is created with all values at once. Such destination can not be used
+ * by {@link MappingPlan#mapInto(Object, Object)} and it can not refer back to itself by cycle.
+ *
+ * @param <S> - type of source object
+ * @param <R> - type of destination object
+ */
+public class MappingPlan<S, R> implements Function<S, R> {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // ATTRIBUTES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * the cache of resolved fields
+     * key = destination type and source type (see {@link ClassPairMetadataCache})
+     * value = resolved fields by naming strategy and access mode
+     */
+    private static final ClassPairMetadataCache<Map<PlanKey, PropertyMapping[]>> propertyMappingsStaticCache =
+            ReflectionUtils.createPairMetadataCache((destinationType, sourceType) -> new ConcurrentHashMap<>());
+
+    /**
+     * the cache of plans of frozen options (see {@link MapperOptions#freeze()})
+     * key = destination type and source type (see {@link ClassPairMetadataCache})
+     * value = plans by frozen options (by identity)
+     */
+    private static final ClassPairMetadataCache<Map<MapperOptions, MappingPlan<?, ?>>> mappingPlanStaticCache =
+            ReflectionUtils.createPairMetadataCache((destinationType, sourceType) -> new ConcurrentHashMap<>());
+
+    /**
+     * maximum number of frozen options whose plans are cached for one pair of source and destination type.
+     * The plans of this pair are removed from cache when the number is reached
+     */
+    private static final int MAXIMUM_CACHED_OPTIONS = 16;
+
+    /**
+     * marker of field whose value can not be get from source object
+     */
+    static final Object NO_VALUE = new Object();
+
+    private final Class<S> sourceObjectType;
+    private final Class<R> destinationObjectType;
+    private final MapperOptions mapperOptions;
+    private final PropertyMapping[] propertyMappings;
+
+    /**
+     * internal mappers of fields. The index is the same as index of field in {@link MappingPlan#propertyMappings}.
+     * The value is null if there is no internal mapper for field
+     */
+    private final IMapperBuilder[] internalMapperBuilders;
+
+    /**
+     * mappings of fields which are collections or arrays. The index is the same as index of field in
+     * {@link MappingPlan#propertyMappings}. The value is null if the field is not collection or array or if it
+     * has internal mapper
+     */
+    private final CollectionMapping[] collectionMappings;
+
+    /**
+     * converters of values of fields found in {@link MapperOptions#getConverterRegistry()}. The index is the same
+     * as index of field in {@link MappingPlan#propertyMappings}. The value is null if the value does not need
+     * conversion or there is no converter
+     */
+    private final ConverterFunction<Object, Object>[] converters;
+
+    /**
+     * generated mapper of fields which can be copied by straight-line code. The value is null if the engine
+     * {@link MappingEngine#GENERATED} is not used or the mapper can not be generated
+     */
+    private final GeneratedMapper generatedMapper;
+
+    /**
+     * conditions of excluding of fields resolved from frozen {@link MapperOptions}. The index is the same as index
+     * of field in {@link MappingPlan#propertyMappings}. The value is null if the options are not frozen - then
+     * the options are checked during mapping, because the excluding fields can be changed
+     */
+    private final ConditionFunction[] excludingConditions;
+
+    /**
+     * conditions of excluding of fields evaluated on source object resolved from frozen {@link MapperOptions}.
+     * The index is the same as index of field in {@link MappingPlan#propertyMappings}. The array is null if the
+     * options are not frozen or no field has such condition
+     */
+    private final SourceConditionFunction<Object>[] sourceExcludingConditions;
+
+    /**
+     * indexes of fields which are not handled by {@link MappingPlan#generatedMapper}. The fields which are excluded
+     * always by frozen {@link MapperOptions} are not there
+     */
+    private final int[] reflectionPropertyIndexes;
+
+    /**
+     * factory of new instances of destination type. Default is cached no-argument constructor of destination type
+     */
+    private final Supplier<R> destinationSupplier;
+
+    /**
+     * factory of immutable destination type. The value is null if destination is created by
+     * {@link MappingPlan#destinationSupplier} and filled by setters
+     */
+    private final DestinationFactory destinationFactory;
+
+    /**
+     * indexes of fields in {@link MappingPlan#propertyMappings} for each argument of
+     * {@link MappingPlan#destinationFactory}. The value is -1 if there is no such field
+     */
+    private final int[] argumentPropertyIndexes;
+
+    /**
+     * true if some field is mapped into new internal objects (by type mapper or as elements of collection),
+     * therefore {@link MappingContext} is needed
+     */
+    private final boolean mappingInternalObjects;
+
+    /**
+     * getters of destination fields used by {@link MappingPlan#patch(Object, Object)}. The index is the same as index
+     * of field in {@link MappingPlan#propertyMappings}. They are resolved when the first object is patched
+     */
+    private volatile GetterFunction<Object, Object>[] destinationGetters;
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CONSTRUCTORS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private MappingPlan(Class<S> sourceObjectType, Class<R> destinationObjectType, MapperOptions mapperOptions,
+                        Map<String, IMapperBuilder> internalMappers) {
+        this.sourceObjectType = sourceObjectType;
+        this.destinationObjectType = destinationObjectType;
+        this.mapperOptions = mapperOptions;
+        this.propertyMappings = getPropertyMappings(sourceObjectType, destinationObjectType, mapperOptions);
+        this.destinationFactory = DestinationFactory.of(destinationObjectType);
+        this.internalMapperBuilders = resolveInternalMappers(propertyMappings, internalMappers);
+        this.collectionMappings = resolveCollectionMappings(propertyMappings, internalMapperBuilders, internalMappers, mapperOptions);
+        this.converters = resolveConverters(propertyMappings, internalMapperBuilders, collectionMappings, mapperOptions);
+        // split fields between generated mapper and reflection
+        boolean[] generatedProperties = new boolean[propertyMappings.length];
+        this.generatedMapper = mapperOptions.getMappingEngine() == MappingEngine.GENERATED && destinationFactory == null
+                ? resolveGeneratedMapper(generatedProperties)
+                : null;
+        this.excludingConditions = mapperOptions.isFrozen() ? resolveExcludingConditions(propertyMappings, mapperOptions) : null;
+        this.sourceExcludingConditions = mapperOptions.isFrozen() ? resolveSourceExcludingConditions(propertyMappings, mapperOptions) : null;
+        this.reflectionPropertyIndexes = IntStream.range(0, propertyMappings.length)
+                .filter(index -> !generatedProperties[index])
+                .filter(index -> excludingConditions == null || excludingConditions[index] != MapperOptions.ALWAYS_EXCLUDING)
+                .toArray();
+        this.destinationSupplier = destinationFactory == null ? ReflectionUtils.getInstanceSupplier(destinationObjectType) : null;
+        this.argumentPropertyIndexes = destinationFactory == null ? null : resolveArgumentPropertyIndexes(propertyMappings, destinationFactory);
+        this.mappingInternalObjects = IntStream.range(0, propertyMappings.length).anyMatch(index ->
+                collectionMappings[index] != null && collectionMappings[index].isMappingElements()
+                        || internalMapperBuilders[index] instanceof ReflectionMapperBuilder
+                        && ((ReflectionMapperBuilder) internalMapperBuilders[index]).isTypeMapper());
+    }
+
+    /**
+     * copy of {@code mappingPlan} with other factory of destination objects
+     */
+    private MappingPlan(MappingPlan<S, R> mappingPlan, Supplier<R> destinationSupplier) {
+        this.sourceObjectType = mappingPlan.sourceObjectType;
+        this.destinationObjectType = mappingPlan.destinationObjectType;
+        this.mapperOptions = mappingPlan.mapperOptions;
+        this.propertyMappings = mappingPlan.propertyMappings;
+        this.internalMapperBuilders = mappingPlan.internalMapperBuilders;
+        this.collectionMappings = mappingPlan.collectionMappings;
+        this.converters = mappingPlan.converters;
+        this.generatedMapper = mappingPlan.generatedMapper;
+        this.excludingConditions = mappingPlan.excludingConditions;
+        this.sourceExcludingConditions = mappingPlan.sourceExcludingConditions;
+        this.reflectionPropertyIndexes = mappingPlan.reflectionPropertyIndexes;
+        this.destinationSupplier = destinationSupplier;
+        this.destinationFactory = mappingPlan.destinationFactory;
+        this.argumentPropertyIndexes = mappingPlan.argumentPropertyIndexes;
+        this.mappingInternalObjects = mappingPlan.mappingInternalObjects;
+        this.destinationGetters = mappingPlan.destinationGetters;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // INSTANCES CREATION METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get instance of {@link MappingPlan} with default {@link MapperOptions}. The plan is cached and shared
+     *
+     * @param sourceObjectType
+     * @param destinationObjectType
+     * @return
+     */
+    public static <S, R> MappingPlan<S, R> of(Class<S> sourceObjectType, Class<R> destinationObjectType) {
+        return of(sourceObjectType, destinationObjectType, new MapperOptions().freeze());
+    }
+
+    /**
+     * Get instance of {@link MappingPlan}. The plan of frozen options (see {@link MapperOptions#freeze()}) is cached
+     * and shared, therefore the fields, converters and collections are resolved only once for the same options.
+     * The plan of options which are not frozen is created every time
+     *
+     * @param sourceObjectType
+     * @param destinationObjectType
+     * @param mapperOptions
+     * @return
+     */
+    public static <S, R> MappingPlan<S, R> of(Class<S> sourceObjectType, Class<R> destinationObjectType, MapperOptions mapperOptions) {
+        if (mapperOptions.isFrozen()) {
+            return getMappingPlan(sourceObjectType, destinationObjectType, mapperOptions);
+        }
+        return new MappingPlan<>(sourceObjectType, destinationObjectType, mapperOptions, Collections.emptyMap());
+    }
+
+    /**
+     * Create new instance of {@link MappingPlan} with internal mappers
+     *
+     * @param sourceObjectType
+     * @param destinationObjectType
+     * @param mapperOptions
+     * @param internalMappers       - internal mappers in the format of {@link ReflectionMapperBuilder#internalMapperBuilders}
+     * @return
+     */
+    static <S, R> MappingPlan<S, R> of(Class<S> sourceObjectType, Class<R> destinationObjectType, MapperOptions mapperOptions,
+                                       Map<String, IMapperBuilder> internalMappers) {
+        return new MappingPlan<>(sourceObjectType, destinationObjectType, mapperOptions, internalMappers);
+    }
+
+    /**
+     * Create copy of this plan which creates destination objects by {@code destinationSupplier} instead of
+     * no-argument constructor of destination type. It can be e.g. {@link DestinationRing} which reuses instances
+     *
+     * @param destinationSupplier - factory of new instances of destination type
+     * @return - new instance of {@link MappingPlan}
+     */
+    public MappingPlan<S, R> withDestinationSupplier(Supplier<R> destinationSupplier) {
+        if (destinationFactory != null) {
+            throw new MapperException(String.format("The immutable type %s can not be created by supplier", destinationObjectType.getName()));
+        }
+        return new MappingPlan<>(this, destinationSupplier);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // MAPPING METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * map {@code sourceObject} into new instance of destination type
+     *
+     * @param sourceObject - object from which the values are get
+     * @return - new instance of destination type or null if {@code sourceObject} is null
+     */
+    public R map(S sourceObject) {
+        if (sourceObject == null) {
+            return null;
+        }
+        if (destinationFactory != null) {
+            return newImmutableObject(sourceObject, null);
+        }
+        return mapInto(sourceObject, newDestinationObject(), null);
+    }
+
+    /**
+     * map {@code sourceObject} into new instance of destination type. If the {@code sourceObject} was already mapped
+     * in the {@code context} then the same destination object is returned
+     *
+     * @param sourceObject - object from which the values are get
+     * @param context      - context of mapped objects of one object graph
+     * @return - destination object or null if {@code sourceObject} is null
+     */
+    public R map(S sourceObject, MappingContext context) {
+        if (sourceObject == null) {
+            return null;
+        }
+        R destinationObject = context.getMappedObject(sourceObject, destinationObjectType);
+        if (destinationObject == null && destinationFactory != null) {
+            // the values are mapped before the object exists, therefore cycle to this object can not be mapped
+            destinationObject = newImmutableObject(sourceObject, context);
+            context.putMappedObject(sourceObject, destinationObjectType, destinationObject);
+        } else if (destinationObject == null) {
+            destinationObject = newDestinationObject();
+            // register before mapping of fields, so the cycles refer to this object
+            context.putMappedObject(sourceObject, destinationObjectType, destinationObject);
+            mapInto(sourceObject, destinationObject, context);
+        }
+        return destinationObject;
+    }
+
+    /**
+     * the same as {@link MappingPlan#map(Object)}
+     *
+     * @see Function#apply(Object)
+     */
+    @Override
+    public R apply(S sourceObject) {
+        return map(sourceObject);
+    }
+
+    /**
+     * map {@code sourceObject} into existing {@code destinationObject}
+     *
+     * @param sourceObject      - object from which the values are get
+     * @param destinationObject - object into which the values are set
+     * @return - {@code destinationObject}
+     */
+    public R mapInto(S sourceObject, R destinationObject) {
+        return mapInto(sourceObject, destinationObject, null);
+    }
+
+    /**
+     * map {@code sourceObject} into existing {@code destinationObject}. The internal objects which are mapped by type
+     * mapper (see {@link ReflectionMapperBuilder#isTypeMapper()}) are mapped only once per {@code context}
+     *
+     * @param sourceObject      - object from which the values are get
+     * @param destinationObject - object into which the values are set
+     * @param context           - context of mapped objects of one object graph. If it is null then new context is
+     *                          created when the first internal object is mapped
+     * @return - {@code destinationObject}
+     */
+    public R mapInto(S sourceObject, R destinationObject, MappingContext context) {
+        if (destinationFactory != null) {
+            throw new MapperException(String.format("The immutable object of type %s can not be mapped into", destinationObjectType.getName()));
+        }
+        if (generatedMapper != null) {
+            generatedMapper.map(sourceObject, destinationObject);
+        }
+        for (int i : reflectionPropertyIndexes) {
+            PropertyMapping propertyMapping = propertyMappings[i];
+            // check if field is excluding from mapping. If not then continue
+            if (isExcluding(i, sourceObject)) {
+                continue;
+            }
+            IMapperBuilder customMapper = internalMapperBuilders[i];
+            CollectionMapping collectionMapping = collectionMappings[i];
+            if (collectionMapping != null) {
+                // map elements into new collection
+                if (propertyMapping.getGetter() != null) {
+                    if (context == null && collectionMapping.isMappingElements()) {
+                        context = new MappingContext();
+                        context.putMappedObject(sourceObject, destinationObjectType, destinationObject);
+                    }
+                    propertyMapping.getSetter().accept(destinationObject,
+                            collectionMapping.map(propertyMapping.getGetter().apply(sourceObject), context));
+                }
+            } else if (customMapper == null) {
+                // if custom mapper not exists then continue
+                if (propertyMapping.getPrimitiveCopier() != null) {
+                    // primitive widening without boxing
+                    propertyMapping.getPrimitiveCopier().copy(sourceObject, destinationObject);
+                } else if (propertyMapping.getGetter() != null) {
+                    Object value = propertyMapping.getGetter().apply(sourceObject);
+                    if (value != null && converters[i] != null) {
+                        value = converters[i].convert(value);
+                    }
+                    propertyMapping.getSetter().accept(destinationObject, value);
+                }
+            } else if (customMapper instanceof ReflectionMapperBuilder && ((ReflectionMapperBuilder) customMapper).isTypeMapper()) {
+                // map internal object only once per object graph
+                if (context == null) {
+                    context = new MappingContext();
+                    context.putMappedObject(sourceObject, destinationObjectType, destinationObject);
+                }
+                Object internalObject = ((ReflectionMapperBuilder) customMapper).mapInternalObject(getSourceValue(propertyMapping, sourceObject), context);
+                propertyMapping.getSetter().accept(destinationObject, internalObject);
+            } else {
+                // invoke setter with result from custom mapper
+                if (customMapper instanceof ReflectionMapperBuilder) {
+                    ReflectionMapperBuilder reflectionMapper = (ReflectionMapperBuilder) customMapper;
+                    if (reflectionMapper.getSourceObject() == null) {
+                        reflectionMapper.setSourceObject(getSourceValue(propertyMapping, sourceObject));
+                    }
+                }
+                propertyMapping.getSetter().accept(destinationObject, customMapper.apply());
+            }
+        }
+        return destinationObject;
+    }
+
+    /**
+     * map all {@code sourceObjects} into new instances of destination type. The mapping is resolved only once
+     * for whole collection
+     *
+     * @param sourceObjects - objects from which the values are get
+     * @return - new list of the same size and order as {@code sourceObjects}. The null source is mapped into null
+     */
+    public List<R> mapAll(Collection<? extends S> sourceObjects) {
+        List<R> result = new ArrayList<>(sourceObjects.size());
+        for (S sourceObject : sourceObjects) {
+            result.add(map(sourceObject));
+        }
+        return result;
+    }
+
+    /**
+     * map all {@code sourceObjects} into new instances of destination type. The mapping is resolved only once
+     * for whole array
+     *
+     * @param sourceObjects - objects from which the values are get
+     * @return - new array of destination type with the same length and order as {@code sourceObjects}.
+     * The null source is mapped into null
+     */
+    public R[] mapAll(S[] sourceObjects) {
+        R[] result = (R[]) Array.newInstance(destinationObjectType, sourceObjects.length);
+        for (int i = 0; i < sourceObjects.length; i++) {
+            result[i] = map(sourceObjects[i]);
+        }
+        return result;
+    }
+
+    /**
+     * create stream of destination objects which maps {@code sourceObjects} lazily by {@link MappingSpliterator}.
+     * The parallel stream is split in the same way as stream of {@code sourceObjects}
+     *
+     * @param sourceObjects - objects from which the values are get
+     * @param parallel      - if true then the returned stream is parallel
+     * @return - stream of mapped objects
+     */
+    public Stream<R> stream(Collection<? extends S> sourceObjects, boolean parallel) {
+        return StreamSupport.stream(MappingSpliterator.of(sourceObjects.spliterator(), this), parallel);
+    }
+
+    /**
+     * map all {@code sourceObjects} into existing {@code destinationObjects} with the same index. If there is
+     * no destination object on the index or the destination type is immutable then new instance of destination
+     * type is created
+     *
+     * @param sourceObjects      - objects from which the values are get
+     * @param destinationObjects - objects into which the values are set. The array has to be at least as long as
+     *                           {@code sourceObjects}
+     * @return - {@code destinationObjects}
+     */
+    public R[] mapInto(List<? extends S> sourceObjects, R[] destinationObjects) {
+        if (destinationObjects.length < sourceObjects.size()) {
+            throw new MapperException(String.format("There are %d source objects but only %d destination objects",
+                    sourceObjects.size(), destinationObjects.length));
+        }
+        int index = 0;
+        for (S sourceObject : sourceObjects) {
+            if (sourceObject == null) {
+                destinationObjects[index++] = null;
+                continue;
+            }
+            if (destinationFactory != null) {
+                // immutable object can not be reused
+                destinationObjects[index++] = newImmutableObject(sourceObject, null);
+                continue;
+            }
+            R destinationObject = destinationObjects[index];
+            destinationObjects[index++] = mapInto(sourceObject, destinationObject == null ? newDestinationObject() : destinationObject);
+        }
+        return destinationObjects;
+    }
+
+    /**
+     * map {@code sourceObject} into existing {@code destinationObject}, but set only the fields whose value differs
+     * from the current value of destination. The values are compared by {@link Objects#equals(Object, Object)}
+     * through getters of destination object, so the unchanged fields are never written. The field without getter
+     * in destination object is always written. The fields are not mapped by generated mapper in this mode
+     * <p>
+     * The internal objects mapped by type mapper are patched recursively into the existing internal objects of
+     * destination, so they are not replaced and they are changed only if some of their fields is changed. The
+     * collections and arrays are compared element by element (see {@link CollectionMapping#patch(Object, Object, MappingContext)})
+     *
+     * @param sourceObject      - object from which the values are get
+     * @param destinationObject - object into which the changed values are set
+     * @return - indexes of changed fields. The index is the same as index of name in
+     * {@link MappingPlan#getDestinationFieldNames()}. The empty set means that nothing was changed
+     */
+    public BitSet patch(S sourceObject, R destinationObject) {
+        return patch(sourceObject, destinationObject, mappingInternalObjects ? new MappingContext() : null);
+    }
+
+    /**
+     * the same as {@link MappingPlan#patch(Object, Object)} with context of mapped objects of one object graph
+     *
+     * @param sourceObject      - object from which the values are get
+     * @param destinationObject - object into which the changed values are set
+     * @param context           - context of mapped objects. It can be null if {@link MappingPlan#mappingInternalObjects} is false
+     * @return - indexes of changed fields
+     */
+    BitSet patch(S sourceObject, R destinationObject, MappingContext context) {
+        if (destinationFactory != null) {
+            throw new MapperException(String.format("The immutable object of type %s can not be patched", destinationObjectType.getName()));
+        }
+        GetterFunction<Object, Object>[] getters = getDestinationGetters();
+        BitSet result = new BitSet(propertyMappings.length);
+        if (context != null) {
+            // register before patching of fields, so the cycles refer to this object
+            context.putMappedObject(sourceObject, destinationObjectType, destinationObject);
+        }
+        for (int i = 0; i < propertyMappings.length; i++) {
+            if (isExcluding(i, sourceObject)) {
+                continue;
+            }
+            if (getters[i] == null) {
+                Object value = mapPropertyValue(i, sourceObject, context);
+                if (value != NO_VALUE) {
+                    propertyMappings[i].getSetter().accept(destinationObject, value);
+                    result.set(i);
+                }
+                continue;
+            }
+            Object currentValue = getters[i].apply(destinationObject);
+            Object value = patchPropertyValue(i, sourceObject, currentValue, context);
+            if (value == NO_VALUE) {
+                continue;
+            }
+            if (value != currentValue) {
+                propertyMappings[i].getSetter().accept(destinationObject, value);
+            }
+            // the same value means that the current internal object or collection was patched
+            result.set(i);
+        }
+        return result;
+    }
+
+    /**
+     * patch value of one field of {@code sourceObject} into the {@code currentValue} of destination object
+     *
+     * @param index        - index of field in {@link MappingPlan#propertyMappings}
+     * @param sourceObject - object from which the value is get
+     * @param currentValue - current value of field of destination object
+     * @param context      - context of mapped objects. It can be null if {@link MappingPlan#mappingInternalObjects} is false
+     * @return - {@link MappingPlan#NO_VALUE} if the value is not changed, {@code currentValue} if it was changed in place
+     * or the new value which has to be set
+     */
+    private Object patchPropertyValue(int index, S sourceObject, Object currentValue, MappingContext context) {
+        PropertyMapping propertyMapping = propertyMappings[index];
+        IMapperBuilder customMapper = internalMapperBuilders[index];
+        if (customMapper instanceof ReflectionMapperBuilder && ((ReflectionMapperBuilder) customMapper).isTypeMapper()) {
+            return patchInternalObject(((ReflectionMapperBuilder) customMapper).toMappingPlan(),
+                    getSourceValue(propertyMapping, sourceObject), currentValue, context);
+        }
+        if (customMapper == null && collectionMappings[index] != null && propertyMapping.getGetter() != null) {
+            return collectionMappings[index].patch(propertyMapping.getGetter().apply(sourceObject), currentValue, context);
+        }
+        Object value = mapPropertyValue(index, sourceObject, context);
+        return Objects.equals(value, currentValue) ? NO_VALUE : value;
+    }
+
+    /**
+     * patch internal object {@code sourceValue} into existing internal object {@code currentValue}. If there is no
+     * existing internal object or it is immutable, then the new object is mapped and compared by
+     * {@link Objects#equals(Object, Object)}
+     *
+     * @param mappingPlan  - plan of internal object
+     * @param sourceValue  - source internal object
+     * @param currentValue - current internal object of destination
+     * @param context      - context of mapped objects of one object graph
+     * @return - {@link MappingPlan#NO_VALUE} if the object is not changed, {@code currentValue} if it was patched
+     * or the new object which has to be set
+     */
+    static <T, U> Object patchInternalObject(MappingPlan<T, U> mappingPlan, T sourceValue, Object currentValue, MappingContext context) {
+        if (sourceValue == null) {
+            return currentValue == null ? NO_VALUE : null;
+        }
+        Class<U> destinationType = mappingPlan.getDestinationType();
+        U mappedObject = context.getMappedObject(sourceValue, destinationType);
+        if (mappedObject != null) {
+            // the object was already mapped or patched in this object graph (shared reference or cycle)
+            return mappedObject == currentValue ? NO_VALUE : mappedObject;
+        }
+        if (currentValue == null || mappingPlan.isImmutableDestination() || !destinationType.isInstance(currentValue)) {
+            U value = mappingPlan.map(sourceValue, context);
+            return Objects.equals(value, currentValue) ? NO_VALUE : value;
+        }
+        return mappingPlan.patch(sourceValue, (U) currentValue, context).isEmpty() ? NO_VALUE : currentValue;
+    }
+
+    /**
+     * create immutable destination object by {@link MappingPlan#destinationFactory} with values of all fields
+     *
+     * @param sourceObject - object from which the values are get
+     * @param context      - context of mapped objects of one object graph or null
+     * @return - new instance of destination type
+     */
+    private R newImmutableObject(S sourceObject, MappingContext context) {
+        if (context == null && mappingInternalObjects) {
+            context = new MappingContext();
+        }
+        Object[] arguments = new Object[argumentPropertyIndexes.length];
+        for (int argumentIndex = 0; argumentIndex < arguments.length; argumentIndex++) {
+            int i = argumentPropertyIndexes[argumentIndex];
+            if (i < 0 || isExcluding(i, sourceObject)) {
+                continue;
+            }
+            Object value = mapPropertyValue(i, sourceObject, context);
+            arguments[argumentIndex] = value == NO_VALUE ? null : value;
+        }
+        return (R) destinationFactory.newInstance(arguments);
+    }
+
+    /**
+     * create immutable destination object by {@link MappingPlan#destinationFactory}
+     *
+     * @param fieldValues - values of fields with the same indexes as {@link MappingPlan#getDestinationFieldNames()}
+     * @return - new instance of destination type
+     */
+    R newImmutableObject(Object[] fieldValues) {
+        Object[] arguments = new Object[argumentPropertyIndexes.length];
+        for (int argumentIndex = 0; argumentIndex < arguments.length; argumentIndex++) {
+            int i = argumentPropertyIndexes[argumentIndex];
+            arguments[argumentIndex] = i < 0 ? null : fieldValues[i];
+        }
+        return (R) destinationFactory.newInstance(arguments);
+    }
+
+    /**
+     * set {@code value} into field of {@code destinationObject}
+     *
+     * @param index             - index of field in {@link MappingPlan#propertyMappings}
+     * @param destinationObject
+     * @param value
+     */
+    void setPropertyValue(int index, R destinationObject, Object value) {
+        propertyMappings[index].getSetter().accept(destinationObject, value);
+    }
+
+    /**
+     * map value of one field of {@code sourceObject} in the same way as {@link MappingPlan#mapInto(Object, Object, MappingContext)},
+     * but return the value instead of setting it
+     *
+     * @param index        - index of field in {@link MappingPlan#propertyMappings}
+     * @param sourceObject - object from which the value is get
+     * @param context      - context of mapped objects. It can be null if {@link MappingPlan#mappingInternalObjects} is false
+     * @return - mapped value or {@link MappingPlan#NO_VALUE} if source object has no such value
+     */
+    Object mapPropertyValue(int index, S sourceObject, MappingContext context) {
+        PropertyMapping propertyMapping = propertyMappings[index];
+        IMapperBuilder customMapper = internalMapperBuilders[index];
+        CollectionMapping collectionMapping = collectionMappings[index];
+        if (customMapper == null) {
+            if (propertyMapping.getGetter() == null) {
+                return NO_VALUE;
+            }
+            Object value = propertyMapping.getGetter().apply(sourceObject);
+            if (collectionMapping != null) {
+                return collectionMapping.map(value, context);
+            }
+            return value != null && converters[index] != null ? converters[index].convert(value) : value;
+        }
+        if (customMapper instanceof ReflectionMapperBuilder && ((ReflectionMapperBuilder) customMapper).isTypeMapper()) {
+            return ((ReflectionMapperBuilder) customMapper).mapInternalObject(getSourceValue(propertyMapping, sourceObject), context);
+        }
+        if (customMapper instanceof ReflectionMapperBuilder) {
+            ReflectionMapperBuilder reflectionMapper = (ReflectionMapperBuilder) customMapper;
+            if (reflectionMapper.getSourceObject() == null) {
+                reflectionMapper.setSourceObject(getSourceValue(propertyMapping, sourceObject));
+            }
+        }
+        return customMapper.apply();
+    }
+
+    /**
+     * @param index        - index of field in {@link MappingPlan#propertyMappings}
+     * @param sourceObject - object which is just mapped
+     * @return - true if the field is excluded from mapping of {@code sourceObject}
+     */
+    boolean isExcluding(int index, Object sourceObject) {
+        if (excludingConditions == null) {
+            return mapperOptions.isFieldExcluding(propertyMappings[index].getDestinationFieldName(), sourceObject);
+        }
+        if (excludingConditions[index] != null && excludingConditions[index].test()) {
+            return true;
+        }
+        return sourceExcludingConditions != null && sourceExcludingConditions[index] != null
+                && sourceExcludingConditions[index].test(sourceObject);
+    }
+
+    /**
+     * get value of source object for field {@code propertyMapping}
+     *
+     * @param propertyMapping
+     * @param sourceObject
+     * @return - value of getter
+     */
+    private static Object getSourceValue(PropertyMapping propertyMapping, Object sourceObject) {
+        if (propertyMapping.getGetter() == null) {
+            // keep the behaviour of reflection - missing getter is an error
+            return ReflectionUtils.invokeMethod(null, sourceObject);
+        }
+        return propertyMapping.getGetter().apply(sourceObject);
+    }
+
+    /**
+     * create new instance of destination type by {@link MappingPlan#destinationSupplier}
+     *
+     * @return - new instance of destination type
+     */
+    protected R newDestinationObject() {
+        return destinationSupplier.get();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // GETTERS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    public Class<S> getSourceType() {
+        return sourceObjectType;
+    }
+
+    public Class<R> getDestinationType() {
+        return destinationObjectType;
+    }
+
+    public MapperOptions getMapperOptions() {
+        return mapperOptions;
+    }
+
+    /**
+     * @return - names of destination fields in order of indexes returned by {@link MappingPlan#patch(Object, Object)}
+     */
+    public String[] getDestinationFieldNames() {
+        String[] result = new String[propertyMappings.length];
+        for (int i = 0; i < propertyMappings.length; i++) {
+            result[i] = propertyMappings[i].getDestinationFieldName();
+        }
+        return result;
+    }
+
+    /**
+     * @return - true if the destination type is immutable and it is created by {@link DestinationFactory}
+     */
+    boolean isImmutableDestination() {
+        return destinationFactory != null;
+    }
+
+    boolean isMappingInternalObjects() {
+        return mappingInternalObjects;
+    }
+
+    private GetterFunction<Object, Object>[] getDestinationGetters() {
+        GetterFunction<Object, Object>[] result = destinationGetters;
+        if (result == null) {
+            result = resolveDestinationGetters(destinationObjectType, propertyMappings, mapperOptions);
+            destinationGetters = result;
+        }
+        return result;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // RESOLVING METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * remove resolved fields of plans with destination type {@code destinationObjectType} and all other cached
+     * metadata of the type (see {@link ReflectionUtils#invalidate(Class)})
+     *
+     * @param destinationObjectType
+     */
+    public static void invalidate(Class<?> destinationObjectType) {
+        ReflectionUtils.invalidate(destinationObjectType);
+    }
+
+    /**
+     * remove resolved fields of all plans and all other cached metadata (see {@link ReflectionUtils#clear()})
+     */
+    public static void clearCache() {
+        ReflectionUtils.clear();
+    }
+
+    /**
+     * get plan of frozen options from cache. If it is not in cache then it is created and stored
+     *
+     * @param sourceObjectType
+     * @param destinationObjectType
+     * @param mapperOptions         - frozen options
+     * @return - cached plan
+     */
+    private static <S, R> MappingPlan<S, R> getMappingPlan(Class<S> sourceObjectType, Class<R> destinationObjectType, MapperOptions mapperOptions) {
+        Map<MapperOptions, MappingPlan<?, ?>> mappingPlans = mappingPlanStaticCache.get(destinationObjectType, sourceObjectType);
+        MappingPlan<?, ?> result = mappingPlans.get(mapperOptions);
+        if (result == null) {
+            if (mappingPlans.size() >= MAXIMUM_CACHED_OPTIONS) {
+                mappingPlans.clear();
+            }
+            // the plan is not created in computeIfAbsent, because the creation of plan can use other plans
+            MappingPlan<S, R> mappingPlan = new MappingPlan<>(sourceObjectType, destinationObjectType, mapperOptions, Collections.emptyMap());
+            result = mappingPlans.putIfAbsent(mapperOptions, mappingPlan);
+            if (result == null) {
+                result = mappingPlan;
+            }
+        }
+        return (MappingPlan<S, R>) result;
+    }
+
+    /**
+     * get resolved fields from cache. If they are not in cache then they are resolved and stored
+     *
+     * @param sourceObjectType
+     * @param destinationObjectType
+     * @param mapperOptions
+     * @return - resolved fields
+     */
+    private static PropertyMapping[] getPropertyMappings(Class<?> sourceObjectType, Class<?> destinationObjectType, MapperOptions mapperOptions) {
+        Map<PlanKey, PropertyMapping[]> destinationPropertyMappings = propertyMappingsStaticCache.get(destinationObjectType, sourceObjectType);
+        PlanKey planKey = new PlanKey(mapperOptions);
+        PropertyMapping[] result = destinationPropertyMappings.get(planKey);
+        if (result == null) {
+            result = destinationPropertyMappings.computeIfAbsent(planKey,
+                    key -> resolvePropertyMappings(sourceObjectType, destinationObjectType, mapperOptions));
+        }
+        return result;
+    }
+
+    /**
+     * resolve mapping of all fields of destination type
+     *
+     * @param sourceObjectType
+     * @param destinationObjectType
+     * @param mapperOptions
+     * @return - resolved fields
+     */
+    private static PropertyMapping[] resolvePropertyMappings(Class<?> sourceObjectType, Class<?> destinationObjectType, MapperOptions mapperOptions) {
+        NamingStrategy namingStrategy = mapperOptions.getNamingStrategy();
+        Collection<Field> destinationObjectFields = ReflectionUtils.getDeclarativeFields(destinationObjectType);
+        PropertyMapping[] result = new PropertyMapping[destinationObjectFields.size()];
+        int index = 0;
+        for (Field field : destinationObjectFields) {
+            if (mapperOptions.getAccessMode() == AccessMode.FIELDS) {
+                result[index++] = resolveFieldPropertyMapping(sourceObjectType, destinationObjectType, field, namingStrategy);
+                continue;
+            }
+            Method getterMethod = ReflectionUtils.findMethodByName(sourceObjectType, namingStrategy.getGetterName(field));
+            Method setterMethod = ReflectionUtils.findMethodByName(destinationObjectType, namingStrategy.getSetterName(field), field.getType());
+            result[index++] = new PropertyMapping(field.getName(), field.getType(), field.getGenericType(), getterMethod, setterMethod,
+                    destinationObjectType.getName() + "#" + field.getName(), field.getType().getName());
+        }
+        return index == result.length ? result : Arrays.copyOf(result, index);
+    }
+
+    /**
+     * resolve mapping of destination field for {@link AccessMode#FIELDS}
+     *
+     * @param sourceObjectType
+     * @param destinationObjectType
+     * @param field                 - destination field
+     * @param namingStrategy
+     * @return - resolved field
+     */
+    private static PropertyMapping resolveFieldPropertyMapping(Class<?> sourceObjectType, Class<?> destinationObjectType, Field field, NamingStrategy namingStrategy) {
+        Field sourceField = ReflectionUtils.findFieldByName(sourceObjectType, namingStrategy.getSourceFieldName(field));
+        return new PropertyMapping(field.getName(), field.getType(), sourceField, field,
+                destinationObjectType.getName() + "#" + field.getName(), field.getType().getName());
+    }
+
+    /**
+     * find internal mapper for each field. Field mapper has higher priority as class mapper
+     *
+     * @param propertyMappings
+     * @param internalMappers
+     * @return - array of internal mappers with the same indexes as {@code propertyMappings}
+     */
+    private static IMapperBuilder[] resolveInternalMappers(PropertyMapping[] propertyMappings, Map<String, IMapperBuilder> internalMappers) {
+        IMapperBuilder[] result = new IMapperBuilder[propertyMappings.length];
+        if (internalMappers.isEmpty()) {
+            return result;
+        }
+        for (int i = 0; i < propertyMappings.length; i++) {
+            IMapperBuilder customMapper = internalMappers.get(propertyMappings[i].getFieldMapperKey());
+            if (customMapper == null) {
+                customMapper = internalMappers.get(propertyMappings[i].getClassMapperKey());
+            }
+            result[i] = customMapper;
+        }
+        return result;
+    }
+
+    /**
+     * resolve mapping of elements for each field which is collection or array in source and destination object
+     *
+     * @param propertyMappings
+     * @param internalMapperBuilders - resolved internal mappers of fields. The field with internal mapper is mapped
+     *                               as whole by the mapper
+     * @param internalMappers        - all internal mappers. The class mappers of element types are used for elements
+     * @param mapperOptions
+     * @return - array of collection mappings with the same indexes as {@code propertyMappings}
+     */
+    private static CollectionMapping[] resolveCollectionMappings(PropertyMapping[] propertyMappings, IMapperBuilder[] internalMapperBuilders,
+                                                                 Map<String, IMapperBuilder> internalMappers, MapperOptions mapperOptions) {
+        CollectionMapping[] result = new CollectionMapping[propertyMappings.length];
+        for (int i = 0; i < propertyMappings.length; i++) {
+            if (internalMapperBuilders[i] == null) {
+                result[i] = CollectionMapping.of(propertyMappings[i], internalMappers, mapperOptions);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * find converter for each field whose source value can not be assigned into destination field. The primitive
+     * widening is copied by {@link PropertyMapping#getPrimitiveCopier()} when the fields are set one by one, but
+     * the converter is used when the value itself is needed (immutable destination, patch)
+     *
+     * @param propertyMappings
+     * @param internalMapperBuilders - resolved internal mappers of fields. The field with internal mapper has no converter
+     * @param collectionMappings     - resolved collection mappings of fields. The collection field has no converter
+     * @param mapperOptions
+     * @return - array of converters with the same indexes as {@code propertyMappings}
+     */
+    private static ConverterFunction<Object, Object>[] resolveConverters(PropertyMapping[] propertyMappings, IMapperBuilder[] internalMapperBuilders,
+                                                                         CollectionMapping[] collectionMappings, MapperOptions mapperOptions) {
+        ConverterFunction<Object, Object>[] result = new ConverterFunction[propertyMappings.length];
+        for (int i = 0; i < propertyMappings.length; i++) {
+            PropertyMapping propertyMapping = propertyMappings[i];
+            Class<?> sourceValueType = propertyMapping.getSourceValueType();
+            if (sourceValueType == null || internalMapperBuilders[i] != null || collectionMappings[i] != null) {
+                continue;
+            }
+            Class<?> destinationValueType = ReflectionUtils.wrapPrimitiveType(propertyMapping.getDestinationFieldType());
+            if (!destinationValueType.isAssignableFrom(ReflectionUtils.wrapPrimitiveType(sourceValueType))) {
+                result[i] = mapperOptions.getConverterRegistry().findConverter(sourceValueType, destinationValueType);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * find getter of destination object for each field
+     *
+     * @param destinationObjectType
+     * @param propertyMappings
+     * @param mapperOptions
+     * @return - array of getters with the same indexes as {@code propertyMappings}. The value is null if there is
+     * no such getter
+     */
+    private static GetterFunction<Object, Object>[] resolveDestinationGetters(Class<?> destinationObjectType, PropertyMapping[] propertyMappings,
+                                                                              MapperOptions mapperOptions) {
+        GetterFunction<Object, Object>[] result = new GetterFunction[propertyMappings.length];
+        for (int i = 0; i < propertyMappings.length; i++) {
+            Field field = ReflectionUtils.findFieldByName(destinationObjectType, propertyMappings[i].getDestinationFieldName());
+            if (field == null) {
+                continue;
+            }
+            if (mapperOptions.getAccessMode() == AccessMode.FIELDS) {
+                result[i] = AccessorFactory.createFieldGetter(field);
+                continue;
+            }
+            Method getterMethod = ReflectionUtils.findMethodByName(destinationObjectType, mapperOptions.getNamingStrategy().getOwnGetterName(field));
+            result[i] = getterMethod == null ? null : AccessorFactory.createGetter(getterMethod);
+        }
+        return result;
+    }
+
+    /**
+     * find field for each argument of {@code destinationFactory} by name of destination field
+     *
+     * @param propertyMappings
+     * @param destinationFactory
+     * @return - array of indexes of fields with the same indexes as arguments of {@code destinationFactory}
+     */
+    private static int[] resolveArgumentPropertyIndexes(PropertyMapping[] propertyMappings, DestinationFactory destinationFactory) {
+        String[] argumentNames = destinationFactory.getArgumentNames();
+        int[] result = new int[argumentNames.length];
+        Arrays.fill(result, -1);
+        for (int argumentIndex = 0; argumentIndex < argumentNames.length; argumentIndex++) {
+            for (int i = 0; i < propertyMappings.length; i++) {
+                if (propertyMappings[i].getDestinationFieldName().equals(argumentNames[argumentIndex])) {
+                    result[argumentIndex] = i;
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * find condition of excluding for each field
+     *
+     * @param propertyMappings
+     * @param mapperOptions    - frozen options
+     * @return - array of conditions with the same indexes as {@code propertyMappings}
+     */
+    private static ConditionFunction[] resolveExcludingConditions(PropertyMapping[] propertyMappings, MapperOptions mapperOptions) {
+        ConditionFunction[] result = new ConditionFunction[propertyMappings.length];
+        for (int i = 0; i < propertyMappings.length; i++) {
+            result[i] = mapperOptions.getExcludingCondition(propertyMappings[i].getDestinationFieldName());
+        }
+        return result;
+    }
+
+    /**
+     * find condition of excluding evaluated on source object for each field
+     *
+     * @param propertyMappings
+     * @param mapperOptions    - frozen options
+     * @return - array of conditions with the same indexes as {@code propertyMappings} or null if there is no such
+     * condition
+     */
+    private static SourceConditionFunction<Object>[] resolveSourceExcludingConditions(PropertyMapping[] propertyMappings, MapperOptions mapperOptions) {
+        SourceConditionFunction<Object>[] result = new SourceConditionFunction[propertyMappings.length];
+        boolean found = false;
+        for (int i = 0; i < propertyMappings.length; i++) {
+            result[i] = mapperOptions.getSourceExcludingCondition(propertyMappings[i].getDestinationFieldName());
+            found |= result[i] != null;
+        }
+        return found ? result : null;
+    }
+
+    /**
+     * generate mapper for all fields which can be copied by straight-line code
+     *
+     * @param generatedProperties - output parameter. The fields handled by generated mapper are marked by true
+     * @return - generated mapper or null if there is no such field or the mapper can not be generated
+     */
+    private GeneratedMapper resolveGeneratedMapper(boolean[] generatedProperties) {
+        List<Method> generatedGetters = new ArrayList<>();
+        List<Method> generatedSetters = new ArrayList<>();
+        for (int i = 0; i < propertyMappings.length; i++) {
+            PropertyMapping propertyMapping = propertyMappings[i];
+            if (internalMapperBuilders[i] == null && collectionMappings[i] == null && converters[i] == null
+                    && !mapperOptions.hasExcludingRule(propertyMapping.getDestinationFieldName())
+                    && GeneratedMapperFactory.isGenerable(propertyMapping.getGetterMethod(), propertyMapping.getSetterMethod())) {
+                generatedGetters.add(propertyMapping.getGetterMethod());
+                generatedSetters.add(propertyMapping.getSetterMethod());
+                generatedProperties[i] = true;
+            }
+        }
+        GeneratedMapper result = generatedGetters.isEmpty() ? null
+                : GeneratedMapperFactory.getGeneratedMapper(sourceObjectType, destinationObjectType, generatedGetters, generatedSetters);
+        if (result == null) {
+            // fall back to reflection for all fields
+            Arrays.fill(generatedProperties, false);
+        }
+        return result;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // INTERNAL CLASSES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Key of resolved fields of pair of types in {@link MappingPlan#propertyMappingsStaticCache}. It consists of
+     * naming strategy and access mode, which have influence on names of getters and setters and on the way how they
+     * are accessed
+     */
+    private static class PlanKey {
+
+        private final NamingStrategy namingStrategy;
+        private final AccessMode accessMode;
+
+        PlanKey(MapperOptions mapperOptions) {
+            this.namingStrategy = mapperOptions.getNamingStrategy();
+            this.accessMode = mapperOptions.getAccessMode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PlanKey)) {
+                return false;
+            }
+            PlanKey planKey = (PlanKey) o;
+            return namingStrategy.equals(planKey.namingStrategy) &&
+                    accessMode == planKey.accessMode;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(namingStrategy, accessMode);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.kubicaj.utilities.pojomapper;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * {@link Spliterator} which maps elements of source spliterator by mapper (e.g. {@link MappingPlan} or
+ * {@link MapperTemplate}).
+ * <p>
+ * The splitting is delegated to source spliterator and the characteristics {@link Spliterator#SIZED} and
+ * {@link Spliterator#SUBSIZED} of source are kept, therefore parallel stream created from this spliterator is split
+ * evenly and each element is mapped directly in the thread which processes it. The mapper is shared by all split
+ * parts, therefore it has to be thread-safe.
+ * <p>
+ * Sample:
+ * <pre>
+ * Stream&lt;SimplePojoTest2&gt; stream = StreamSupport.stream(MappingSpliterator.of(list.spliterator(), mappingPlan), true);
+ * </pre>
+ *
+ * @param <S> - type of source object
+ * @param <R> - type of destination object
+ */
+public class MappingSpliterator<S, R> implements Spliterator<R> {
+
+    /**
+     * the characteristics of source which are not valid after mapping
+     */
+    private static final int LOST_CHARACTERISTICS = Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL;
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // ATTRIBUTES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private final Spliterator<? extends S> sourceSpliterator;
+    private final Function<? super S, ? extends R> mapper;
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CONSTRUCTORS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private MappingSpliterator(Spliterator<? extends S> sourceSpliterator, Function<? super S, ? extends R> mapper) {
+        this.sourceSpliterator = sourceSpliterator;
+        this.mapper = mapper;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // INSTANCES CREATION METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Create new instance of {@link MappingSpliterator}
+     *
+     * @param sourceSpliterator - spliterator of source objects
+     * @param mapper            - thread-safe mapper of source object into destination object
+     * @return
+     */
+    public static <S, R> MappingSpliterator<S, R> of(Spliterator<? extends S> sourceSpliterator, Function<? super S, ? extends R> mapper) {
+        return new MappingSpliterator<>(sourceSpliterator, mapper);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // SPLITERATOR METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+        return sourceSpliterator.tryAdvance(sourceObject -> action.accept(mapper.apply(sourceObject)));
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super R> action) {
+        sourceSpliterator.forEachRemaining(sourceObject -> action.accept(mapper.apply(sourceObject)));
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+        Spliterator<? extends S> prefix = sourceSpliterator.trySplit();
+        return prefix == null ? null : new MappingSpliterator<>(prefix, mapper);
+    }
+
+    @Override
+    public long estimateSize() {
+        return sourceSpliterator.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return sourceSpliterator.characteristics() & ~LOST_CHARACTERISTICS;
+    }
+}
@@ -0,0 +1,286 @@
+package com.kubicaj.utilities.pojomapper;
+
+import com.kubicaj.utilities.pojomapper.exception.MapperException;
+import com.kubicaj.utilities.pojomapper.options.MapperOptions;
+import com.kubicaj.utilities.pojomapper.reflection.ReflectionUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Compiled merge of more source objects of different types into one object of type {@code R}.
+ * <p>
+ * The sources are given in fixed order and each of them has its precedence. The source with higher precedence wins,
+ * the sources with the same precedence win in the order of adding. For each field of destination the sources are
+ * tried from the winning one until the first of them supplies value. If the nulls are skipped (default) then the
+ * source with null value does not supply value and the next source is tried. Therefore each field of destination is
+ * written at most once and all sources are merged in one pass over the fields.
+ * <p>
+ * The plan holds no state of merge, therefore it is thread-safe if no internal mappers are used.
+ * <p>
+ * Sample:
+ * <pre>
+ * MergePlan&lt;SimplePojoTest1&gt; mergePlan = MergePlan.builder(SimplePojoTest1.class)
+ *         .withSource(SimplePojoTest2.class, 2)
+ *         .withSource(SimplePojoTest1.class, 1)
+ *         .build();
+ * SimplePojoTest1 result = mergePlan.merge(requestOverlay, databaseRow);
+ * </pre>
+ *
+ * @param <R> - type of destination object
+ */
+public class MergePlan<R> {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // ATTRIBUTES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private final Class<R> destinationObjectType;
+    private final MapperOptions mapperOptions;
+    private final boolean skipNulls;
+
+    /**
+     * types of sources in the order of adding
+     */
+    private final Class<?>[] sourceObjectTypes;
+
+    /**
+     * plans of sources with the same indexes as {@link MergePlan#sourceObjectTypes}. All the plans have the same
+     * destination type, therefore the indexes of fields are the same in all plans
+     */
+    private final MappingPlan<Object, R>[] sourcePlans;
+
+    /**
+     * indexes of sources ordered from the highest precedence
+     */
+    private final int[] precedenceOrder;
+
+    private final int fieldCount;
+    private final boolean mappingInternalObjects;
+    private final Supplier<R> destinationSupplier;
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CONSTRUCTORS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private MergePlan(Builder<R> builder) {
+        if (builder.sourceObjectTypes.isEmpty()) {
+            throw new MapperException("The merge has to have at least one source");
+        }
+        this.destinationObjectType = builder.destinationObjectType;
+        this.mapperOptions = builder.mapperOptions;
+        this.skipNulls = builder.skipNulls;
+        this.sourceObjectTypes = builder.sourceObjectTypes.toArray(new Class<?>[0]);
+        this.sourcePlans = new MappingPlan[sourceObjectTypes.length];
+        for (int i = 0; i < sourceObjectTypes.length; i++) {
+            sourcePlans[i] = MappingPlan.of((Class<Object>) sourceObjectTypes[i], destinationObjectType, mapperOptions);
+        }
+        // stable sort - the same precedence keeps the order of adding
+        this.precedenceOrder = IntStream.range(0, sourceObjectTypes.length).boxed()
+                .sorted(Comparator.<Integer>comparingInt(builder.precedences::get).reversed())
+                .mapToInt(Integer::intValue)
+                .toArray();
+        this.fieldCount = sourcePlans[0].getDestinationFieldNames().length;
+        boolean internalObjects = false;
+        for (MappingPlan<Object, R> sourcePlan : sourcePlans) {
+            internalObjects |= sourcePlan.isMappingInternalObjects();
+        }
+        this.mappingInternalObjects = internalObjects;
+        this.destinationSupplier = sourcePlans[0].isImmutableDestination() ? null : ReflectionUtils.getInstanceSupplier(destinationObjectType);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // INSTANCES CREATION METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Create new builder of {@link MergePlan} with default {@link MapperOptions}
+     *
+     * @param destinationObjectType - type of destination object
+     * @return
+     */
+    public static <R> Builder<R> builder(Class<R> destinationObjectType) {
+        return new Builder<>(destinationObjectType, new MapperOptions());
+    }
+
+    /**
+     * Create new builder of {@link MergePlan}
+     *
+     * @param destinationObjectType - type of destination object
+     * @param mapperOptions         - options of mapping of all sources
+     * @return
+     */
+    public static <R> Builder<R> builder(Class<R> destinationObjectType, MapperOptions mapperOptions) {
+        return new Builder<>(destinationObjectType, mapperOptions);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // MAPPING METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * merge {@code sourceObjects} into new instance of destination type
+     *
+     * @param sourceObjects - objects in the order of {@link Builder#withSource(Class, int)}. The null source is skipped
+     * @return - new instance of destination type
+     */
+    public R merge(Object... sourceObjects) {
+        if (!sourcePlans[0].isImmutableDestination()) {
+            return mergeInto(destinationSupplier.get(), sourceObjects);
+        }
+        // immutable destination is created with all merged values at once
+        checkSources(sourceObjects);
+        MappingContext context = mappingInternalObjects ? new MappingContext() : null;
+        Object[] fieldValues = new Object[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            Object value = mergePropertyValue(i, sourceObjects, context);
+            fieldValues[i] = value == MappingPlan.NO_VALUE ? null : value;
+        }
+        return sourcePlans[0].newImmutableObject(fieldValues);
+    }
+
+    /**
+     * merge {@code sourceObjects} into existing {@code destinationObject}. The field for which no source supplies
+     * value is not written
+     *
+     * @param destinationObject - object into which the values are set
+     * @param sourceObjects     - objects in the order of {@link Builder#withSource(Class, int)}. The null source is skipped
+     * @return - {@code destinationObject}
+     */
+    public R mergeInto(R destinationObject, Object... sourceObjects) {
+        if (sourcePlans[0].isImmutableDestination()) {
+            throw new MapperException(String.format("The immutable object of type %s can not be merged into", destinationObjectType.getName()));
+        }
+        checkSources(sourceObjects);
+        MappingContext context = null;
+        if (mappingInternalObjects) {
+            context = new MappingContext();
+            for (int i = 0; i < sourceObjects.length; i++) {
+                if (sourceObjects[i] != null) {
+                    context.putMappedObject(sourceObjects[i], destinationObjectType, destinationObject);
+                }
+            }
+        }
+        for (int i = 0; i < fieldCount; i++) {
+            Object value = mergePropertyValue(i, sourceObjects, context);
+            if (value != MappingPlan.NO_VALUE) {
+                sourcePlans[0].setPropertyValue(i, destinationObject, value);
+            }
+        }
+        return destinationObject;
+    }
+
+    /**
+     * find value of field from source with the highest precedence which supplies it
+     *
+     * @param index         - index of field
+     * @param sourceObjects
+     * @param context
+     * @return - merged value or {@link MappingPlan#NO_VALUE} if no source supplies value. The source for which
+     * the field is excluded does not supply value
+     */
+    private Object mergePropertyValue(int index, Object[] sourceObjects, MappingContext context) {
+        for (int sourceIndex : precedenceOrder) {
+            Object sourceObject = sourceObjects[sourceIndex];
+            if (sourceObject == null || sourcePlans[sourceIndex].isExcluding(index, sourceObject)) {
+                continue;
+            }
+            Object value = sourcePlans[sourceIndex].mapPropertyValue(index, sourceObject, context);
+            if (value != MappingPlan.NO_VALUE && (value != null || !skipNulls)) {
+                return value;
+            }
+        }
+        return MappingPlan.NO_VALUE;
+    }
+
+    private void checkSources(Object[] sourceObjects) {
+        if (sourceObjects.length != sourceObjectTypes.length) {
+            throw new MapperException(String.format("The merge has %d sources but %d source objects are given",
+                    sourceObjectTypes.length, sourceObjects.length));
+        }
+        for (int i = 0; i < sourceObjects.length; i++) {
+            if (sourceObjects[i] != null && !sourceObjectTypes[i].isInstance(sourceObjects[i])) {
+                throw new MapperException(String.format("The source object on index %d is not instance of %s", i, sourceObjectTypes[i].getName()));
+            }
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // GETTERS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    public Class<R> getDestinationType() {
+        return destinationObjectType;
+    }
+
+    public MapperOptions getMapperOptions() {
+        return mapperOptions;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // INTERNAL CLASSES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Builder of {@link MergePlan}. The builder is not thread-safe, but the built plan is.
+     *
+     * @param <R> - type of destination object
+     */
+    public static class Builder<R> {
+
+        private final Class<R> destinationObjectType;
+        private final MapperOptions mapperOptions;
+        private final List<Class<?>> sourceObjectTypes = new ArrayList<>();
+        private final List<Integer> precedences = new ArrayList<>();
+        private boolean skipNulls = true;
+
+        private Builder(Class<R> destinationObjectType, MapperOptions mapperOptions) {
+            this.destinationObjectType = destinationObjectType;
+            this.mapperOptions = mapperOptions;
+        }
+
+        /**
+         * add next source with precedence 0
+         *
+         * @param sourceObjectType - type of source object
+         * @return this instance of {@link Builder}
+         */
+        public Builder<R> withSource(Class<?> sourceObjectType) {
+            return withSource(sourceObjectType, 0);
+        }
+
+        /**
+         * add next source
+         *
+         * @param sourceObjectType - type of source object
+         * @param precedence       - the source with higher precedence supplies the value before sources with lower
+         *                         precedence. The sources with the same precedence are tried in the order of adding
+         * @return this instance of {@link Builder}
+         */
+        public Builder<R> withSource(Class<?> sourceObjectType, int precedence) {
+            sourceObjectTypes.add(sourceObjectType);
+            precedences.add(precedence);
+            return this;
+        }
+
+        /**
+         * @param skipNulls - if true (default) then the null value of source does not win and the value of next
+         *                  source is used. If false then the null value of the winning source is set
+         * @return this instance of {@link Builder}
+         */
+        public Builder<R> withSkipNulls(boolean skipNulls) {
+            this.skipNulls = skipNulls;
+            return this;
+        }
+
+        /**
+         * @return - new instance of {@link MergePlan}
+         */
+        public MergePlan<R> build() {
+            return new MergePlan<>(this);
+        }
+    }
+}
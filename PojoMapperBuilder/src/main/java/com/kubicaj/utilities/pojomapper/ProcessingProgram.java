@@ -0,0 +1,357 @@
+package com.kubicaj.utilities.pojomapper;
+
+import com.kubicaj.utilities.pojomapper.function.BooleanGetterFunction;
+import com.kubicaj.utilities.pojomapper.function.BooleanSetterFunction;
+import com.kubicaj.utilities.pojomapper.function.ConditionFunction;
+import com.kubicaj.utilities.pojomapper.function.DoubleGetterFunction;
+import com.kubicaj.utilities.pojomapper.function.DoubleSetterFunction;
+import com.kubicaj.utilities.pojomapper.function.GetterFunction;
+import com.kubicaj.utilities.pojomapper.function.IntGetterFunction;
+import com.kubicaj.utilities.pojomapper.function.IntSetterFunction;
+import com.kubicaj.utilities.pojomapper.function.LongGetterFunction;
+import com.kubicaj.utilities.pojomapper.function.LongSetterFunction;
+import com.kubicaj.utilities.pojomapper.function.SetterFunction;
+import com.kubicaj.utilities.pojomapper.function.SourceConditionFunction;
+import com.kubicaj.utilities.pojomapper.options.MapperOptions;
+
+import java.util.Arrays;
+
+/**
+ * Flat program of processing functions used by {@link MapperBuilder} and {@link MapperTemplate}.
+ * <p>
+ * The functions are stored in parallel arrays (one slot per step) instead of one wrapper object per step.
+ * The end of condition is not stored as step at all - each start of condition keeps the index of the first step
+ * after its matching end of condition. If the condition is not valid then processing jumps directly there,
+ * therefore the program is processed by one loop without recursion and nested conditions are skipped as a whole.
+ * <p>
+ * The constant values of primitive setters are stored in {@code long} array, therefore they are not boxed.
+ *
+ * @param <S> - type of source object
+ * @param <R> - type of destination object
+ */
+class ProcessingProgram<S, R> {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CONSTANTS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * call setter with constant value
+     */
+    private static final byte SET_VALUE = 0;
+
+    /**
+     * call setter with the value returned by getter applied on source object
+     */
+    private static final byte SET_GETTER_VALUE = 1;
+
+    /**
+     * evaluate condition. If it is not valid then jump to index stored in {@link ProcessingProgram#skipIndexes}
+     */
+    private static final byte START_CONDITION = 2;
+
+    // primitive variants of SET_VALUE and SET_GETTER_VALUE
+    private static final byte SET_INT_VALUE = 3;
+    private static final byte SET_INT_GETTER_VALUE = 4;
+    private static final byte SET_LONG_VALUE = 5;
+    private static final byte SET_LONG_GETTER_VALUE = 6;
+    private static final byte SET_DOUBLE_VALUE = 7;
+    private static final byte SET_DOUBLE_GETTER_VALUE = 8;
+    private static final byte SET_BOOLEAN_VALUE = 9;
+    private static final byte SET_BOOLEAN_GETTER_VALUE = 10;
+
+    /**
+     * evaluate condition of source object. If it is not valid then jump to index stored in
+     * {@link ProcessingProgram#skipIndexes}
+     */
+    private static final byte START_SOURCE_CONDITION = 11;
+
+    /**
+     * skip index of condition without end of condition - the condition is valid up to the end of program
+     */
+    private static final int UNRESOLVED_SKIP_INDEX = -1;
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // ATTRIBUTES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private byte[] operations;
+
+    /**
+     * {@link SetterFunction}, {@link ConditionFunction} or {@link SourceConditionFunction} of step
+     */
+    private Object[] functions;
+
+    /**
+     * constant value or {@link GetterFunction} of step
+     */
+    private Object[] operands;
+
+    /**
+     * constant value of primitive setter. The double value is stored as its raw bits and boolean as 0/1
+     */
+    private long[] primitiveOperands;
+
+    /**
+     * object into which the value is set. The null value means destination object of processing
+     */
+    private Object[] targets;
+
+    /**
+     * index of step where the processing continues if condition is not valid
+     */
+    private int[] skipIndexes;
+
+    private int size;
+
+    /**
+     * stack of indexes of conditions without end of condition
+     */
+    private int[] openConditions = new int[INITIAL_CAPACITY];
+    private int openConditionsSize;
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CONSTRUCTORS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    ProcessingProgram() {
+        this(INITIAL_CAPACITY);
+    }
+
+    private ProcessingProgram(int capacity) {
+        this.operations = new byte[capacity];
+        this.functions = new Object[capacity];
+        this.operands = new Object[capacity];
+        this.primitiveOperands = new long[capacity];
+        this.targets = new Object[capacity];
+        this.skipIndexes = new int[capacity];
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // BUILDING METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * add call of {@code setterFunction} with constant value
+     *
+     * @param target         - object into which the value is set or null for destination object of processing
+     * @param setterFunction
+     * @param valueToSet
+     */
+    void addValueSetter(Object target, SetterFunction<?, ?> setterFunction, Object valueToSet) {
+        add(SET_VALUE, setterFunction, valueToSet, target);
+    }
+
+    /**
+     * add call of {@code setterFunction} with the value returned by {@code getterFunction} applied on source object
+     *
+     * @param target         - object into which the value is set or null for destination object of processing
+     * @param setterFunction
+     * @param getterFunction
+     */
+    void addGetterSetter(Object target, SetterFunction<?, ?> setterFunction, GetterFunction<?, ?> getterFunction) {
+        add(SET_GETTER_VALUE, setterFunction, getterFunction, target);
+    }
+
+    // primitive variants of addValueSetter and addGetterSetter - the value is passed into setter without boxing
+
+    void addIntValueSetter(Object target, IntSetterFunction<?> setterFunction, int valueToSet) {
+        add(SET_INT_VALUE, setterFunction, null, target);
+        primitiveOperands[size - 1] = valueToSet;
+    }
+
+    void addIntGetterSetter(Object target, IntSetterFunction<?> setterFunction, IntGetterFunction<?> getterFunction) {
+        add(SET_INT_GETTER_VALUE, setterFunction, getterFunction, target);
+    }
+
+    void addLongValueSetter(Object target, LongSetterFunction<?> setterFunction, long valueToSet) {
+        add(SET_LONG_VALUE, setterFunction, null, target);
+        primitiveOperands[size - 1] = valueToSet;
+    }
+
+    void addLongGetterSetter(Object target, LongSetterFunction<?> setterFunction, LongGetterFunction<?> getterFunction) {
+        add(SET_LONG_GETTER_VALUE, setterFunction, getterFunction, target);
+    }
+
+    void addDoubleValueSetter(Object target, DoubleSetterFunction<?> setterFunction, double valueToSet) {
+        add(SET_DOUBLE_VALUE, setterFunction, null, target);
+        primitiveOperands[size - 1] = Double.doubleToRawLongBits(valueToSet);
+    }
+
+    void addDoubleGetterSetter(Object target, DoubleSetterFunction<?> setterFunction, DoubleGetterFunction<?> getterFunction) {
+        add(SET_DOUBLE_GETTER_VALUE, setterFunction, getterFunction, target);
+    }
+
+    void addBooleanValueSetter(Object target, BooleanSetterFunction<?> setterFunction, boolean valueToSet) {
+        add(SET_BOOLEAN_VALUE, setterFunction, null, target);
+        primitiveOperands[size - 1] = valueToSet ? 1L : 0L;
+    }
+
+    void addBooleanGetterSetter(Object target, BooleanSetterFunction<?> setterFunction, BooleanGetterFunction<?> getterFunction) {
+        add(SET_BOOLEAN_GETTER_VALUE, setterFunction, getterFunction, target);
+    }
+
+    /**
+     * add start of condition
+     *
+     * @param conditionFunction
+     */
+    void addStartCondition(ConditionFunction conditionFunction) {
+        addStartCondition(START_CONDITION, conditionFunction);
+    }
+
+    /**
+     * add start of condition which is evaluated on source object of processing
+     *
+     * @param conditionFunction
+     */
+    void addStartSourceCondition(SourceConditionFunction<? super S> conditionFunction) {
+        addStartCondition(START_SOURCE_CONDITION, conditionFunction);
+    }
+
+    private void addStartCondition(byte operation, Object conditionFunction) {
+        if (openConditionsSize == openConditions.length) {
+            openConditions = Arrays.copyOf(openConditions, openConditionsSize * 2);
+        }
+        openConditions[openConditionsSize++] = size;
+        add(operation, conditionFunction, null, null);
+    }
+
+    /**
+     * add end of the last open condition. The end of condition without start of condition is ignored
+     */
+    void addEndCondition() {
+        if (openConditionsSize > 0) {
+            skipIndexes[openConditions[--openConditionsSize]] = size;
+        }
+    }
+
+    /**
+     * @return - true if there is no step in program
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return - immutable copy of program with arrays trimmed to its size
+     */
+    ProcessingProgram<S, R> compact() {
+        ProcessingProgram<S, R> result = new ProcessingProgram<>(size);
+        System.arraycopy(operations, 0, result.operations, 0, size);
+        System.arraycopy(functions, 0, result.functions, 0, size);
+        System.arraycopy(operands, 0, result.operands, 0, size);
+        System.arraycopy(primitiveOperands, 0, result.primitiveOperands, 0, size);
+        System.arraycopy(targets, 0, result.targets, 0, size);
+        System.arraycopy(skipIndexes, 0, result.skipIndexes, 0, size);
+        result.size = size;
+        result.openConditions = null;
+        return result;
+    }
+
+    private void add(byte operation, Object function, Object operand, Object target) {
+        if (size == operations.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+            operations = Arrays.copyOf(operations, capacity);
+            functions = Arrays.copyOf(functions, capacity);
+            operands = Arrays.copyOf(operands, capacity);
+            primitiveOperands = Arrays.copyOf(primitiveOperands, capacity);
+            targets = Arrays.copyOf(targets, capacity);
+            skipIndexes = Arrays.copyOf(skipIndexes, capacity);
+        }
+        operations[size] = operation;
+        functions[size] = function;
+        operands[size] = operand;
+        primitiveOperands[size] = 0L;
+        targets[size] = target;
+        skipIndexes[size] = UNRESOLVED_SKIP_INDEX;
+        size++;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // PROCESSING METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * process all steps in order its were added
+     *
+     * @param sourceObject      - object on which getters and conditions of source are applied
+     * @param destinationObject - object into which values are set if step has no own target object
+     * @param mapperOptions     - options used for creating of error if object to set is null
+     */
+    void process(S sourceObject, R destinationObject, MapperOptions mapperOptions) {
+        int index = 0;
+        while (index < size) {
+            switch (operations[index]) {
+                case START_CONDITION:
+                    if (!((ConditionFunction) functions[index]).test()) {
+                        int skipIndex = skipIndexes[index];
+                        index = skipIndex == UNRESOLVED_SKIP_INDEX ? size : skipIndex;
+                        continue;
+                    }
+                    break;
+                case START_SOURCE_CONDITION:
+                    if (!((SourceConditionFunction<S>) functions[index]).test(sourceObject)) {
+                        int skipIndex = skipIndexes[index];
+                        index = skipIndex == UNRESOLVED_SKIP_INDEX ? size : skipIndex;
+                        continue;
+                    }
+                    break;
+                case SET_VALUE:
+                    ((SetterFunction<Object, Object>) functions[index]).accept(
+                            objectToSet(index, destinationObject, mapperOptions), operands[index]);
+                    break;
+                case SET_GETTER_VALUE:
+                    ((SetterFunction<Object, Object>) functions[index]).accept(
+                            objectToSet(index, destinationObject, mapperOptions), ((GetterFunction<S, Object>) operands[index]).apply(sourceObject));
+                    break;
+                case SET_INT_VALUE:
+                    ((IntSetterFunction<Object>) functions[index]).accept(
+                            objectToSet(index, destinationObject, mapperOptions), (int) primitiveOperands[index]);
+                    break;
+                case SET_INT_GETTER_VALUE:
+                    ((IntSetterFunction<Object>) functions[index]).accept(
+                            objectToSet(index, destinationObject, mapperOptions), ((IntGetterFunction<S>) operands[index]).apply(sourceObject));
+                    break;
+                case SET_LONG_VALUE:
+                    ((LongSetterFunction<Object>) functions[index]).accept(
+                            objectToSet(index, destinationObject, mapperOptions), primitiveOperands[index]);
+                    break;
+                case SET_LONG_GETTER_VALUE:
+                    ((LongSetterFunction<Object>) functions[index]).accept(
+                            objectToSet(index, destinationObject, mapperOptions), ((LongGetterFunction<S>) operands[index]).apply(sourceObject));
+                    break;
+                case SET_DOUBLE_VALUE:
+                    ((DoubleSetterFunction<Object>) functions[index]).accept(
+                            objectToSet(index, destinationObject, mapperOptions), Double.longBitsToDouble(primitiveOperands[index]));
+                    break;
+                case SET_DOUBLE_GETTER_VALUE:
+                    ((DoubleSetterFunction<Object>) functions[index]).accept(
+                            objectToSet(index, destinationObject, mapperOptions), ((DoubleGetterFunction<S>) operands[index]).apply(sourceObject));
+                    break;
+                case SET_BOOLEAN_VALUE:
+                    ((BooleanSetterFunction<Object>) functions[index]).accept(
+                            objectToSet(index, destinationObject, mapperOptions), primitiveOperands[index] != 0L);
+                    break;
+                default:
+                    ((BooleanSetterFunction<Object>) functions[index]).accept(
+                            objectToSet(index, destinationObject, mapperOptions), ((BooleanGetterFunction<S>) operands[index]).apply(sourceObject));
+                    break;
+            }
+            index++;
+        }
+    }
+
+    /**
+     * @return - target object of step or {@code destinationObject} if the step has no own target object
+     */
+    private Object objectToSet(int index, R destinationObject, MapperOptions mapperOptions) {
+        Object objectToSet = targets[index] == null ? destinationObject : targets[index];
+        if (objectToSet == null) {
+            throw mapperOptions.createNullError("The object is null");
+        }
+        return objectToSet;
+    }
+}
@@ -0,0 +1,212 @@
+package com.kubicaj.utilities.pojomapper;
+
+import com.kubicaj.utilities.pojomapper.function.CopyFunction;
+import com.kubicaj.utilities.pojomapper.function.GetterFunction;
+import com.kubicaj.utilities.pojomapper.function.SetterFunction;
+import com.kubicaj.utilities.pojomapper.reflection.AccessorFactory;
+import com.kubicaj.utilities.pojomapper.reflection.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+/**
+ * Resolved mapping of one destination field. It keeps all the information which {@link ReflectionMapperBuilder}
+ * used to derive for every field on every {@link ReflectionMapperBuilder#apply()} call, so the names, methods and keys
+ * are computed only once per pair of types and naming options.
+ * <p>
+ * Instances are immutable and shared between all {@link MappingPlan} objects of the same pair of types.
+ */
+class PropertyMapping {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // ATTRIBUTES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * full name of destination field (including prefix and suffix)
+     */
+    private final String destinationFieldName;
+
+    /**
+     * type of destination field
+     */
+    private final Class<?> destinationFieldType;
+
+    /**
+     * generic type of source value (return type of getter or type of source field). The value is null if source
+     * object has no such getter or field
+     */
+    private final Type sourceGenericType;
+
+    /**
+     * type of source value (return type of getter or type of source field). The value is null if source
+     * object has no such getter or field
+     */
+    private final Class<?> sourceValueType;
+
+    /**
+     * generic type of destination field (e.g. {@code List<SimplePojoTest2>})
+     */
+    private final Type destinationGenericType;
+
+    /**
+     * getter method of source object. The value is null if source object has no such getter or
+     * the fields are accessed directly
+     */
+    private final Method getterMethod;
+
+    /**
+     * setter method of destination object. The value is null if destination object has no such setter or
+     * the fields are accessed directly
+     */
+    private final Method setterMethod;
+
+    /**
+     * accessor of {@link PropertyMapping#getterMethod}. The value is null if source object has no such getter
+     */
+    private final GetterFunction<Object, Object> getter;
+
+    /**
+     * accessor of {@link PropertyMapping#setterMethod}. If destination object has no such setter then the accessor
+     * throws {@link com.kubicaj.utilities.pojomapper.exception.MapperException}
+     */
+    private final SetterFunction<Object, Object> setter;
+
+    /**
+     * copier of primitive value which has to be widened (e.g. {@code int} getter and {@code long} setter).
+     * The value is null if the types are the same or they are not primitive
+     */
+    private final CopyFunction<Object, Object> primitiveCopier;
+
+    /**
+     * key of internal field mapper in format destinationClassName#fieldName
+     */
+    private final String fieldMapperKey;
+
+    /**
+     * key of internal class mapper - the class name of destination field type
+     */
+    private final String classMapperKey;
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CONSTRUCTORS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * create mapping which uses getter and setter methods
+     */
+    PropertyMapping(String destinationFieldName, Class<?> destinationFieldType, Type destinationGenericType,
+                    Method getterMethod, Method setterMethod, String fieldMapperKey, String classMapperKey) {
+        this(destinationFieldName, destinationFieldType,
+                getterMethod == null ? null : getterMethod.getReturnType(),
+                getterMethod == null ? null : getterMethod.getGenericReturnType(), destinationGenericType,
+                getterMethod, setterMethod,
+                getterMethod == null ? null : AccessorFactory.createGetter(getterMethod),
+                setterMethod == null
+                        ? (object, value) -> ReflectionUtils.invokeMethod(null, object, value)
+                        : AccessorFactory.createSetter(setterMethod),
+                isPrimitiveWidening(getterMethod == null ? null : getterMethod.getReturnType(), destinationFieldType) && setterMethod != null
+                        ? AccessorFactory.createPrimitiveCopier(getterMethod, setterMethod)
+                        : null,
+                fieldMapperKey, classMapperKey);
+    }
+
+    /**
+     * create mapping which uses direct access to fields
+     */
+    PropertyMapping(String destinationFieldName, Class<?> destinationFieldType, Field sourceField, Field destinationField,
+                    String fieldMapperKey, String classMapperKey) {
+        this(destinationFieldName, destinationFieldType,
+                sourceField == null ? null : sourceField.getType(),
+                sourceField == null ? null : sourceField.getGenericType(), destinationField.getGenericType(),
+                null, null,
+                sourceField == null ? null : AccessorFactory.createFieldGetter(sourceField),
+                AccessorFactory.createFieldSetter(destinationField),
+                isPrimitiveWidening(sourceField == null ? null : sourceField.getType(), destinationFieldType)
+                        ? AccessorFactory.createPrimitiveCopier(sourceField, destinationField)
+                        : null,
+                fieldMapperKey, classMapperKey);
+    }
+
+    private PropertyMapping(String destinationFieldName, Class<?> destinationFieldType, Class<?> sourceValueType,
+                            Type sourceGenericType, Type destinationGenericType, Method getterMethod, Method setterMethod,
+                            GetterFunction<Object, Object> getter, SetterFunction<Object, Object> setter,
+                            CopyFunction<Object, Object> primitiveCopier, String fieldMapperKey, String classMapperKey) {
+        this.destinationFieldName = destinationFieldName;
+        this.destinationFieldType = destinationFieldType;
+        this.sourceValueType = sourceValueType;
+        this.sourceGenericType = sourceGenericType;
+        this.destinationGenericType = destinationGenericType;
+        this.getterMethod = getterMethod;
+        this.setterMethod = setterMethod;
+        this.getter = getter;
+        this.setter = setter;
+        this.primitiveCopier = primitiveCopier;
+        this.fieldMapperKey = fieldMapperKey;
+        this.classMapperKey = classMapperKey;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // GETTERS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    String getDestinationFieldName() {
+        return destinationFieldName;
+    }
+
+    Class<?> getDestinationFieldType() {
+        return destinationFieldType;
+    }
+
+    Class<?> getSourceValueType() {
+        return sourceValueType;
+    }
+
+    Type getSourceGenericType() {
+        return sourceGenericType;
+    }
+
+    Type getDestinationGenericType() {
+        return destinationGenericType;
+    }
+
+    Method getGetterMethod() {
+        return getterMethod;
+    }
+
+    Method getSetterMethod() {
+        return setterMethod;
+    }
+
+    GetterFunction<Object, Object> getGetter() {
+        return getter;
+    }
+
+    SetterFunction<Object, Object> getSetter() {
+        return setter;
+    }
+
+    CopyFunction<Object, Object> getPrimitiveCopier() {
+        return primitiveCopier;
+    }
+
+    String getFieldMapperKey() {
+        return fieldMapperKey;
+    }
+
+    String getClassMapperKey() {
+        return classMapperKey;
+    }
+
+    /**
+     * @param sourceValueType
+     * @param destinationFieldType
+     * @return - true if both types are different primitive types (the widening itself is checked by
+     * {@link AccessorFactory#createPrimitiveCopier(Method, Method)})
+     */
+    private static boolean isPrimitiveWidening(Class<?> sourceValueType, Class<?> destinationFieldType) {
+        return sourceValueType != null && sourceValueType.isPrimitive() && destinationFieldType.isPrimitive()
+                && sourceValueType != destinationFieldType;
+    }
+}
@@ -1,13 +1,12 @@
 package com.kubicaj.utilities.pojomapper;
 
+import com.kubicaj.utilities.pojomapper.function.SourceConditionFunction;
 import com.kubicaj.utilities.pojomapper.options.MapperOptions;
-import com.kubicaj.utilities.pojomapper.reflection.ReflectionUtils;
-import org.apache.commons.lang.WordUtils;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -33,6 +32,12 @@ public class ReflectionMapperBuilder<R, S> extends MapperBuilder<R> {
      */
     private Map<String, IMapperBuilder> internalMapperBuilders = new HashMap<>();
 
+    /**
+     * plan of this builder. It is created with frozen copy of {@link MapperBuilder#mapperOptions} when it is used
+     * first time and it is reset when the internal mappers are changed. The plan of changed options is created again
+     */
+    private volatile MappingPlan<S, R> mappingPlan;
+
     // -----------------------------------------------------------------------------------------------------------------
     // CONSTRUCTOR
     // -----------------------------------------------------------------------------------------------------------------
@@ -160,52 +165,33 @@ public class ReflectionMapperBuilder<R, S> extends MapperBuilder<R> {
 
     @Override
     public R apply() {
-        Collection<Field> destinationObjectFields = ReflectionUtils.getDeclarativeFields(destinationObjectType);
-        destinationObjectFields.stream().forEach(field -> {
-            // check if field is excluding from mapping. If not then continue
-            if (!mapperOptions.isFieldExcluding(field.getName())) {
-                // create setter name
-                String setterFunctionName = "set" + WordUtils.capitalize(field.getName());
-                // search getter function
-                String fieldBaseName = getDestinationBaseFieldName(field);
-                String getterFunctionName = getSourceMethodGetterName(fieldBaseName, field.getType().equals(boolean.class));
-                Method getterFunction = ReflectionUtils.findMethodByName(sourceObjectType, getterFunctionName);
-                // find custom mapper
-                // field mapper has higher priority as class mapper
-                IMapperBuilder customMapper = internalMapperBuilders.get(destinationObjectType.getName()+"#"+field.getName());
-                if(customMapper == null){
-                    customMapper = internalMapperBuilders.get(field.getType().getName());
-                }
-                if(customMapper == null) {
-                    // if custom mapper not exists then continue
-                    if (getterFunction != null) {
-                        // search setter method
-                        Method setterMethod = ReflectionUtils.findMethodByName(destinationObjectType, setterFunctionName, field.getType());
-                        // get result of getter function
-                        Object getterResult = ReflectionUtils.invokeMethod(getterFunction, sourceObject);
-                        // invoke setter
-                        ReflectionUtils.invokeMethod(setterMethod, destinationObject, getterResult);
-                    }
-                } else {
-                    // search setter method
-                    Method setterMethod = ReflectionUtils.findMethodByName(destinationObjectType, setterFunctionName, field.getType());
-                    // invoke setter with result from custom mapper
-                    if(customMapper instanceof ReflectionMapperBuilder){
-                        if (((ReflectionMapperBuilder)customMapper).getSourceObject() == null)
-                            ((ReflectionMapperBuilder)customMapper).setSourceObject(ReflectionUtils.invokeMethod(getterFunction, sourceObject));
-                    }
-                    ReflectionUtils.invokeMethod(setterMethod, destinationObject, customMapper.apply());
-                }
-            }
-        });
+        if (destinationObject == null) {
+            // immutable destination is created with all values at once
+            return toMappingPlan().map(sourceObject);
+        }
+        // map the fields according compiled plan
+        toMappingPlan().mapInto(sourceObject, destinationObject);
         // call processing of others mapping rules
-        return super.apply();
+        return process(sourceObject);
     }
 
     // -----------------------------------------------------------------------------------------------------------------
     // OTHER METHODS
     // -----------------------------------------------------------------------------------------------------------------
 
+    /**
+     * start processing with condition of source object. Condition is evaluated according {@code conditionFunction}
+     * on {@link ReflectionMapperBuilder#sourceObject} when the builder is applied. If the condition is not valid then
+     * all functions up to matching {@link MapperBuilder#withEndCondition()} are skipped (including nested conditions)
+     *
+     * @param conditionFunction
+     * @return this instance of {@link ReflectionMapperBuilder}
+     */
+    public ReflectionMapperBuilder<R, S> withStartCondition(SourceConditionFunction<? super S> conditionFunction) {
+        addStartSourceCondition(conditionFunction);
+        return this;
+    }
+
     /**
      * add mapping of field which type is {@code destinationInternalType}
      *
@@ -216,6 +202,7 @@ public class ReflectionMapperBuilder<R, S> extends MapperBuilder<R> {
      */
     public <D> ReflectionMapperBuilder<R, S> withInternalClassMapper(Class<D> destinationInternalType, IMapperBuilder internalMapper) {
         internalMapperBuilders.put(destinationInternalType.getName(), internalMapper);
+        mappingPlan = null;
         return this;
     }
 
@@ -228,46 +215,106 @@ public class ReflectionMapperBuilder<R, S> extends MapperBuilder<R> {
      */
     public ReflectionMapperBuilder<R, S> withInternalFieldMapper(String fieldName, IMapperBuilder internalMapper) {
         internalMapperBuilders.put(destinationObjectType.getName() + "#" + fieldName, internalMapper);
+        mappingPlan = null;
         return this;
     }
 
     /**
-     * find the getter name of source object
+     * the same as {@link ReflectionMapperBuilder#apply()}, but only the fields of destination object whose value
+     * differs are set (see {@link MappingPlan#patch(Object, Object)}). The others mapping rules are processed as usual
      *
-     * @param baseFieldName      - base name of method
-     * @param isPrimitiveBoolean - flag indicate if the field is type of primitive boolean
-     * @return
+     * @return - indexes of changed fields in order of {@link MappingPlan#getDestinationFieldNames()}
      */
-    private String getSourceMethodGetterName(String baseFieldName, boolean isPrimitiveBoolean) {
-        String prefix = "get";
-        if (isPrimitiveBoolean) {
-            prefix = "is";
-        }
-        return prefix +
-                WordUtils.capitalize(mapperOptions.getSourceObjectFieldPrefix()) +
-                WordUtils.capitalize(baseFieldName) +
-                WordUtils.capitalize(mapperOptions.getSourceObjectFieldSuffix());
+    public BitSet patch() {
+        BitSet result = toMappingPlan().patch(sourceObject, destinationObject);
+        // call processing of others mapping rules
+        process(sourceObject);
+        return result;
     }
 
     /**
-     * find field name which is reduce by suffix and prefix according
-     * {@link MapperOptions#destinationObjectFieldPrefix} and {@link MapperOptions#destinationObjectFieldSuffixe}
+     * get {@link MappingPlan} according types, {@link MapperOptions} and internal mappers of this builder.
+     * The plan can be used for mapping of many source objects without creating of new builder.
+     * <p>
+     * The plan is created with frozen copy of options and it is reused by all calls of this builder until
+     * the options or internal mappers are changed. The plan without internal mappers is shared by all builders
+     * of the same types and options (see {@link MappingPlan#of(Class, Class, MapperOptions)})
      *
-     * @param field
-     * @return - base name of field
+     * @return - plan of this builder
      */
-    private String getDestinationBaseFieldName(Field field) {
-        String baseFieldName = field.getName();
-        if (!mapperOptions.getDestinationObjectFieldPrefix().isEmpty()) {
-            baseFieldName = baseFieldName.replaceAll("^" + mapperOptions.getDestinationObjectFieldPrefix(), "");
+    public MappingPlan<S, R> toMappingPlan() {
+        MapperOptions frozenOptions = mapperOptions.freeze();
+        MappingPlan<S, R> result = mappingPlan;
+        if (result == null || result.getMapperOptions() != frozenOptions) {
+            result = internalMapperBuilders.isEmpty()
+                    ? MappingPlan.of(sourceObjectType, destinationObjectType, frozenOptions)
+                    : MappingPlan.of(sourceObjectType, destinationObjectType, frozenOptions, internalMapperBuilders);
+            mappingPlan = result;
         }
-        if (!mapperOptions.getDestinationObjectFieldSuffixe().isEmpty()) {
-            int suffixIndex = baseFieldName.lastIndexOf(mapperOptions.getDestinationObjectFieldSuffixe());
-            if (suffixIndex > -1) {
-                baseFieldName = baseFieldName.substring(0, suffixIndex);
-            }
-        }
-        return WordUtils.uncapitalize(baseFieldName);
+        return result;
+    }
+
+    /**
+     * map all {@code sourceObjects} into new instances of destination type by one {@link MappingPlan}.
+     * Only the fields of source objects are mapped - the setter functions added into this builder are bound
+     * to its own destination object and they are not applied
+     *
+     * @param sourceObjects
+     * @return - new list of the same size and order as {@code sourceObjects}
+     * @see MappingPlan#mapAll(Collection)
+     */
+    public List<R> mapAll(Collection<? extends S> sourceObjects) {
+        return toMappingPlan().mapAll(sourceObjects);
+    }
+
+    /**
+     * map all {@code sourceObjects} into new instances of destination type by one {@link MappingPlan}.
+     * Only the fields of source objects are mapped - the setter functions added into this builder are bound
+     * to its own destination object and they are not applied
+     *
+     * @param sourceObjects
+     * @return - new array of the same length and order as {@code sourceObjects}
+     * @see MappingPlan#mapAll(Object[])
+     */
+    public R[] mapAll(S[] sourceObjects) {
+        return toMappingPlan().mapAll(sourceObjects);
+    }
+
+    /**
+     * map all {@code sourceObjects} into existing {@code destinationObjects} by one {@link MappingPlan}.
+     * Only the fields of source objects are mapped - the setter functions added into this builder are bound
+     * to its own destination object and they are not applied
+     *
+     * @param sourceObjects
+     * @param destinationObjects
+     * @return - {@code destinationObjects}
+     * @see MappingPlan#mapInto(List, Object[])
+     */
+    public R[] mapInto(List<? extends S> sourceObjects, R[] destinationObjects) {
+        return toMappingPlan().mapInto(sourceObjects, destinationObjects);
+    }
+
+    /**
+     * check if this builder is type mapper - it was created without source object and without setter functions.
+     * The type mapper used as internal mapper maps each internal object into its own new destination object
+     * within {@link MappingContext}, so the shared internal objects and cycles are mapped only once.
+     * Other internal mappers are applied as before into its own destination object
+     *
+     * @return - true if this builder is type mapper
+     */
+    protected boolean isTypeMapper() {
+        return sourceObject == null && !hasProcessingSteps();
+    }
+
+    /**
+     * map internal object of other mapping if this builder is type mapper
+     *
+     * @param internalSourceObject - internal object of source object of other mapping
+     * @param context              - context of mapped objects of the whole object graph
+     * @return - destination object or null if {@code internalSourceObject} is null
+     */
+    R mapInternalObject(S internalSourceObject, MappingContext context) {
+        return toMappingPlan().map(internalSourceObject, context);
     }
 
     /**
@@ -0,0 +1,353 @@
+package com.kubicaj.utilities.pojomapper.bytecode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal writer of class files. It supports only the instructions needed by {@link GeneratedMapperFactory}:
+ * public final class with default constructor and methods without branches (therefore no stack map frames are needed).
+ * The class file version is 52 (Java 8).
+ */
+class ClassFileWriter {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CONSTANTS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private static final int CLASS_FILE_VERSION = 52;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final byte CONSTANT_UTF8 = 1;
+    private static final byte CONSTANT_CLASS = 7;
+    private static final byte CONSTANT_METHOD_REF = 10;
+    private static final byte CONSTANT_INTERFACE_METHOD_REF = 11;
+    private static final byte CONSTANT_NAME_AND_TYPE = 12;
+
+    static final int ALOAD_0 = 0x2A;
+    static final int ALOAD_1 = 0x2B;
+    static final int ALOAD_2 = 0x2C;
+    static final int ALOAD_3 = 0x2D;
+    static final int ALOAD = 0x19;
+    static final int ASTORE_3 = 0x4E;
+    static final int ASTORE = 0x3A;
+    static final int POP = 0x57;
+    static final int POP2 = 0x58;
+    static final int RETURN = 0xB1;
+    static final int INVOKEVIRTUAL = 0xB6;
+    static final int INVOKESPECIAL = 0xB7;
+    static final int INVOKEINTERFACE = 0xB9;
+    static final int CHECKCAST = 0xC0;
+
+    /**
+     * maximal length of code of one method
+     */
+    static final int MAX_CODE_LENGTH = 65535;
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // ATTRIBUTES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private final ByteArrayOutputStream constantPoolBytes = new ByteArrayOutputStream();
+    private final DataOutputStream constantPool = new DataOutputStream(constantPoolBytes);
+    private final Map<String, Integer> constantPoolIndexes = new HashMap<>();
+    private int constantPoolCount = 1;
+
+    private final int thisClassIndex;
+    private final int superClassIndex;
+    private final List<Integer> interfaceIndexes = new ArrayList<>();
+    private final List<byte[]> methods = new ArrayList<>();
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CONSTRUCTORS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * @param className - binary name of class in internal form (with slashes)
+     */
+    ClassFileWriter(String className) {
+        this.thisClassIndex = classConstant(className);
+        this.superClassIndex = classConstant("java/lang/Object");
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CLASS STRUCTURE
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * add implemented interface
+     *
+     * @param interfaceType
+     */
+    void addInterface(Class<?> interfaceType) {
+        interfaceIndexes.add(classConstant(internalName(interfaceType)));
+    }
+
+    /**
+     * add public constructor without parameters which only call constructor of {@link Object}
+     */
+    void addDefaultConstructor() {
+        CodeBuilder code = new CodeBuilder();
+        code.instruction(ALOAD_0);
+        code.instructionWithIndex(INVOKESPECIAL, methodConstant(CONSTANT_METHOD_REF, "java/lang/Object", "<init>", "()V"));
+        code.instruction(RETURN);
+        addMethod("<init>", "()V", 1, 1, code);
+    }
+
+    /**
+     * add public method
+     *
+     * @param name       - name of method
+     * @param descriptor - descriptor of method
+     * @param maxStack   - maximal depth of operand stack
+     * @param maxLocals  - number of local variables including parameters
+     * @param code       - code of method
+     */
+    void addMethod(String name, String descriptor, int maxStack, int maxLocals, CodeBuilder code) {
+        try {
+            ByteArrayOutputStream methodBytes = new ByteArrayOutputStream();
+            DataOutputStream method = new DataOutputStream(methodBytes);
+            byte[] codeBytes = code.toByteArray();
+            method.writeShort(ACC_PUBLIC);
+            method.writeShort(utf8Constant(name));
+            method.writeShort(utf8Constant(descriptor));
+            // one attribute - Code
+            method.writeShort(1);
+            method.writeShort(utf8Constant("Code"));
+            method.writeInt(2 + 2 + 4 + codeBytes.length + 2 + 2);
+            method.writeShort(maxStack);
+            method.writeShort(maxLocals);
+            method.writeInt(codeBytes.length);
+            method.write(codeBytes);
+            // no exception table and no attributes of code
+            method.writeShort(0);
+            method.writeShort(0);
+            methods.add(methodBytes.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return - content of class file
+     */
+    byte[] toByteArray() {
+        try {
+            ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+            DataOutputStream classFile = new DataOutputStream(classBytes);
+            classFile.writeInt(0xCAFEBABE);
+            classFile.writeShort(0);
+            classFile.writeShort(CLASS_FILE_VERSION);
+            classFile.writeShort(constantPoolCount);
+            classFile.write(constantPoolBytes.toByteArray());
+            classFile.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            classFile.writeShort(thisClassIndex);
+            classFile.writeShort(superClassIndex);
+            classFile.writeShort(interfaceIndexes.size());
+            for (Integer interfaceIndex : interfaceIndexes) {
+                classFile.writeShort(interfaceIndex);
+            }
+            // no fields
+            classFile.writeShort(0);
+            classFile.writeShort(methods.size());
+            for (byte[] method : methods) {
+                classFile.write(method);
+            }
+            // no attributes
+            classFile.writeShort(0);
+            return classBytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CONSTANT POOL
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * @param classType
+     * @return - index of class constant
+     */
+    int classConstant(Class<?> classType) {
+        return classConstant(classType.isArray() ? descriptor(classType) : internalName(classType));
+    }
+
+    /**
+     * @param method - method which is invoked on object of type {@code ownerType}
+     * @param ownerType
+     * @return - index of method reference constant
+     */
+    int methodConstant(Method method, Class<?> ownerType) {
+        return methodConstant(ownerType.isInterface() ? CONSTANT_INTERFACE_METHOD_REF : CONSTANT_METHOD_REF,
+                internalName(ownerType), method.getName(), descriptor(method));
+    }
+
+    private int classConstant(String internalName) {
+        return constant("C" + internalName, () -> {
+            int nameIndex = utf8Constant(internalName);
+            constantPool.writeByte(CONSTANT_CLASS);
+            constantPool.writeShort(nameIndex);
+        });
+    }
+
+    private int methodConstant(byte tag, String owner, String name, String descriptor) {
+        return constant("M" + tag + owner + "." + name + descriptor, () -> {
+            int classIndex = classConstant(owner);
+            int nameAndTypeIndex = constant("N" + name + descriptor, () -> {
+                int nameIndex = utf8Constant(name);
+                int descriptorIndex = utf8Constant(descriptor);
+                constantPool.writeByte(CONSTANT_NAME_AND_TYPE);
+                constantPool.writeShort(nameIndex);
+                constantPool.writeShort(descriptorIndex);
+            });
+            constantPool.writeByte(tag);
+            constantPool.writeShort(classIndex);
+            constantPool.writeShort(nameAndTypeIndex);
+        });
+    }
+
+    private int utf8Constant(String value) {
+        return constant("U" + value, () -> {
+            constantPool.writeByte(CONSTANT_UTF8);
+            constantPool.writeUTF(value);
+        });
+    }
+
+    /**
+     * find constant in pool or add it
+     *
+     * @param key    - unique key of constant
+     * @param writer - writer of constant. It is called only if constant is not in pool
+     * @return - index of constant
+     */
+    private int constant(String key, ConstantWriter writer) {
+        Integer index = constantPoolIndexes.get(key);
+        if (index == null) {
+            try {
+                writer.write();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            index = constantPoolCount++;
+            constantPoolIndexes.put(key, index);
+        }
+        return index;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // TYPE NAMES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    static String internalName(Class<?> classType) {
+        return classType.getName().replace('.', '/');
+    }
+
+    static String descriptor(Method method) {
+        StringBuilder result = new StringBuilder("(");
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            result.append(descriptor(parameterType));
+        }
+        return result.append(')').append(descriptor(method.getReturnType())).toString();
+    }
+
+    static String descriptor(Class<?> classType) {
+        if (classType.isArray()) {
+            return internalName(classType);
+        }
+        if (classType == void.class) {
+            return "V";
+        } else if (classType == boolean.class) {
+            return "Z";
+        } else if (classType == byte.class) {
+            return "B";
+        } else if (classType == char.class) {
+            return "C";
+        } else if (classType == short.class) {
+            return "S";
+        } else if (classType == int.class) {
+            return "I";
+        } else if (classType == long.class) {
+            return "J";
+        } else if (classType == float.class) {
+            return "F";
+        } else if (classType == double.class) {
+            return "D";
+        }
+        return "L" + internalName(classType) + ";";
+    }
+
+    /**
+     * @param classType
+     * @return - number of stack slots used by value of type {@code classType}
+     */
+    static int stackSize(Class<?> classType) {
+        if (classType == void.class) {
+            return 0;
+        }
+        return classType == long.class || classType == double.class ? 2 : 1;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // INTERNAL CLASSES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    @FunctionalInterface
+    private interface ConstantWriter {
+        void write() throws IOException;
+    }
+
+    /**
+     * Builder of code of one method
+     */
+    static class CodeBuilder {
+
+        private final ByteArrayOutputStream code = new ByteArrayOutputStream();
+
+        CodeBuilder instruction(int opcode) {
+            code.write(opcode);
+            return this;
+        }
+
+        CodeBuilder instructionWithLocal(int opcode, int localIndex) {
+            code.write(opcode);
+            code.write(localIndex);
+            return this;
+        }
+
+        CodeBuilder instructionWithIndex(int opcode, int constantIndex) {
+            code.write(opcode);
+            code.write(constantIndex >> 8);
+            code.write(constantIndex);
+            return this;
+        }
+
+        /**
+         * @param constantIndex - index of interface method reference
+         * @param argumentsSize - number of stack slots of arguments including the receiver
+         */
+        CodeBuilder invokeInterface(int constantIndex, int argumentsSize) {
+            instructionWithIndex(INVOKEINTERFACE, constantIndex);
+            code.write(argumentsSize);
+            code.write(0);
+            return this;
+        }
+
+        int length() {
+            return code.size();
+        }
+
+        byte[] toByteArray() {
+            return code.toByteArray();
+        }
+    }
+}
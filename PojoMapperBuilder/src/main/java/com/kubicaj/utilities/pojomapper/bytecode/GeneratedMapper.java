@@ -0,0 +1,17 @@
+package com.kubicaj.utilities.pojomapper.bytecode;
+
+/**
+ * Common type of mapper classes generated in runtime by {@link GeneratedMapperFactory}.
+ * The generated implementation contains only straight-line calls {@code destination.setX(source.getX())}
+ */
+public interface GeneratedMapper {
+
+    /**
+     * copy values from {@code sourceObject} into {@code destinationObject}
+     *
+     * @param sourceObject      - object from which the values are get
+     * @param destinationObject - object into which the values are set
+     */
+    void map(Object sourceObject, Object destinationObject);
+
+}
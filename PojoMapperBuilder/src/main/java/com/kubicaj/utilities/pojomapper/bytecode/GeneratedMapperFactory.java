@@ -0,0 +1,258 @@
+package com.kubicaj.utilities.pojomapper.bytecode;
+
+import com.kubicaj.utilities.pojomapper.reflection.ClassPairMetadataCache;
+import com.kubicaj.utilities.pojomapper.reflection.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Factory of {@link GeneratedMapper} classes. For each pair of types and list of getter/setter pairs it generates
+ * dedicated class with method equivalent to hand-written code:
+ * <pre>
+ *     public void map(Object sourceObject, Object destinationObject) {
+ *         S source = (S) sourceObject;
+ *         R destination = (R) destinationObject;
+ *         destination.setA(source.getA());
+ *         destination.setB(source.getB());
+ *         ...
+ *     }
+ * </pre>
+ * The generated classes are cached by identity of destination and source type in static cache of {@link ReflectionUtils},
+ * therefore they are bounded and cleared together with other metadata of classes (e.g.
+ * {@link com.kubicaj.utilities.pojomapper.MappingPlan#clearCache()}) and they do not prevent unloading of type of
+ * child class loader (see {@link ClassPairMetadataCache}). If the class can not be generated (non-public types, too many fields,
+ * error of class definition) then the factory returns null and caller has to use reflection.
+ */
+public class GeneratedMapperFactory {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // ATTRIBUTES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private static final String GENERATED_CLASS_PREFIX = GeneratedMapperFactory.class.getPackage().getName() + ".generated.Mapper$";
+
+    private static final int DESTINATION_LOCAL_INDEX = 4;
+
+    private static final AtomicLong generatedClassCounter = new AtomicLong();
+
+    /**
+     * the cache of generated mappers
+     * key = destination type and source type (see {@link ClassPairMetadataCache})
+     * value = the key of map is list of getter/setter pairs and the value is instance of generated mapper or empty
+     * value if the mapper can not be generated
+     */
+    private static final ClassPairMetadataCache<Map<GeneratedMapperKey, Optional<GeneratedMapper>>> generatedMapperStaticCache =
+            ReflectionUtils.createPairMetadataCache((destinationType, sourceType) -> new ConcurrentHashMap<>());
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * get generated mapper from cache or generate the new one
+     *
+     * @param sourceObjectType      - type of source object
+     * @param destinationObjectType - type of destination object
+     * @param getterMethods         - getters of source object
+     * @param setterMethods         - setters of destination object. The setter on index i is called with result of getter on index i
+     * @return - instance of {@link GeneratedMapper} or null if the mapper can not be generated
+     */
+    public static GeneratedMapper getGeneratedMapper(Class<?> sourceObjectType, Class<?> destinationObjectType,
+                                                     List<Method> getterMethods, List<Method> setterMethods) {
+        GeneratedMapperKey key = new GeneratedMapperKey(getterMethods, setterMethods);
+        return generatedMapperStaticCache.get(destinationObjectType, sourceObjectType).computeIfAbsent(key, k -> Optional.ofNullable(
+                generateMapper(sourceObjectType, destinationObjectType, getterMethods, setterMethods))).orElse(null);
+    }
+
+    /**
+     * check if the getter/setter pair can be called from generated code
+     *
+     * @param getterMethod
+     * @param setterMethod
+     * @return
+     */
+    public static boolean isGenerable(Method getterMethod, Method setterMethod) {
+        return getterMethod != null && setterMethod != null
+                && Modifier.isPublic(getterMethod.getModifiers()) && !Modifier.isStatic(getterMethod.getModifiers())
+                && Modifier.isPublic(setterMethod.getModifiers()) && !Modifier.isStatic(setterMethod.getModifiers())
+                && getterMethod.getParameterCount() == 0 && setterMethod.getParameterCount() == 1
+                && getterMethod.getReturnType() == setterMethod.getParameterTypes()[0];
+    }
+
+    /**
+     * generate new mapper class and create its instance
+     *
+     * @return - instance of generated mapper or null if it is not possible to generate it
+     */
+    private static GeneratedMapper generateMapper(Class<?> sourceObjectType, Class<?> destinationObjectType,
+                                                  List<Method> getterMethods, List<Method> setterMethods) {
+        if (!isPublic(sourceObjectType) || !isPublic(destinationObjectType)) {
+            return null;
+        }
+        String className = GENERATED_CLASS_PREFIX + generatedClassCounter.incrementAndGet();
+        ClassFileWriter classFileWriter = new ClassFileWriter(className.replace('.', '/'));
+        classFileWriter.addInterface(GeneratedMapper.class);
+        classFileWriter.addDefaultConstructor();
+
+        ClassFileWriter.CodeBuilder code = new ClassFileWriter.CodeBuilder();
+        // S source = (S) sourceObject;
+        code.instruction(ClassFileWriter.ALOAD_1)
+                .instructionWithIndex(ClassFileWriter.CHECKCAST, classFileWriter.classConstant(sourceObjectType))
+                .instruction(ClassFileWriter.ASTORE_3);
+        // R destination = (R) destinationObject;
+        code.instruction(ClassFileWriter.ALOAD_2)
+                .instructionWithIndex(ClassFileWriter.CHECKCAST, classFileWriter.classConstant(destinationObjectType))
+                .instructionWithLocal(ClassFileWriter.ASTORE, DESTINATION_LOCAL_INDEX);
+        int maxStack = 1;
+        for (int i = 0; i < getterMethods.size(); i++) {
+            Method getterMethod = getterMethods.get(i);
+            Method setterMethod = setterMethods.get(i);
+            // destination.setX(source.getX());
+            code.instructionWithLocal(ClassFileWriter.ALOAD, DESTINATION_LOCAL_INDEX)
+                    .instruction(ClassFileWriter.ALOAD_3);
+            invoke(classFileWriter, code, getterMethod, sourceObjectType);
+            invoke(classFileWriter, code, setterMethod, destinationObjectType);
+            // drop the result of fluent setters
+            int setterResultSize = ClassFileWriter.stackSize(setterMethod.getReturnType());
+            if (setterResultSize == 1) {
+                code.instruction(ClassFileWriter.POP);
+            } else if (setterResultSize == 2) {
+                code.instruction(ClassFileWriter.POP2);
+            }
+            maxStack = Math.max(maxStack, Math.max(1 + ClassFileWriter.stackSize(getterMethod.getReturnType()), setterResultSize));
+            if (code.length() >= ClassFileWriter.MAX_CODE_LENGTH) {
+                return null;
+            }
+        }
+        code.instruction(ClassFileWriter.RETURN);
+        classFileWriter.addMethod("map", "(Ljava/lang/Object;Ljava/lang/Object;)V", maxStack, DESTINATION_LOCAL_INDEX + 1, code);
+
+        try {
+            GeneratedMapperClassLoader classLoader = new GeneratedMapperClassLoader(sourceObjectType, destinationObjectType, getterMethods, setterMethods);
+            Class<?> generatedClass = classLoader.defineGeneratedClass(className, classFileWriter.toByteArray());
+            return (GeneratedMapper) generatedClass.getConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * add invocation of method on object of type {@code ownerType} which is on the top of stack
+     */
+    private static void invoke(ClassFileWriter classFileWriter, ClassFileWriter.CodeBuilder code, Method method, Class<?> ownerType) {
+        int methodIndex = classFileWriter.methodConstant(method, ownerType);
+        if (ownerType.isInterface()) {
+            int argumentsSize = 1;
+            for (Class<?> parameterType : method.getParameterTypes()) {
+                argumentsSize += ClassFileWriter.stackSize(parameterType);
+            }
+            code.invokeInterface(methodIndex, argumentsSize);
+        } else {
+            code.instructionWithIndex(ClassFileWriter.INVOKEVIRTUAL, methodIndex);
+        }
+    }
+
+    /**
+     * check if type and all its enclosing types are public
+     *
+     * @param classType
+     * @return
+     */
+    private static boolean isPublic(Class<?> classType) {
+        for (Class<?> type = classType; type != null; type = type.getEnclosingClass()) {
+            if (!Modifier.isPublic(type.getModifiers())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // INTERNAL CLASSES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Class loader of generated class. It resolves types used in generated code directly, therefore
+     * the source and destination types may come from any class loader.
+     */
+    private static class GeneratedMapperClassLoader extends ClassLoader {
+
+        private final Map<String, Class<?>> knownTypes = new HashMap<>();
+
+        GeneratedMapperClassLoader(Class<?> sourceObjectType, Class<?> destinationObjectType, List<Method> getterMethods, List<Method> setterMethods) {
+            super(GeneratedMapper.class.getClassLoader());
+            addKnownType(GeneratedMapper.class);
+            addKnownType(sourceObjectType);
+            addKnownType(destinationObjectType);
+            for (Method getterMethod : getterMethods) {
+                addKnownType(getterMethod.getReturnType());
+            }
+            for (Method setterMethod : setterMethods) {
+                addKnownType(setterMethod.getReturnType());
+                addKnownType(setterMethod.getParameterTypes()[0]);
+            }
+        }
+
+        private void addKnownType(Class<?> classType) {
+            while (classType.isArray()) {
+                classType = classType.getComponentType();
+            }
+            if (!classType.isPrimitive()) {
+                knownTypes.put(classType.getName(), classType);
+            }
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            Class<?> knownType = knownTypes.get(name);
+            if (knownType != null) {
+                return knownType;
+            }
+            return super.loadClass(name, resolve);
+        }
+
+        Class<?> defineGeneratedClass(String className, byte[] classBytes) {
+            return defineClass(className, classBytes, 0, classBytes.length);
+        }
+    }
+
+    /**
+     * Key of {@link GeneratedMapperFactory#generatedMapperStaticCache}
+     */
+    private static class GeneratedMapperKey {
+
+        private final Method[] getterMethods;
+        private final Method[] setterMethods;
+
+        GeneratedMapperKey(List<Method> getterMethods, List<Method> setterMethods) {
+            this.getterMethods = getterMethods.toArray(new Method[0]);
+            this.setterMethods = setterMethods.toArray(new Method[0]);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof GeneratedMapperKey)) {
+                return false;
+            }
+            GeneratedMapperKey that = (GeneratedMapperKey) o;
+            return Arrays.equals(getterMethods, that.getterMethods)
+                    && Arrays.equals(setterMethods, that.setterMethods);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(getterMethods) + Arrays.hashCode(setterMethods);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.kubicaj.utilities.pojomapper.function;
+
+/**
+ * function interface represented conversion of value of source property into value of destination property
+ *
+ * @param <S> - type of source value
+ * @param <R> - type of converted value
+ */
+@FunctionalInterface
+public interface ConverterFunction<S, R> extends ProcessingFunction {
+
+    /**
+     * Converts the given value. The value is never null
+     *
+     * @param value the source value
+     * @return the converted value
+     */
+    R convert(S value);
+}
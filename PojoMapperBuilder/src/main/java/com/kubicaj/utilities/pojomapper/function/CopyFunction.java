@@ -0,0 +1,20 @@
+package com.kubicaj.utilities.pojomapper.function;
+
+/**
+ * function interface represented copying of one property of source object into destination object.
+ * The value is passed directly from getter into setter, therefore primitive value is not boxed
+ *
+ * @param <S> - type of source object
+ * @param <R> - type of destination object
+ */
+@FunctionalInterface
+public interface CopyFunction<S, R> extends ProcessingFunction {
+
+    /**
+     * Copies the property.
+     *
+     * @param sourceObject      object from which the value is get
+     * @param destinationObject object into which the value is set
+     */
+    void copy(S sourceObject, R destinationObject);
+}
@@ -0,0 +1,19 @@
+package com.kubicaj.utilities.pojomapper.function;
+
+/**
+ * function interface represented getter function with primitive {@code double} return value.
+ * It is the same as {@link GetterFunction} but the value is not boxed
+ *
+ * @param <T> - type of invoking object
+ */
+@FunctionalInterface
+public interface DoubleGetterFunction<T> extends ProcessingFunction {
+
+    /**
+     * Applies this function to the given argument.
+     *
+     * @param t the function argument
+     * @return the function result
+     */
+    double apply(T t);
+}
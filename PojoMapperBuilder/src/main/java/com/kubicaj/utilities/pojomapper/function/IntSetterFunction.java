@@ -0,0 +1,19 @@
+package com.kubicaj.utilities.pojomapper.function;
+
+/**
+ * function interface represented setter function with primitive {@code int} argument.
+ * It is the same as {@link SetterFunction} but the value is not boxed
+ *
+ * @param <T> - type of invoking object
+ */
+@FunctionalInterface
+public interface IntSetterFunction<T> {
+
+    /**
+     * Performs this operation on the given arguments.
+     *
+     * @param t     the first input argument
+     * @param value the second input argument
+     */
+    void accept(T t, int value);
+}
@@ -0,0 +1,20 @@
+package com.kubicaj.utilities.pojomapper.function;
+
+/**
+ * Class represented predictor of source object. Unlike {@link ConditionFunction} the condition gets the source object
+ * which is just mapped, therefore one condition can be shared by mapping of all source objects
+ *
+ * @param <S> - type of source object
+ */
+@FunctionalInterface
+public interface SourceConditionFunction<S> extends ProcessingFunction {
+
+    /**
+     * Perform test method
+     *
+     * @param sourceObject - object which is just mapped
+     * @return
+     */
+    boolean test(S sourceObject);
+
+}
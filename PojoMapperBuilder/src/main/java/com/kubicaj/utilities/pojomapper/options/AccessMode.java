@@ -0,0 +1,20 @@
+package com.kubicaj.utilities.pojomapper.options;
+
+/**
+ * The way how {@link com.kubicaj.utilities.pojomapper.MappingPlan} reads values from source object and writes
+ * values into destination object
+ */
+public enum AccessMode {
+
+    /**
+     * the values are read by getters and written by setters of the objects
+     */
+    METHODS,
+
+    /**
+     * the values are read and written directly from/into fields of the objects (including private and final fields).
+     * The getters and setters are not needed, therefore it is possible to map objects without accessors.
+     * The source field has the name of getter without get/is prefix, e.g. myPrefixFirstName for getter getMyPrefixFirstName
+     */
+    FIELDS
+}
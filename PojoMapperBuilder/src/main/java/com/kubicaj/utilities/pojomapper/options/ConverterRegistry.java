@@ -0,0 +1,334 @@
+package com.kubicaj.utilities.pojomapper.options;
+
+import com.kubicaj.utilities.pojomapper.exception.MapperException;
+import com.kubicaj.utilities.pojomapper.function.ConverterFunction;
+import com.kubicaj.utilities.pojomapper.reflection.ReflectionUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of converters of values between types of source and destination property.
+ * <p>
+ * The converter is found only once when the mapping of fields is resolved (e.g. when
+ * {@link com.kubicaj.utilities.pojomapper.MappingPlan} is created), never during mapping of objects. Therefore the
+ * converters registered later have no influence on already created plans.
+ * <p>
+ * The primitive types are handled as its wrapper types. The converter of source type is searched also for
+ * superclasses and interfaces of source type, so e.g. the converter {@code Number -> Long} is used for
+ * {@code Integer -> long}. The primitive widening (e.g. {@code int -> long}) does not need any converter - it is copied
+ * directly without boxing.
+ * <p>
+ * The registry created by {@link ConverterRegistry#withDefaults()} contains converters of:
+ * <ul>
+ * <li>numbers - between all wrapper types, {@link BigDecimal} and {@link BigInteger}. The narrowing conversion
+ * (e.g. {@code long -> int} or {@code double -> long}) checks the value and throws {@link MapperException} if the value
+ * does not fit into destination type or it has fraction which would be lost</li>
+ * <li>{@link String} - into numbers, {@link Boolean}, {@link Character} and enums</li>
+ * <li>any object into {@link String} by {@link String#valueOf(Object)}</li>
+ * <li>{@link Date} and {@link Instant}, {@link Long} (epoch milliseconds) into {@link Instant} and {@link Date}</li>
+ * </ul>
+ * The registry of frozen {@link MapperOptions} is frozen too and it can not be changed.
+ */
+public class ConverterRegistry {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // ATTRIBUTES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * key = pair of source and destination type
+     * value = converter
+     */
+    private final Map<ConverterKey, ConverterFunction<Object, Object>> converters;
+
+    /**
+     * true if the registry can not be changed
+     */
+    private final boolean frozen;
+
+    /**
+     * number of changes of registry. It is used to find out that frozen copy of registry is out of date
+     */
+    private volatile int version = 0;
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CONSTRUCTORS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * new empty registry
+     */
+    public ConverterRegistry() {
+        this.converters = new ConcurrentHashMap<>();
+        this.frozen = false;
+    }
+
+    private ConverterRegistry(ConverterRegistry converterRegistry) {
+        this.converters = new ConcurrentHashMap<>(converterRegistry.converters);
+        this.frozen = true;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // INSTANCES CREATION METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return - new registry with default converters
+     */
+    public static ConverterRegistry withDefaults() {
+        ConverterRegistry result = new ConverterRegistry();
+        // numbers
+        result.register(Number.class, Integer.class, ConverterRegistry::toInteger);
+        result.register(Number.class, Long.class, ConverterRegistry::toLong);
+        result.register(Number.class, Double.class, ConverterRegistry::toDouble);
+        result.register(Number.class, Float.class, ConverterRegistry::toFloat);
+        result.register(Number.class, Short.class, ConverterRegistry::toShort);
+        result.register(Number.class, Byte.class, ConverterRegistry::toByte);
+        result.register(Number.class, BigDecimal.class, value -> new BigDecimal(value.toString()));
+        result.register(Number.class, BigInteger.class, ConverterRegistry::toBigInteger);
+        result.register(BigInteger.class, BigDecimal.class, BigDecimal::new);
+        // strings
+        result.register(String.class, Integer.class, value -> Integer.valueOf(value.trim()));
+        result.register(String.class, Long.class, value -> Long.valueOf(value.trim()));
+        result.register(String.class, Double.class, value -> Double.valueOf(value.trim()));
+        result.register(String.class, Float.class, value -> Float.valueOf(value.trim()));
+        result.register(String.class, Short.class, value -> Short.valueOf(value.trim()));
+        result.register(String.class, Byte.class, value -> Byte.valueOf(value.trim()));
+        result.register(String.class, BigDecimal.class, value -> new BigDecimal(value.trim()));
+        result.register(String.class, BigInteger.class, value -> new BigInteger(value.trim()));
+        result.register(String.class, Boolean.class, value -> Boolean.valueOf(value.trim()));
+        result.register(String.class, Character.class, value -> value.isEmpty() ? null : value.charAt(0));
+        result.register(Object.class, String.class, String::valueOf);
+        // time
+        result.register(Date.class, Instant.class, Date::toInstant);
+        result.register(Instant.class, Date.class, Date::from);
+        result.register(Long.class, Instant.class, Instant::ofEpochMilli);
+        result.register(Long.class, Date.class, Date::new);
+        result.register(Instant.class, Long.class, Instant::toEpochMilli);
+        result.register(Date.class, Long.class, Date::getTime);
+        return result;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // REGISTRY METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * register converter. The previous converter of the same types is replaced
+     *
+     * @param sourceType      - type of source value. The converter is used also for subtypes of the type
+     * @param destinationType - type of converted value
+     * @param converter
+     * @return this instance
+     */
+    public <S, R> ConverterRegistry register(Class<S> sourceType, Class<R> destinationType, ConverterFunction<? super S, ? extends R> converter) {
+        if (frozen) {
+            throw new MapperException("The converter registry of frozen options can not be changed");
+        }
+        version++;
+        ConverterKey converterKey = new ConverterKey(ReflectionUtils.wrapPrimitiveType(sourceType), ReflectionUtils.wrapPrimitiveType(destinationType));
+        converters.put(converterKey, (ConverterFunction<Object, Object>) converter);
+        return this;
+    }
+
+    /**
+     * @return - frozen copy of this registry or this instance if it is already frozen
+     */
+    ConverterRegistry freeze() {
+        return frozen ? this : new ConverterRegistry(this);
+    }
+
+    int getVersion() {
+        return version;
+    }
+
+    /**
+     * find converter of values of {@code sourceType} into {@code destinationType}. The converter of the nearest
+     * superclass or interface of {@code sourceType} is used if there is no converter of exactly {@code sourceType}
+     *
+     * @param sourceType
+     * @param destinationType
+     * @return - converter or null if there is no such converter
+     */
+    public ConverterFunction<Object, Object> findConverter(Class<?> sourceType, Class<?> destinationType) {
+        Class<?> wrappedDestinationType = ReflectionUtils.wrapPrimitiveType(destinationType);
+        // breadth-first search of source type hierarchy - the nearest type wins
+        Deque<Class<?>> types = new ArrayDeque<>();
+        Set<Class<?>> visitedTypes = new HashSet<>();
+        types.add(ReflectionUtils.wrapPrimitiveType(sourceType));
+        while (!types.isEmpty()) {
+            Class<?> type = types.poll();
+            if (!visitedTypes.add(type)) {
+                continue;
+            }
+            ConverterFunction<Object, Object> result = converters.get(new ConverterKey(type, wrappedDestinationType));
+            if (result != null) {
+                return result;
+            }
+            if (type.getSuperclass() != null) {
+                types.add(type.getSuperclass());
+            }
+            types.addAll(Arrays.asList(type.getInterfaces()));
+            if (type.isInterface() && type.getInterfaces().length == 0) {
+                types.add(Object.class);
+            }
+        }
+        if (wrappedDestinationType.isEnum() && sourceType == String.class) {
+            Class<Enum> enumType = (Class<Enum>) wrappedDestinationType;
+            return value -> Enum.valueOf(enumType, ((String) value).trim());
+        }
+        return null;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CONVERSION METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private static Integer toInteger(Number value) {
+        long result = toLong(value);
+        if ((int) result != result) {
+            throw newLossyConversionException(value, Integer.class);
+        }
+        return (int) result;
+    }
+
+    private static Short toShort(Number value) {
+        long result = toLong(value);
+        if ((short) result != result) {
+            throw newLossyConversionException(value, Short.class);
+        }
+        return (short) result;
+    }
+
+    private static Byte toByte(Number value) {
+        long result = toLong(value);
+        if ((byte) result != result) {
+            throw newLossyConversionException(value, Byte.class);
+        }
+        return (byte) result;
+    }
+
+    /**
+     * @param value
+     * @return - value as long
+     * @throws MapperException - if the value is out of range of long or it has fraction
+     */
+    private static Long toLong(Number value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return value.longValue();
+        }
+        try {
+            if (value instanceof BigInteger) {
+                return ((BigInteger) value).longValueExact();
+            }
+            if (value instanceof BigDecimal) {
+                return ((BigDecimal) value).longValueExact();
+            }
+        } catch (ArithmeticException e) {
+            throw newLossyConversionException(value, Long.class);
+        }
+        double doubleValue = value.doubleValue();
+        // NaN and infinity are not equal to rint or out of range
+        if (doubleValue != Math.rint(doubleValue) || doubleValue < Long.MIN_VALUE || doubleValue >= 0x1p63) {
+            throw newLossyConversionException(value, Long.class);
+        }
+        return (long) doubleValue;
+    }
+
+    /**
+     * @param value
+     * @return - value as double. The precision of long value can be lost as by primitive widening
+     * @throws MapperException - if the finite value is out of range of double
+     */
+    private static Double toDouble(Number value) {
+        double result = value.doubleValue();
+        if (Double.isInfinite(result) && (value instanceof BigDecimal || value instanceof BigInteger)) {
+            throw newLossyConversionException(value, Double.class);
+        }
+        return result;
+    }
+
+    /**
+     * @param value
+     * @return - value as float. The precision of decimal value can be lost, but not its range
+     * @throws MapperException - if the finite value is out of range of float
+     */
+    private static Float toFloat(Number value) {
+        double doubleValue = toDouble(value);
+        float result = (float) doubleValue;
+        if (Float.isInfinite(result) && !Double.isInfinite(doubleValue)) {
+            throw newLossyConversionException(value, Float.class);
+        }
+        return result;
+    }
+
+    /**
+     * @param value
+     * @return - value as {@link BigInteger}
+     * @throws MapperException - if the value has fraction or it is not finite
+     */
+    private static BigInteger toBigInteger(Number value) {
+        if (value instanceof BigInteger) {
+            return (BigInteger) value;
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return BigInteger.valueOf(value.longValue());
+        }
+        try {
+            return new BigDecimal(value.toString()).toBigIntegerExact();
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw newLossyConversionException(value, BigInteger.class);
+        }
+    }
+
+    private static MapperException newLossyConversionException(Number value, Class<?> destinationType) {
+        return new MapperException(String.format("The value %s of type %s can not be converted into %s without loss",
+                value, value.getClass().getName(), destinationType.getName()));
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // INTERNAL CLASSES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Key of {@link ConverterRegistry#converters}
+     */
+    private static class ConverterKey {
+
+        private final Class<?> sourceType;
+        private final Class<?> destinationType;
+
+        ConverterKey(Class<?> sourceType, Class<?> destinationType) {
+            this.sourceType = sourceType;
+            this.destinationType = destinationType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ConverterKey)) {
+                return false;
+            }
+            ConverterKey that = (ConverterKey) o;
+            return sourceType == that.sourceType && destinationType == that.destinationType;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sourceType, destinationType);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.kubicaj.utilities.pojomapper.options;
+
+import java.lang.reflect.Field;
+
+/**
+ * Naming strategy of fluent accessors - the getter, setter and source field have the same name as destination
+ * field, e.g. firstName() and firstName(value)
+ */
+class FluentNamingStrategy implements NamingStrategy {
+
+    static final FluentNamingStrategy INSTANCE = new FluentNamingStrategy();
+
+    private FluentNamingStrategy() {
+    }
+
+    @Override
+    public String getGetterName(Field destinationField) {
+        return destinationField.getName();
+    }
+
+    @Override
+    public String getSetterName(Field destinationField) {
+        return destinationField.getName();
+    }
+
+    @Override
+    public String getSourceFieldName(Field destinationField) {
+        return destinationField.getName();
+    }
+
+    @Override
+    public String getOwnGetterName(Field field) {
+        return field.getName();
+    }
+}
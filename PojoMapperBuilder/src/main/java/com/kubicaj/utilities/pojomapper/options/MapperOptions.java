@@ -2,18 +2,35 @@ package com.kubicaj.utilities.pojomapper.options;
 
 import com.kubicaj.utilities.pojomapper.exception.MapperException;
 import com.kubicaj.utilities.pojomapper.function.ConditionFunction;
+import com.kubicaj.utilities.pojomapper.function.SourceConditionFunction;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
 
 /**
  * Class represented options for mapping object
  * <p>
  * It include options for behaving in case of error, reflection options,...
+ * <p>
+ * The options are mutable until {@link MapperOptions#freeze()} is called. The frozen options can not be changed,
+ * therefore {@link com.kubicaj.utilities.pojomapper.MappingPlan} resolves the excluding fields only once
+ * when it is created and it does not look up the options during mapping.
  */
 public class MapperOptions {
 
+    /**
+     * the condition of field which is excluded always
+     */
+    public static final ConditionFunction ALWAYS_EXCLUDING = () -> true;
+
+    /**
+     * the frozen default options. It is shared by all options which were not changed
+     */
+    private static final MapperOptions DEFAULT_FROZEN_OPTIONS = new MapperOptions().createFrozenCopy(ConverterRegistry.withDefaults().freeze());
+
     // -----------------------------------------------------------------------------------------------------------------
     // ATTRIBUTES
     // -----------------------------------------------------------------------------------------------------------------
@@ -24,6 +41,12 @@ public class MapperOptions {
      */
     private Class<? extends RuntimeException> nullErrorExceptionType = null;
 
+    /**
+     * cached constructor of {@link MapperOptions#nullErrorExceptionType} with message parameter. It is resolved
+     * when the first error is created and it is reset when the type of error is changed
+     */
+    private volatile Constructor<? extends RuntimeException> nullErrorConstructor = null;
+
     /**
      * The error message in case of NPE exception.
      * The default value is = NPE occur
@@ -94,9 +117,73 @@ public class MapperOptions {
     /**
      * The set of fields which are exclude from mapping
      * Key: the field name
-     * Value: condition of excluding. It can be set condition excluding of fields
+     * Value: condition of excluding. The field excluded always has condition {@link MapperOptions#ALWAYS_EXCLUDING}
+     */
+    private Map<String, ConditionFunction> excludingFields = new HashMap<>();
+
+    /**
+     * The set of fields which are exclude from mapping according condition of source object
+     * Key: the field name
+     * Value: condition of excluding evaluated on source object
+     */
+    private Map<String, SourceConditionFunction<Object>> sourceExcludingFields = new HashMap<>();
+
+    /**
+     * The strategy of translation of destination field into names of getter, setter and source field.
+     * <p>
+     * Default:
+     * null - {@link NamingStrategy#prefixSuffix(String, String, String, String)} with prefixes and suffixes
+     * of these options
+     */
+    private NamingStrategy namingStrategy = null;
+
+    /**
+     * The flag if the options can be changed. See {@link MapperOptions#freeze()}
+     */
+    private boolean frozen = false;
+
+    /**
+     * The flag if any option was changed. The options which were not changed are frozen into {@link MapperOptions#DEFAULT_FROZEN_OPTIONS}
+     */
+    private boolean changed = false;
+
+    /**
+     * the last frozen copy of these options. It is reset when the options are changed, therefore the repeated
+     * {@link MapperOptions#freeze()} returns the same instance and the mapping plan of this instance can be reused
+     */
+    private volatile MapperOptions frozenCopy = null;
+
+    /**
+     * the version of {@link MapperOptions#converterRegistry} when {@link MapperOptions#frozenCopy} was created
+     */
+    private int frozenConverterRegistryVersion = 0;
+
+    /**
+     * The engine which is used for copying of values in {@link com.kubicaj.utilities.pojomapper.MappingPlan} and
+     * therefore in {@link com.kubicaj.utilities.pojomapper.ReflectionMapperBuilder}
+     * <p>
+     * Default:
+     * {@link MappingEngine#REFLECTION}
      */
-    private Map<String, Optional<ConditionFunction>> excludingFields = new HashMap<>();
+    private MappingEngine mappingEngine = MappingEngine.REFLECTION;
+
+    /**
+     * The way how values are read from source object and written into destination object in
+     * {@link com.kubicaj.utilities.pojomapper.MappingPlan} and therefore in {@link com.kubicaj.utilities.pojomapper.ReflectionMapperBuilder}
+     * <p>
+     * Default:
+     * {@link AccessMode#METHODS}
+     */
+    private AccessMode accessMode = AccessMode.METHODS;
+
+    /**
+     * The converters of values of source property into type of destination property. The converter of each field
+     * is found only once when {@link com.kubicaj.utilities.pojomapper.MappingPlan} is created
+     * <p>
+     * Default:
+     * null - new registry {@link ConverterRegistry#withDefaults()} is created when it is used first time
+     */
+    private ConverterRegistry converterRegistry = null;
 
     // -----------------------------------------------------------------------------------------------------------------
     // GETTERS AND SETTERS
@@ -120,7 +207,9 @@ public class MapperOptions {
      * @return this instance
      */
     public MapperOptions setNullErrorExceptionType(Class<? extends RuntimeException> nullErrorExceptionType) {
+        prepareChange();
         this.nullErrorExceptionType = nullErrorExceptionType;
+        this.nullErrorConstructor = null;
         return this;
     }
 
@@ -135,6 +224,7 @@ public class MapperOptions {
      * @return this instance
      */
     public MapperOptions setErrorMessage(String errorMessage) {
+        prepareChange();
         this.errorMessage = errorMessage;
         return this;
     }
@@ -150,6 +240,7 @@ public class MapperOptions {
      * @return this instance
      */
     public MapperOptions setAutoThrowCustomErrorIfNull(boolean autoThrowCustomErrorIfNull) {
+        prepareChange();
         this.autoThrowCustomErrorIfNull = autoThrowCustomErrorIfNull;
         return this;
     }
@@ -165,6 +256,7 @@ public class MapperOptions {
      * @return this instance
      */
     public MapperOptions setSourceObjectFieldPrefix(String sourceObjectFieldPrefix) {
+        prepareChange();
         this.sourceObjectFieldPrefix = sourceObjectFieldPrefix;
         return this;
     }
@@ -180,6 +272,7 @@ public class MapperOptions {
      * @return this instance
      */
     public MapperOptions setSourceObjectFieldSuffix(String sourceObjectFieldSuffix) {
+        prepareChange();
         this.sourceObjectFieldSuffix = sourceObjectFieldSuffix;
         return this;
     }
@@ -195,6 +288,7 @@ public class MapperOptions {
      * @return this instance
      */
     public MapperOptions setDestinationObjectFieldPrefix(String destinationObjectFieldPrefix) {
+        prepareChange();
         this.destinationObjectFieldPrefix = destinationObjectFieldPrefix;
         return this;
     }
@@ -211,10 +305,85 @@ public class MapperOptions {
      * @return this instance
      */
     public MapperOptions setDestinationObjectFieldSuffixe(String destinationObjectFieldSuffixe) {
+        prepareChange();
         this.destinationObjectFieldSuffixe = destinationObjectFieldSuffixe;
         return this;
     }
 
+    public MappingEngine getMappingEngine() {
+        return mappingEngine;
+    }
+
+    /**
+     * set option {@link MapperOptions#mappingEngine}
+     *
+     * @param mappingEngine
+     * @return this instance
+     */
+    public MapperOptions setMappingEngine(MappingEngine mappingEngine) {
+        prepareChange();
+        this.mappingEngine = mappingEngine;
+        return this;
+    }
+
+    public AccessMode getAccessMode() {
+        return accessMode;
+    }
+
+    /**
+     * set option {@link MapperOptions#accessMode}
+     *
+     * @param accessMode
+     * @return this instance
+     */
+    public MapperOptions setAccessMode(AccessMode accessMode) {
+        prepareChange();
+        this.accessMode = accessMode;
+        return this;
+    }
+
+    public NamingStrategy getNamingStrategy() {
+        if (namingStrategy == null) {
+            return NamingStrategy.prefixSuffix(sourceObjectFieldPrefix, sourceObjectFieldSuffix,
+                    destinationObjectFieldPrefix, destinationObjectFieldSuffixe);
+        }
+        return namingStrategy;
+    }
+
+    /**
+     * set option {@link MapperOptions#namingStrategy}. If the strategy is set, then the prefixes and suffixes
+     * of these options are not used
+     *
+     * @param namingStrategy
+     * @return this instance
+     */
+    public MapperOptions setNamingStrategy(NamingStrategy namingStrategy) {
+        prepareChange();
+        this.namingStrategy = namingStrategy;
+        return this;
+    }
+
+    public ConverterRegistry getConverterRegistry() {
+        if (converterRegistry == null) {
+            converterRegistry = ConverterRegistry.withDefaults();
+            // the new registry can be changed by caller
+            frozenCopy = null;
+        }
+        return converterRegistry;
+    }
+
+    /**
+     * set option {@link MapperOptions#converterRegistry}
+     *
+     * @param converterRegistry
+     * @return this instance
+     */
+    public MapperOptions setConverterRegistry(ConverterRegistry converterRegistry) {
+        prepareChange();
+        this.converterRegistry = converterRegistry;
+        return this;
+    }
+
     /**
      * add field which will exclude from mapping. Be aware that the {@code fieldName} has to be full name of field
      * including prefix and suffix.
@@ -224,7 +393,9 @@ public class MapperOptions {
      * @return - this instance
      */
     public MapperOptions addExcludingField(String fieldName) {
-        excludingFields.put(fieldName, Optional.empty());
+        prepareChange();
+        sourceExcludingFields.remove(fieldName);
+        excludingFields.put(fieldName, ALWAYS_EXCLUDING);
         return this;
     }
 
@@ -238,7 +409,28 @@ public class MapperOptions {
      * @return - this instance
      */
     public MapperOptions addConditionalExcludingField(String fieldName, ConditionFunction conditionFunction) {
-        excludingFields.put(fieldName, Optional.of(conditionFunction));
+        prepareChange();
+        sourceExcludingFields.remove(fieldName);
+        excludingFields.put(fieldName, conditionFunction);
+        return this;
+    }
+
+    /**
+     * add field which will exclude from mapping when condition represented by {@link SourceConditionFunction} will be
+     * valid for the source object which is just mapped. Therefore the same options can be used for mapping of all
+     * source objects. Be aware that the {@code fieldName} has to be full name of field including prefix and suffix.
+     * The previous excluding rule of field is replaced
+     *
+     * @param fieldName         - name of excluding field name
+     * @param sourceObjectType  - type of source object
+     * @param conditionFunction - condition of excluding field
+     * @return - this instance
+     */
+    public <S> MapperOptions addConditionalExcludingField(String fieldName, Class<S> sourceObjectType, SourceConditionFunction<? super S> conditionFunction) {
+        prepareChange();
+        excludingFields.remove(fieldName);
+        sourceExcludingFields.put(fieldName, sourceObject -> sourceObjectType.isInstance(sourceObject)
+                && ((SourceConditionFunction<Object>) conditionFunction).test(sourceObject));
         return this;
     }
 
@@ -249,17 +441,141 @@ public class MapperOptions {
      * @return - true = field is exclude, false = the field will process in mapping
      */
     public boolean isFieldExcluding(String fieldName) {
-        Optional<ConditionFunction> conditionFunction = excludingFields.get(fieldName);
-        if (conditionFunction == null) {
-            // if there is no value in map then the field is include in mapping
-            return false;
+        ConditionFunction conditionFunction = excludingFields.get(fieldName);
+        // if there is no value in map then the field is include in mapping, else evaluate the condition
+        return conditionFunction != null && conditionFunction.test();
+    }
+
+    /**
+     * check if field is exclude from mapping of {@code sourceObject}
+     *
+     * @param fieldName    - field name
+     * @param sourceObject - object which is just mapped
+     * @return - true = field is exclude, false = the field will process in mapping
+     */
+    public boolean isFieldExcluding(String fieldName, Object sourceObject) {
+        if (isFieldExcluding(fieldName)) {
+            return true;
+        }
+        SourceConditionFunction<Object> conditionFunction = sourceExcludingFields.get(fieldName);
+        return conditionFunction != null && conditionFunction.test(sourceObject);
+    }
+
+    /**
+     * get condition of excluding of field
+     *
+     * @param fieldName - field name
+     * @return - condition of excluding, {@link MapperOptions#ALWAYS_EXCLUDING} if the field is excluded always
+     * or null if the field is not excluded
+     */
+    public ConditionFunction getExcludingCondition(String fieldName) {
+        return excludingFields.get(fieldName);
+    }
+
+    /**
+     * get condition of excluding of field evaluated on source object
+     *
+     * @param fieldName - field name
+     * @return - condition of excluding or null if the field is not excluded according source object
+     */
+    public SourceConditionFunction<Object> getSourceExcludingCondition(String fieldName) {
+        return sourceExcludingFields.get(fieldName);
+    }
+
+    /**
+     * check if there is any excluding rule (with or without condition) for field
+     *
+     * @param fieldName - field name
+     * @return - true = the field is excluding always or under some condition
+     */
+    public boolean hasExcludingRule(String fieldName) {
+        return excludingFields.containsKey(fieldName) || sourceExcludingFields.containsKey(fieldName);
+    }
+
+    /**
+     * create immutable copy of these options. All options are resolved (e.g. naming strategy) and every attempt
+     * to change the frozen options or their converter registry throws {@link MapperException}. The frozen options
+     * can be shared by any number of mappers and threads.
+     * <p>
+     * The frozen copy is reused until these options or their converter registry are changed. The options which
+     * were not changed are frozen into one shared instance.
+     *
+     * @return - frozen copy of these options or this instance if it is already frozen
+     */
+    public MapperOptions freeze() {
+        if (frozen) {
+            return this;
+        }
+        MapperOptions result = frozenCopy;
+        if (result != null && (converterRegistry == null || converterRegistry.getVersion() == frozenConverterRegistryVersion)) {
+            return result;
         }
-        if (conditionFunction.isPresent()) {
-            // if there is predicate then evaluate it. If result is true then we exclude field else not
-            return conditionFunction.get().test();
+        if (!changed && converterRegistry == null) {
+            result = DEFAULT_FROZEN_OPTIONS;
         } else {
-            // if there is field in map but the predicate is not present then we know that field is exclude from mapping
-            return true;
+            ConverterRegistry registry = getConverterRegistry();
+            frozenConverterRegistryVersion = registry.getVersion();
+            result = createFrozenCopy(registry.freeze());
+        }
+        frozenCopy = result;
+        return result;
+    }
+
+    private MapperOptions createFrozenCopy(ConverterRegistry frozenConverterRegistry) {
+        MapperOptions result = new MapperOptions();
+        result.nullErrorExceptionType = getNullErrorExceptionType();
+        result.nullErrorConstructor = nullErrorConstructor;
+        result.errorMessage = errorMessage;
+        result.autoThrowCustomErrorIfNull = autoThrowCustomErrorIfNull;
+        result.sourceObjectFieldPrefix = sourceObjectFieldPrefix;
+        result.sourceObjectFieldSuffix = sourceObjectFieldSuffix;
+        result.destinationObjectFieldPrefix = destinationObjectFieldPrefix;
+        result.destinationObjectFieldSuffixe = destinationObjectFieldSuffixe;
+        result.excludingFields = Collections.unmodifiableMap(new HashMap<>(excludingFields));
+        result.sourceExcludingFields = Collections.unmodifiableMap(new HashMap<>(sourceExcludingFields));
+        result.mappingEngine = mappingEngine;
+        result.accessMode = accessMode;
+        result.namingStrategy = getNamingStrategy();
+        result.converterRegistry = frozenConverterRegistry;
+        result.frozen = true;
+        return result;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * check that the options can be changed and forget the last frozen copy
+     */
+    private void prepareChange() {
+        if (frozen) {
+            throw new MapperException("The options are frozen and they can not be changed");
+        }
+        changed = true;
+        frozenCopy = null;
+    }
+
+    /**
+     * Create error according options {@link MapperOptions#nullErrorExceptionType} and {@link MapperOptions#errorMessage}
+     *
+     * @param errorMessage - text for error message. If it is empty then {@link MapperOptions#errorMessage} is used
+     * @return {@link RuntimeException} error instance
+     */
+    public RuntimeException createNullError(String errorMessage) {
+        if (errorMessage == null || errorMessage.isEmpty()) {
+            errorMessage = getErrorMessage();
+        }
+        try {
+            Constructor<? extends RuntimeException> constructor = nullErrorConstructor;
+            if (constructor == null) {
+                constructor = getNullErrorExceptionType().getConstructor(String.class);
+                nullErrorConstructor = constructor;
+            }
+            return constructor.newInstance(errorMessage);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+            e.printStackTrace();
         }
+        return null;
     }
 }
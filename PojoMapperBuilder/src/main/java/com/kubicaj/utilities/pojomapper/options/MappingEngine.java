@@ -0,0 +1,19 @@
+package com.kubicaj.utilities.pojomapper.options;
+
+/**
+ * Engine which is used by {@link com.kubicaj.utilities.pojomapper.MappingPlan} for copying of values
+ */
+public enum MappingEngine {
+
+    /**
+     * the values are copied through accessors created from reflection
+     */
+    REFLECTION,
+
+    /**
+     * dedicated mapper class is generated in runtime for each pair of types. The fields which can not be handled by
+     * generated class (internal mappers, excluding fields, different types of getter and setter, non-public types)
+     * are copied by {@link MappingEngine#REFLECTION} engine
+     */
+    GENERATED
+}
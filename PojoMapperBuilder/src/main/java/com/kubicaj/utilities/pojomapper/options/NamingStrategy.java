@@ -0,0 +1,84 @@
+package com.kubicaj.utilities.pojomapper.options;
+
+import java.lang.reflect.Field;
+
+/**
+ * Strategy of translation of destination field into names of getter, setter and source field.
+ * <p>
+ * The names are translated only once when the fields of destination type are resolved and the result is cached
+ * per types and strategy, therefore the implementation has to implement {@link Object#equals(Object)} and
+ * {@link Object#hashCode()} - two strategies are equal if they translate all names in the same way.
+ * <p>
+ * Available strategies:
+ * <ul>
+ * <li>{@link NamingStrategy#prefixSuffix(String, String, String, String)} - java beans with prefixes and suffixes
+ * from {@link MapperOptions}. It is the default strategy</li>
+ * <li>{@link NamingStrategy#snakeCase()} - snake_case fields with java beans accessors</li>
+ * <li>{@link NamingStrategy#fluent()} - fluent accessors with the same name as field</li>
+ * </ul>
+ */
+public interface NamingStrategy {
+
+    /**
+     * @param destinationField - field of destination object
+     * @return - name of method of source object which returns value of {@code destinationField}
+     */
+    String getGetterName(Field destinationField);
+
+    /**
+     * @param destinationField - field of destination object
+     * @return - name of method of destination object which sets value of {@code destinationField}
+     */
+    String getSetterName(Field destinationField);
+
+    /**
+     * @param destinationField - field of destination object
+     * @return - name of field of source object which is read in {@link AccessMode#FIELDS}
+     */
+    String getSourceFieldName(Field destinationField);
+
+    /**
+     * name of getter of the field in its own object. It is used when the object is mapped into {@link java.util.Map}
+     * (see {@link com.kubicaj.utilities.pojomapper.MapMappingPlan}). Default is the setter name with get
+     * (is for primitive boolean) instead of set
+     *
+     * @param field - field of object
+     * @return - name of method of the same object which returns value of {@code field}
+     */
+    default String getOwnGetterName(Field field) {
+        String setterName = getSetterName(field);
+        String prefix = field.getType() == boolean.class ? "is" : "get";
+        return setterName.startsWith("set") ? prefix + setterName.substring(3) : setterName;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // INSTANCES CREATION METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * @param sourceObjectFieldPrefix      - see {@link MapperOptions#setSourceObjectFieldPrefix(String)}
+     * @param sourceObjectFieldSuffix      - see {@link MapperOptions#setSourceObjectFieldSuffix(String)}
+     * @param destinationObjectFieldPrefix - see {@link MapperOptions#setDestinationObjectFieldPrefix(String)}
+     * @param destinationObjectFieldSuffix - see {@link MapperOptions#setDestinationObjectFieldSuffixe(String)}
+     * @return - strategy of java beans with prefixes and suffixes
+     */
+    static NamingStrategy prefixSuffix(String sourceObjectFieldPrefix, String sourceObjectFieldSuffix,
+                                       String destinationObjectFieldPrefix, String destinationObjectFieldSuffix) {
+        return new PrefixSuffixNamingStrategy(sourceObjectFieldPrefix, sourceObjectFieldSuffix,
+                destinationObjectFieldPrefix, destinationObjectFieldSuffix);
+    }
+
+    /**
+     * @return - strategy of snake_case fields (e.g. first_name) with java beans accessors (getFirstName, setFirstName)
+     */
+    static NamingStrategy snakeCase() {
+        return SnakeCaseNamingStrategy.INSTANCE;
+    }
+
+    /**
+     * @return - strategy of fluent accessors with the same name as field (e.g. firstName() and firstName(value))
+     */
+    static NamingStrategy fluent() {
+        return FluentNamingStrategy.INSTANCE;
+    }
+}
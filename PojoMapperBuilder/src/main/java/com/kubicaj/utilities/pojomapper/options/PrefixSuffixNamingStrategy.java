@@ -0,0 +1,109 @@
+package com.kubicaj.utilities.pojomapper.options;
+
+import org.apache.commons.lang.WordUtils;
+
+import java.lang.reflect.Field;
+import java.util.Objects;
+
+/**
+ * Naming strategy of java beans with prefixes and suffixes:
+ * <ul>
+ * <li>base field name = destination field name without destination prefix and suffix</li>
+ * <li>getter = get (is for primitive boolean) + source prefix + base field name + source suffix</li>
+ * <li>setter = set + destination field name</li>
+ * <li>source field = source prefix + base field name + source suffix</li>
+ * </ul>
+ */
+class PrefixSuffixNamingStrategy implements NamingStrategy {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // ATTRIBUTES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private final String sourceObjectFieldPrefix;
+    private final String sourceObjectFieldSuffix;
+    private final String destinationObjectFieldPrefix;
+    private final String destinationObjectFieldSuffix;
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CONSTRUCTORS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    PrefixSuffixNamingStrategy(String sourceObjectFieldPrefix, String sourceObjectFieldSuffix,
+                               String destinationObjectFieldPrefix, String destinationObjectFieldSuffix) {
+        this.sourceObjectFieldPrefix = sourceObjectFieldPrefix;
+        this.sourceObjectFieldSuffix = sourceObjectFieldSuffix;
+        this.destinationObjectFieldPrefix = destinationObjectFieldPrefix;
+        this.destinationObjectFieldSuffix = destinationObjectFieldSuffix;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // NAMING METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    @Override
+    public String getGetterName(Field destinationField) {
+        String prefix = destinationField.getType() == boolean.class ? "is" : "get";
+        return prefix + getSourceName(destinationField);
+    }
+
+    @Override
+    public String getSetterName(Field destinationField) {
+        return "set" + WordUtils.capitalize(destinationField.getName());
+    }
+
+    @Override
+    public String getSourceFieldName(Field destinationField) {
+        return WordUtils.uncapitalize(getSourceName(destinationField));
+    }
+
+    /**
+     * @param destinationField
+     * @return - capitalized source prefix + base field name + source suffix
+     */
+    private String getSourceName(Field destinationField) {
+        return WordUtils.capitalize(sourceObjectFieldPrefix) +
+                WordUtils.capitalize(getDestinationBaseFieldName(destinationField.getName())) +
+                WordUtils.capitalize(sourceObjectFieldSuffix);
+    }
+
+    /**
+     * find field name which is reduce by destination prefix and suffix
+     *
+     * @param fieldName
+     * @return - base name of field
+     */
+    private String getDestinationBaseFieldName(String fieldName) {
+        String baseFieldName = fieldName;
+        if (!destinationObjectFieldPrefix.isEmpty() && baseFieldName.startsWith(destinationObjectFieldPrefix)) {
+            baseFieldName = baseFieldName.substring(destinationObjectFieldPrefix.length());
+        }
+        if (!destinationObjectFieldSuffix.isEmpty()) {
+            int suffixIndex = baseFieldName.lastIndexOf(destinationObjectFieldSuffix);
+            if (suffixIndex > -1) {
+                baseFieldName = baseFieldName.substring(0, suffixIndex);
+            }
+        }
+        return WordUtils.uncapitalize(baseFieldName);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PrefixSuffixNamingStrategy)) {
+            return false;
+        }
+        PrefixSuffixNamingStrategy that = (PrefixSuffixNamingStrategy) o;
+        return sourceObjectFieldPrefix.equals(that.sourceObjectFieldPrefix) &&
+                sourceObjectFieldSuffix.equals(that.sourceObjectFieldSuffix) &&
+                destinationObjectFieldPrefix.equals(that.destinationObjectFieldPrefix) &&
+                destinationObjectFieldSuffix.equals(that.destinationObjectFieldSuffix);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sourceObjectFieldPrefix, sourceObjectFieldSuffix, destinationObjectFieldPrefix, destinationObjectFieldSuffix);
+    }
+}
@@ -0,0 +1,49 @@
+package com.kubicaj.utilities.pojomapper.options;
+
+import org.apache.commons.lang.WordUtils;
+
+import java.lang.reflect.Field;
+
+/**
+ * Naming strategy of snake_case fields with java beans accessors:
+ * <ul>
+ * <li>getter = get (is for primitive boolean) + camel case of field name, e.g. getFirstName for first_name</li>
+ * <li>setter = set + camel case of field name, e.g. setFirstName for first_name</li>
+ * <li>source field = the same name as destination field</li>
+ * </ul>
+ */
+class SnakeCaseNamingStrategy implements NamingStrategy {
+
+    static final SnakeCaseNamingStrategy INSTANCE = new SnakeCaseNamingStrategy();
+
+    private SnakeCaseNamingStrategy() {
+    }
+
+    @Override
+    public String getGetterName(Field destinationField) {
+        String prefix = destinationField.getType() == boolean.class ? "is" : "get";
+        return prefix + toCapitalizedCamelCase(destinationField.getName());
+    }
+
+    @Override
+    public String getSetterName(Field destinationField) {
+        return "set" + toCapitalizedCamelCase(destinationField.getName());
+    }
+
+    @Override
+    public String getSourceFieldName(Field destinationField) {
+        return destinationField.getName();
+    }
+
+    /**
+     * @param snakeCaseName - e.g. first_name
+     * @return - e.g. FirstName
+     */
+    private static String toCapitalizedCamelCase(String snakeCaseName) {
+        StringBuilder result = new StringBuilder(snakeCaseName.length());
+        for (String part : snakeCaseName.split("_")) {
+            result.append(WordUtils.capitalize(part));
+        }
+        return result.toString();
+    }
+}
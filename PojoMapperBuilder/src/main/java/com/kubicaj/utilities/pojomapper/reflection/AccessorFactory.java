@@ -0,0 +1,406 @@
+package com.kubicaj.utilities.pojomapper.reflection;
+
+import com.kubicaj.utilities.pojomapper.exception.MapperException;
+import com.kubicaj.utilities.pojomapper.function.CopyFunction;
+import com.kubicaj.utilities.pojomapper.function.GetterFunction;
+import com.kubicaj.utilities.pojomapper.function.SetterFunction;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Factory of fast accessors of getter and setter methods.
+ * <p>
+ * The accessor is created in this order:
+ * <ol>
+ * <li>{@link LambdaMetafactory} - the method is called directly, the same way as method reference in source code.
+ * It is used for public methods of public classes which are visible from class loader of this library</li>
+ * <li>{@link MethodHandle} - it is used if the lambda can not be created</li>
+ * <li>{@link Method#invoke(Object, Object...)} - fallback for members which are not accessible for method handles</li>
+ * </ol>
+ * The accessors of fields are always created as {@link MethodHandle} of the field. The constructors are created
+ * the same way as methods.
+ * <p>
+ * The creating of accessor is expensive, therefore the accessors have to be created once and cached.
+ */
+public class AccessorFactory {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType GETTER_FUNCTION_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_FUNCTION_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType SUPPLIER_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType COPY_FUNCTION_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * create accessor of getter method
+     *
+     * @param method - getter method without parameters
+     * @return - {@link GetterFunction} which invoke {@code method} on its argument
+     */
+    public static GetterFunction<Object, Object> createGetter(Method method) {
+        if (isLambdaCapable(method)) {
+            try {
+                MethodHandle methodHandle = LOOKUP.unreflect(method);
+                CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "apply",
+                        MethodType.methodType(GetterFunction.class), GETTER_FUNCTION_TYPE,
+                        methodHandle, methodHandle.type().wrap());
+                return (GetterFunction<Object, Object>) callSite.getTarget().invoke();
+            } catch (Throwable e) {
+                // continue with method handle
+            }
+        }
+        MethodHandle methodHandle = unreflect(method);
+        if (methodHandle != null) {
+            final MethodHandle getterHandle = methodHandle.asType(GETTER_FUNCTION_TYPE);
+            return object -> {
+                try {
+                    return getterHandle.invokeExact(object);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new MapperException(String.format("The error occur when invoke method with name %s", method.getName()), e);
+                }
+            };
+        }
+        return object -> ReflectionUtils.invokeMethod(method, object);
+    }
+
+    /**
+     * create accessor of setter method. The null value set by setter with primitive parameter throws
+     * {@link MapperException} in the same way as other errors of setter
+     *
+     * @param method - setter method with one parameter
+     * @return - {@link SetterFunction} which invoke {@code method} on its first argument with the second argument
+     */
+    public static SetterFunction<Object, Object> createSetter(Method method) {
+        SetterFunction<Object, Object> setter = createSetterFunction(method);
+        Class<?> parameterType = method.getParameterTypes()[0];
+        if (!parameterType.isPrimitive()) {
+            return setter;
+        }
+        return (object, value) -> {
+            if (value == null) {
+                throw newNullPrimitiveException(method.getName(), parameterType);
+            }
+            setter.accept(object, value);
+        };
+    }
+
+    private static SetterFunction<Object, Object> createSetterFunction(Method method) {
+        if (isLambdaCapable(method)) {
+            try {
+                MethodHandle methodHandle = LOOKUP.unreflect(method);
+                CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "accept",
+                        MethodType.methodType(SetterFunction.class), SETTER_FUNCTION_TYPE,
+                        methodHandle, methodHandle.type().wrap().changeReturnType(void.class));
+                return (SetterFunction<Object, Object>) callSite.getTarget().invoke();
+            } catch (Throwable e) {
+                // continue with method handle
+            }
+        }
+        MethodHandle methodHandle = unreflect(method);
+        if (methodHandle != null) {
+            final MethodHandle setterHandle = methodHandle.asType(SETTER_FUNCTION_TYPE);
+            return (object, value) -> {
+                try {
+                    setterHandle.invokeExact(object, value);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new MapperException(String.format("The error occur when invoke method with name %s", method.getName()), e);
+                }
+            };
+        }
+        return (object, value) -> ReflectionUtils.invokeMethod(method, object, value);
+    }
+
+    /**
+     * create accessor which reads value of field directly
+     *
+     * @param field - instance field (it can be private)
+     * @return - {@link GetterFunction} which returns value of {@code field} of its argument
+     */
+    public static GetterFunction<Object, Object> createFieldGetter(Field field) {
+        try {
+            field.setAccessible(true);
+            final MethodHandle getterHandle = LOOKUP.unreflectGetter(field).asType(GETTER_FUNCTION_TYPE);
+            return object -> {
+                try {
+                    return getterHandle.invokeExact(object);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new MapperException(String.format("The error occur when read field with name %s", field.getName()), e);
+                }
+            };
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new MapperException(String.format("The field with name %s is not accessible", field.getName()), e);
+        }
+    }
+
+    /**
+     * create accessor which writes value into field directly
+     *
+     * @param field - instance field (it can be private or final)
+     * @return - {@link SetterFunction} which sets the second argument into {@code field} of the first argument
+     */
+    public static SetterFunction<Object, Object> createFieldSetter(Field field) {
+        try {
+            field.setAccessible(true);
+            final MethodHandle setterHandle = LOOKUP.unreflectSetter(field).asType(SETTER_FUNCTION_TYPE);
+            final boolean primitive = field.getType().isPrimitive();
+            return (object, value) -> {
+                if (primitive && value == null) {
+                    throw newNullPrimitiveException(field.getName(), field.getType());
+                }
+                try {
+                    setterHandle.invokeExact(object, value);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new MapperException(String.format("The error occur when write field with name %s", field.getName()), e);
+                }
+            };
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new MapperException(String.format("The field with name %s is not accessible", field.getName()), e);
+        }
+    }
+
+    /**
+     * create function which copies value of getter into setter with primitive widening conversion
+     * (e.g. {@code int} into {@code long}). The value is not boxed
+     *
+     * @param getterMethod - getter method with primitive return type
+     * @param setterMethod - setter method with one primitive parameter
+     * @return - {@link CopyFunction} or null if the methods are not accessible or the return type can not be widened
+     * into type of parameter
+     */
+    public static CopyFunction<Object, Object> createPrimitiveCopier(Method getterMethod, Method setterMethod) {
+        MethodHandle getterHandle = unreflect(getterMethod);
+        MethodHandle setterHandle = unreflect(setterMethod);
+        if (getterHandle == null || setterHandle == null) {
+            return null;
+        }
+        return createPrimitiveCopier(getterHandle, setterHandle, getterMethod.getName() + " -> " + setterMethod.getName());
+    }
+
+    /**
+     * create function which copies value of source field into destination field with primitive widening conversion
+     *
+     * @param sourceField      - instance field of primitive type
+     * @param destinationField - instance field of primitive type
+     * @return - {@link CopyFunction} or null if the fields are not accessible or the source type can not be widened
+     * into destination type
+     */
+    public static CopyFunction<Object, Object> createPrimitiveCopier(Field sourceField, Field destinationField) {
+        try {
+            sourceField.setAccessible(true);
+            destinationField.setAccessible(true);
+            return createPrimitiveCopier(LOOKUP.unreflectGetter(sourceField), LOOKUP.unreflectSetter(destinationField),
+                    sourceField.getName() + " -> " + destinationField.getName());
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param getterHandle - (source)primitive
+     * @param setterHandle - (destination, primitive)void
+     * @param name         - name of copied property for error message
+     * @return - {@link CopyFunction} or null if the types are not primitive or the widening is not possible
+     */
+    private static CopyFunction<Object, Object> createPrimitiveCopier(MethodHandle getterHandle, MethodHandle setterHandle, String name) {
+        Class<?> sourceValueType = getterHandle.type().returnType();
+        Class<?> destinationValueType = setterHandle.type().parameterType(1);
+        if (!sourceValueType.isPrimitive() || !destinationValueType.isPrimitive() || sourceValueType == boolean.class) {
+            return null;
+        }
+        final MethodHandle copyHandle;
+        try {
+            // (destination, source)void - the getter result is widened by asType
+            MethodHandle widenedGetter = getterHandle.asType(getterHandle.type().changeReturnType(destinationValueType));
+            copyHandle = MethodHandles.filterArguments(setterHandle, 1, widenedGetter)
+                    .asType(COPY_FUNCTION_TYPE);
+        } catch (WrongMethodTypeException | IllegalArgumentException e) {
+            return null;
+        }
+        return (sourceObject, destinationObject) -> {
+            try {
+                copyHandle.invokeExact(destinationObject, sourceObject);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new MapperException(String.format("The error occur when copy property %s", name), e);
+            }
+        };
+    }
+
+    /**
+     * create factory of new instances
+     *
+     * @param constructor - constructor without parameters
+     * @return - {@link Supplier} which creates new instance by {@code constructor}
+     */
+    public static <T> Supplier<T> createInstanceSupplier(Constructor<T> constructor) {
+        Class<T> classType = constructor.getDeclaringClass();
+        if (Modifier.isPublic(constructor.getModifiers()) && Modifier.isPublic(classType.getModifiers()) && isVisible(classType)) {
+            try {
+                MethodHandle methodHandle = LOOKUP.unreflectConstructor(constructor);
+                CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "get",
+                        MethodType.methodType(Supplier.class), SUPPLIER_TYPE,
+                        methodHandle, methodHandle.type());
+                return (Supplier<T>) callSite.getTarget().invoke();
+            } catch (Throwable e) {
+                // continue with method handle
+            }
+        }
+        try {
+            constructor.setAccessible(true);
+            final MethodHandle constructorHandle = LOOKUP.unreflectConstructor(constructor).asType(SUPPLIER_TYPE);
+            return () -> {
+                try {
+                    return (T) constructorHandle.invokeExact();
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new MapperException(String.format("Not able to create instance of %s", classType.getName()), e);
+                }
+            };
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new MapperException(String.format("The constructor of %s is not accessible", classType.getName()), e);
+        }
+    }
+
+    /**
+     * create function which invokes constructor with arguments in array. The arguments are converted into types of
+     * parameters (unboxing and primitive widening)
+     *
+     * @param constructor - constructor with any number of parameters
+     * @return - {@link Function} which creates new instance by {@code constructor} with arguments of its array
+     */
+    public static Function<Object[], Object> createConstructorInvoker(Constructor<?> constructor) {
+        try {
+            constructor.setAccessible(true);
+            int parameterCount = constructor.getParameterCount();
+            final MethodHandle constructorHandle = LOOKUP.unreflectConstructor(constructor)
+                    .asType(MethodType.genericMethodType(parameterCount))
+                    .asSpreader(Object[].class, parameterCount);
+            return arguments -> {
+                try {
+                    return constructorHandle.invokeExact(arguments);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new MapperException(String.format("Not able to create instance of %s", constructor.getDeclaringClass().getName()), e);
+                }
+            };
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new MapperException(String.format("The constructor of %s is not accessible", constructor.getDeclaringClass().getName()), e);
+        }
+    }
+
+    /**
+     * create factory which invokes static method without parameters (e.g. {@code builder()})
+     *
+     * @param method - static method without parameters
+     * @return - {@link Supplier} which returns result of {@code method}
+     */
+    public static Supplier<Object> createStaticFactory(Method method) {
+        MethodHandle methodHandle = unreflect(method);
+        if (methodHandle == null) {
+            throw new MapperException(String.format("The method with name %s is not accessible", method.getName()));
+        }
+        final MethodHandle factoryHandle = methodHandle.asType(SUPPLIER_TYPE);
+        return () -> {
+            try {
+                return factoryHandle.invokeExact();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new MapperException(String.format("The error occur when invoke method with name %s", method.getName()), e);
+            }
+        };
+    }
+
+    /**
+     * @param name          - name of method or field
+     * @param primitiveType - type of parameter or field
+     * @return - error of null value which can not be set as primitive value
+     */
+    private static MapperException newNullPrimitiveException(String name, Class<?> primitiveType) {
+        return new MapperException(String.format("The null value can not be set into %s of primitive type %s", name, primitiveType.getName()));
+    }
+
+    /**
+     * check if the lambda can be created for method. The method, its class and all its types have to be public
+     * and visible from class loader of this library, because the lambda class is defined there
+     *
+     * @param method
+     * @return
+     */
+    private static boolean isLambdaCapable(Method method) {
+        if (Modifier.isStatic(method.getModifiers()) || !Modifier.isPublic(method.getModifiers())
+                || !Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+            return false;
+        }
+        if (!isVisible(method.getDeclaringClass()) || !isVisible(method.getReturnType())) {
+            return false;
+        }
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            if (!isVisible(parameterType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * check if type is visible from class loader of this library
+     *
+     * @param classType
+     * @return
+     */
+    private static boolean isVisible(Class<?> classType) {
+        while (classType.isArray()) {
+            classType = classType.getComponentType();
+        }
+        if (classType.isPrimitive()) {
+            return true;
+        }
+        try {
+            return Class.forName(classType.getName(), false, AccessorFactory.class.getClassLoader()) == classType;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * create method handle of method
+     *
+     * @param method
+     * @return - method handle or null if the method is not accessible
+     */
+    private static MethodHandle unreflect(Method method) {
+        try {
+            return LOOKUP.unreflect(method);
+        } catch (IllegalAccessException e) {
+            try {
+                method.setAccessible(true);
+                return LOOKUP.unreflect(method);
+            } catch (IllegalAccessException | RuntimeException ex) {
+                return null;
+            }
+        }
+    }
+}
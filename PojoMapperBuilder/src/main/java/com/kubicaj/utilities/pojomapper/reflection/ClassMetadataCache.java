@@ -0,0 +1,147 @@
+package com.kubicaj.utilities.pojomapper.reflection;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Function;
+
+/**
+ * Cache of metadata of classes (e.g. fields or methods) based on {@link ClassValue}.
+ * <p>
+ * The key of cache is identity of class, therefore two classes with the same name loaded by different class loaders
+ * have different values. The value is stored in the class itself and it is released together with the class.
+ * The value does not prevent unloading of class and its class loader only if it does not refer to classes of child
+ * class loaders - the value which refers to other class has to be cached by {@link ClassPairMetadataCache}.
+ * <p>
+ * The cache can be bounded by {@link ClassMetadataCache#setMaximumSize(int)}. If there are more values than
+ * maximum size, then the oldest computed value is evicted (FIFO). The values can be removed explicitly by
+ * {@link ClassMetadataCache#invalidate(Class)} and {@link ClassMetadataCache#clear()}.
+ * <p>
+ * The reading of cached value is lock-free. Only computing of new value in bounded cache is synchronized.
+ *
+ * @param <V> - type of cached value
+ */
+public class ClassMetadataCache<V> {
+
+    /**
+     * maximum size of unbounded cache
+     */
+    public static final int UNBOUNDED = 0;
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // ATTRIBUTES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private final Function<Class<?>, V> valueFactory;
+
+    /**
+     * the values of cache. The whole instance is replaced by {@link ClassMetadataCache#clear()}
+     */
+    private volatile ClassValue<V> classValues;
+
+    private volatile int maximumSize = UNBOUNDED;
+
+    /**
+     * classes in order of computing of its values. It is used only for bounded cache
+     */
+    private final Deque<WeakReference<Class<?>>> insertionOrder = new ArrayDeque<>();
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CONSTRUCTORS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * new instance of {@link ClassMetadataCache}
+     *
+     * @param valueFactory - function which computes value of class if the value is not in cache
+     */
+    public ClassMetadataCache(Function<Class<?>, V> valueFactory) {
+        this.valueFactory = valueFactory;
+        this.classValues = newClassValues();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CACHE METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * get value of class. If the value is not in cache then it is computed and stored
+     *
+     * @param classType
+     * @return - cached value
+     */
+    public V get(Class<?> classType) {
+        return classValues.get(classType);
+    }
+
+    /**
+     * remove value of class from cache. The value will be computed again on the next call of
+     * {@link ClassMetadataCache#get(Class)}
+     *
+     * @param classType
+     */
+    public void invalidate(Class<?> classType) {
+        classValues.remove(classType);
+    }
+
+    /**
+     * remove all values from cache
+     */
+    public void clear() {
+        synchronized (insertionOrder) {
+            classValues = newClassValues();
+            insertionOrder.clear();
+        }
+    }
+
+    /**
+     * set maximum number of cached values
+     *
+     * @param maximumSize - maximum number of values or {@link ClassMetadataCache#UNBOUNDED}
+     */
+    public void setMaximumSize(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("The maximum size can not be negative");
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    private ClassValue<V> newClassValues() {
+        return new ClassValue<V>() {
+            @Override
+            protected V computeValue(Class<?> type) {
+                V value = valueFactory.apply(type);
+                if (maximumSize != UNBOUNDED) {
+                    registerValue(this, type);
+                }
+                return value;
+            }
+        };
+    }
+
+    /**
+     * register new value of bounded cache and evict the oldest values if there are more values than maximum size
+     *
+     * @param owner - instance of {@link ClassValue} which computed the value
+     * @param type
+     */
+    private void registerValue(ClassValue<V> owner, Class<?> type) {
+        synchronized (insertionOrder) {
+            if (owner != classValues) {
+                // the cache was cleared during computing of value
+                return;
+            }
+            insertionOrder.addLast(new WeakReference<>(type));
+            while (insertionOrder.size() > maximumSize) {
+                Class<?> evictedType = insertionOrder.pollFirst().get();
+                if (evictedType != null && evictedType != type) {
+                    owner.remove(evictedType);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.kubicaj.utilities.pojomapper.reflection;
+
+/**
+ * Cache of metadata of pairs of classes (e.g. resolved mapping of source type into destination type) based on two
+ * levels of {@link ClassMetadataCache}.
+ * <p>
+ * The value of pair usually refers to both classes. The value stored in class of parent class loader would hold
+ * the class of child class loader and its class loader could not be unloaded. Therefore the value is always stored
+ * in the class of child class loader and the class of parent class loader is the key of outer level. If the class
+ * loaders of classes are not parent and child (e.g. they are siblings), then the value is stored in the second class.
+ * <p>
+ * The instance is created by {@link ReflectionUtils#createPairMetadataCache(java.util.function.BiFunction)}, therefore
+ * it is bounded and cleared together with other static caches.
+ *
+ * @param <V> - type of cached value
+ */
+public class ClassPairMetadataCache<V> {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // ATTRIBUTES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * values stored in the second class
+     * key = first class
+     * value = cache of values by second class
+     */
+    private final ClassMetadataCache<ClassMetadataCache<V>> valuesByFirstType;
+
+    /**
+     * values stored in the first class - it is used only if the first class is loaded by child class loader of
+     * class loader of the second class
+     * key = second class
+     * value = cache of values by first class
+     */
+    private final ClassMetadataCache<ClassMetadataCache<V>> valuesBySecondType;
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CONSTRUCTORS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    ClassPairMetadataCache(ClassMetadataCache<ClassMetadataCache<V>> valuesByFirstType,
+                           ClassMetadataCache<ClassMetadataCache<V>> valuesBySecondType) {
+        this.valuesByFirstType = valuesByFirstType;
+        this.valuesBySecondType = valuesBySecondType;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CACHE METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * get value of pair of classes. If the value is not in cache then it is computed and stored
+     *
+     * @param firstType
+     * @param secondType
+     * @return - cached value
+     */
+    public V get(Class<?> firstType, Class<?> secondType) {
+        if (isChildClassLoader(firstType.getClassLoader(), secondType.getClassLoader())) {
+            return valuesBySecondType.get(secondType).get(firstType);
+        }
+        return valuesByFirstType.get(firstType).get(secondType);
+    }
+
+    /**
+     * @param classLoader
+     * @param parentClassLoader
+     * @return - true if {@code parentClassLoader} is one of parents of {@code classLoader}. The null class loader is
+     * bootstrap class loader - the parent of all other class loaders
+     */
+    private static boolean isChildClassLoader(ClassLoader classLoader, ClassLoader parentClassLoader) {
+        if (classLoader == parentClassLoader || classLoader == null) {
+            return false;
+        }
+        if (parentClassLoader == null) {
+            return true;
+        }
+        for (ClassLoader parent = classLoader.getParent(); parent != null; parent = parent.getParent()) {
+            if (parent == parentClassLoader) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,128 @@
+package com.kubicaj.utilities.pojomapper.reflection;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Index of fields and methods of one class including its whole class hierarchy. The index is created once per
+ * class and it is immutable.
+ * <ul>
+ * <li>fields - instance fields of class and all its superclasses in order from the top superclass. If subclass
+ * declares field with the same name as superclass, then the field of subclass hides the field of superclass.
+ * Static and synthetic fields are skipped</li>
+ * <li>methods - all public methods (including inherited) with its full signature. If there are more methods
+ * with the same signature (e.g. bridge method of covariant return type), then the method with the most specific
+ * return type is used - the same as in {@link Class#getMethod(String, Class[])}</li>
+ * </ul>
+ */
+class ClassPropertyIndex {
+
+    private static final Method[] NO_METHODS = new Method[0];
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // ATTRIBUTES
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * key = field name
+     * value = field of class or its superclass
+     */
+    private final Map<String, Field> fields;
+
+    /**
+     * key = method name
+     * value = all overloaded methods with the name. The methods differ by parameter types
+     */
+    private final Map<String, Method[]> methods;
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // CONSTRUCTORS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    ClassPropertyIndex(Class<?> classType) {
+        this.fields = Collections.unmodifiableMap(resolveFields(classType));
+        this.methods = resolveMethods(classType);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // GETTERS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    Collection<Field> getFields() {
+        return fields.values();
+    }
+
+    Field getField(String fieldName) {
+        return fields.get(fieldName);
+    }
+
+    /**
+     * @param methodName
+     * @param parameterTypes
+     * @return - public method with exactly the same parameter types or null if there is no such method
+     */
+    Method getMethod(String methodName, Class<?>[] parameterTypes) {
+        for (Method method : methods.getOrDefault(methodName, NO_METHODS)) {
+            if (Arrays.equals(method.getParameterTypes(), parameterTypes)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // RESOLVING METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private static Map<String, Field> resolveFields(Class<?> classType) {
+        Deque<Class<?>> hierarchy = new ArrayDeque<>();
+        for (Class<?> type = classType; type != null && type != Object.class; type = type.getSuperclass()) {
+            hierarchy.addFirst(type);
+        }
+        Map<String, Field> result = new LinkedHashMap<>();
+        for (Class<?> type : hierarchy) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+                // the field of subclass hides the field of superclass, but it keeps the position of hidden field
+                result.put(field.getName(), field);
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, Method[]> resolveMethods(Class<?> classType) {
+        Map<String, Method[]> result = new HashMap<>();
+        for (Method method : classType.getMethods()) {
+            Method[] overloads = result.getOrDefault(method.getName(), NO_METHODS);
+            int index = indexOfSignature(overloads, method);
+            if (index < 0) {
+                overloads = Arrays.copyOf(overloads, overloads.length + 1);
+                overloads[overloads.length - 1] = method;
+            } else if (overloads[index].getReturnType().isAssignableFrom(method.getReturnType())) {
+                overloads[index] = method;
+            }
+            result.put(method.getName(), overloads);
+        }
+        return result;
+    }
+
+    private static int indexOfSignature(Method[] overloads, Method method) {
+        for (int i = 0; i < overloads.length; i++) {
+            if (Arrays.equals(overloads[i].getParameterTypes(), method.getParameterTypes())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -5,27 +5,56 @@ import com.kubicaj.utilities.pojomapper.exception.MapperException;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.*;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Utils for working with reflection. The advantage of using of this util is cache of method definitions.
+ * <p>
+ * The fields and methods of each class (including its superclasses) are indexed only once into
+ * {@link ClassPropertyIndex}. The cache is thread-safe and there is no locking when the value is already cached.
+ * The cache is {@link ClassMetadataCache} keyed by identity of class and the value refers only to the class and its
+ * superclasses, therefore it does not prevent unloading of classes (e.g. after redeploy of application). The resolved
+ * mappings refer to two classes, therefore they are cached by {@link ClassPairMetadataCache} which stores them in
+ * the class of child class loader.
+ * <p>
+ * All static caches of metadata of the library (also the caches of resolved mappings) are created by
+ * {@link ReflectionUtils#createMetadataCache(Function)} or {@link ReflectionUtils#createPairMetadataCache(BiFunction)},
+ * therefore they can be bounded together by {@link ReflectionUtils#setCacheMaximumSize(int)} and cleared together by
+ * {@link ReflectionUtils#invalidate(Class)} and {@link ReflectionUtils#clear()}.
  */
 public class ReflectionUtils {
 
     /**
-     * the cache of method definitions
-     * key = class name
-     * value = map of {@link Method}. The key of map is the method name
+     * all static caches created by {@link ReflectionUtils#createMetadataCache(Function)}
      */
-    private static Map<String, Map<String, Method>> methodStaticCache = new HashMap<>();
+    private static final List<ClassMetadataCache<?>> metadataStaticCaches = new CopyOnWriteArrayList<>();
 
+    /**
+     * maximum size of all caches in {@link ReflectionUtils#metadataStaticCaches}
+     */
+    private static volatile int cacheMaximumSize = ClassMetadataCache.UNBOUNDED;
+
+    /**
+     * the cache of field and method definitions
+     * key = class
+     * value = {@link ClassPropertyIndex} of class and its whole class hierarchy
+     */
+    private static final ClassMetadataCache<ClassPropertyIndex> classPropertyIndexStaticCache =
+            createMetadataCache(ClassPropertyIndex::new);
 
     /**
-     * the cache of field definitions
-     * key = class name
-     * value = map of {@link Field}. The key of map is the field name
+     * the cache of factories of new instances
+     * key = class
+     * value = {@link Supplier} which calls public no-argument constructor of class
      */
-    private static Map<String, Map<String, Field>> classFieldsStaticCache = new HashMap<>();
+    private static final ClassMetadataCache<Supplier<?>> instanceSupplierStaticCache =
+            createMetadataCache(ReflectionUtils::resolveInstanceSupplier);
 
     /**
      * invoke method
@@ -47,53 +76,169 @@ public class ReflectionUtils {
     }
 
     /**
-     * get {@link List} of field definitions of class of type {@code classType}
-     * If there is not particular record in the cache, then the fields are find in class definition following by saving to cache
+     * get {@link Collection} of field definitions of class of type {@code classType} including fields of all its
+     * superclasses. Static and synthetic fields are skipped. If there is not particular record in the cache,
+     * then the fields are find in class definition following by saving to cache
      *
      * @param classType - {@link Class} represented type of class
      * @param <T>       - type of class
-     * @return {@link List} of {@link Field} objects
+     * @return {@link Collection} of {@link Field} objects
      */
     public static <T> Collection<Field> getDeclarativeFields(Class<T> classType) {
-        Map<String, Field> publicFieldStack = classFieldsStaticCache.get(classType.getName());
-        if (publicFieldStack == null) {
-            final Map<String, Field> newPublicFieldStack = new HashMap<>();
-            Field[] fields = classType.getDeclaredFields();
-            Arrays.asList(fields).forEach(field -> {
-                newPublicFieldStack.put(field.getName(), field);
-            });
-            classFieldsStaticCache.put(classType.getName(), newPublicFieldStack);
-            return newPublicFieldStack.values();
-        } else {
-            return publicFieldStack.values();
-        }
+        return classPropertyIndexStaticCache.get(classType).getFields();
     }
 
     /**
-     * Search method definition in class of type {@code classType}
+     * Search field definition in class of type {@code classType}. The fields are taken from the same cache as
+     * in {@link ReflectionUtils#getDeclarativeFields(Class)}
      *
-     * @param classType  - type of object {@code object}
-     * @param methodName - name of method
-     * @param <T>        - type of object
-     * @return - definition of method
+     * @param classType - {@link Class} represented type of class
+     * @param fieldName - name of field
+     * @param <T>       - type of class
+     * @return - definition of field or null if there is no such field
+     */
+    public static <T> Field findFieldByName(Class<T> classType, String fieldName) {
+        return classPropertyIndexStaticCache.get(classType).getField(fieldName);
+    }
+
+    /**
+     * Search public method definition in class of type {@code classType} (including inherited methods).
+     * The method has to have exactly the same parameter types as {@code parameterTypes}
+     *
+     * @param classType      - type of object {@code object}
+     * @param methodName     - name of method
+     * @param parameterTypes - types of parameters of method
+     * @param <T>            - type of object
+     * @return - definition of method or null if there is no such method
      */
     public static <T> Method findMethodByName(Class<T> classType, String methodName, Class<?>... parameterTypes) {
-        // at first find in cache. If not exists then add it there
-        Map<String, Method> classMethodsStack = methodStaticCache.get(classType.getName());
-        if (classMethodsStack == null) {
-            classMethodsStack = new HashMap<>();
-            methodStaticCache.put(classType.getName(), classMethodsStack);
+        return classPropertyIndexStaticCache.get(classType).getMethod(methodName, parameterTypes);
+    }
+
+    /**
+     * get factory of new instances of class of type {@code classType}. The factory is created only once and cached
+     *
+     * @param classType - {@link Class} represented type of class
+     * @param <T>       - type of class
+     * @return - {@link Supplier} which creates new instance by public no-argument constructor. If there is no such
+     * constructor then the supplier throws {@link MapperException}
+     */
+    public static <T> Supplier<T> getInstanceSupplier(Class<T> classType) {
+        return (Supplier<T>) instanceSupplierStaticCache.get(classType);
+    }
+
+    /**
+     * @param classType - any type
+     * @return - wrapper type of primitive type or {@code classType} itself
+     */
+    public static Class<?> wrapPrimitiveType(Class<?> classType) {
+        if (!classType.isPrimitive()) {
+            return classType;
+        }
+        if (classType == int.class) {
+            return Integer.class;
+        } else if (classType == long.class) {
+            return Long.class;
+        } else if (classType == double.class) {
+            return Double.class;
+        } else if (classType == boolean.class) {
+            return Boolean.class;
+        } else if (classType == float.class) {
+            return Float.class;
+        } else if (classType == short.class) {
+            return Short.class;
+        } else if (classType == byte.class) {
+            return Byte.class;
+        } else if (classType == char.class) {
+            return Character.class;
+        }
+        return Void.class;
+    }
+
+    /**
+     * create new static cache of metadata of classes. The cache is bounded by {@link ReflectionUtils#setCacheMaximumSize(int)}
+     * and cleared by {@link ReflectionUtils#invalidate(Class)} and {@link ReflectionUtils#clear()} together with all
+     * other static caches. The cache is never released, therefore it has to be stored in static attribute
+     *
+     * @param valueFactory - function which computes value of class if the value is not in cache
+     * @return - new instance of {@link ClassMetadataCache}
+     */
+    public static <V> ClassMetadataCache<V> createMetadataCache(Function<Class<?>, V> valueFactory) {
+        ClassMetadataCache<V> result = new ClassMetadataCache<>(valueFactory);
+        synchronized (metadataStaticCaches) {
+            result.setMaximumSize(cacheMaximumSize);
+            metadataStaticCaches.add(result);
+        }
+        return result;
+    }
+
+    /**
+     * create new static cache of metadata of pairs of classes. The cache is bounded and cleared together with all other
+     * static caches as {@link ReflectionUtils#createMetadataCache(Function)}
+     *
+     * @param valueFactory - function which computes value of pair of classes if the value is not in cache
+     * @return - new instance of {@link ClassPairMetadataCache}
+     */
+    public static <V> ClassPairMetadataCache<V> createPairMetadataCache(BiFunction<Class<?>, Class<?>, V> valueFactory) {
+        return new ClassPairMetadataCache<>(
+                createMetadataCache(firstType -> new ClassMetadataCache<>(secondType -> valueFactory.apply(firstType, secondType))),
+                createMetadataCache(secondType -> new ClassMetadataCache<>(firstType -> valueFactory.apply(firstType, secondType))));
+    }
+
+    /**
+     * remove all cached definitions and resolved mappings of class {@code classType} from all static caches
+     *
+     * @param classType
+     */
+    public static void invalidate(Class<?> classType) {
+        for (ClassMetadataCache<?> metadataCache : metadataStaticCaches) {
+            metadataCache.invalidate(classType);
+        }
+    }
+
+    /**
+     * remove all cached definitions and resolved mappings from all static caches
+     */
+    public static void clear() {
+        for (ClassMetadataCache<?> metadataCache : metadataStaticCaches) {
+            metadataCache.clear();
+        }
+    }
+
+    /**
+     * set maximum number of classes in all static caches. If there are more classes then the oldest one is evicted.
+     * The size is used also for caches created later
+     *
+     * @param maximumSize - maximum number of classes or {@link ClassMetadataCache#UNBOUNDED}
+     */
+    public static void setCacheMaximumSize(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("The maximum size can not be negative");
         }
-        // try to find method in cache. If not exists then find in in class definition and add it to cache
-        Method methodToInvoke = classMethodsStack.get(methodName);
-        if (methodToInvoke == null) {
+        synchronized (metadataStaticCaches) {
+            cacheMaximumSize = maximumSize;
+            for (ClassMetadataCache<?> metadataCache : metadataStaticCaches) {
+                metadataCache.setMaximumSize(maximumSize);
+            }
+        }
+    }
+
+    /**
+     * create factory of new instances of class of type {@code classType}
+     *
+     * @param classType
+     * @return
+     */
+    private static Supplier<?> resolveInstanceSupplier(Class<?> classType) {
+        if (!Modifier.isAbstract(classType.getModifiers()) && !classType.isInterface()) {
             try {
-                methodToInvoke = classType.getMethod(methodName, parameterTypes);
-                classMethodsStack.put(methodName, methodToInvoke);
+                return AccessorFactory.createInstanceSupplier(classType.getConstructor());
             } catch (NoSuchMethodException e) {
-                return null;
+                // the supplier which throws error
             }
         }
-        return methodToInvoke;
+        return () -> {
+            throw new MapperException(String.format("The type %s has no public no-argument constructor", classType.getName()));
+        };
     }
 }
@@ -0,0 +1,235 @@
+package com.test.kubicaj.utilities.pojomapper;
+
+import com.kubicaj.utilities.pojomapper.MappingPlan;
+import com.kubicaj.utilities.pojomapper.options.MapperOptions;
+import com.kubicaj.utilities.pojomapper.options.MappingEngine;
+import com.kubicaj.utilities.pojomapper.reflection.ClassMetadataCache;
+import com.kubicaj.utilities.pojomapper.reflection.ReflectionUtils;
+import com.test.kubicaj.utilities.pojomapper.pojoObjects.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests of caches of {@link ReflectionUtils} - stress test of using from many threads at once and behaviour of
+ * {@link ClassMetadataCache}
+ */
+public class TestReflectionUtilsConcurrency {
+
+    private static final int THREAD_COUNT = 16;
+    private static final int ITERATIONS = 2000;
+
+    private static final Class<?>[] CLASSES = {
+            SimplePojoTest1.class,
+            SimplePojoTest2.class,
+            SimplePojoTestWitPrefix.class,
+            SimplePojoTestWithPrefixAndSuffix.class,
+            SimplePojoWithInternalObject1.class,
+            SimplePojoWithInternalObject2.class,
+            SimplePojoWithoutAccessors.class,
+            StringBuilder.class,
+            ArrayList.class,
+            Thread.class
+    };
+
+    /**
+     * all threads start at the same time and read the same classes. Each thread has to get the same method and fields
+     * as are declared in class
+     */
+    @Test
+    public void testConcurrentLookup() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch startGate = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREAD_COUNT; thread++) {
+                final int threadOffset = thread;
+                futures.add(executor.submit((Callable<Integer>) () -> {
+                    startGate.await();
+                    int lookups = 0;
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        Class<?> classType = CLASSES[(i + threadOffset) % CLASSES.length];
+                        Collection<Field> fields = ReflectionUtils.getDeclarativeFields(classType);
+                        Assert.assertFalse(fields.isEmpty());
+                        for (Field field : fields) {
+                            Assert.assertFalse(Modifier.isStatic(field.getModifiers()));
+                            Assert.assertSame(field, ReflectionUtils.findFieldByName(classType, field.getName()));
+                        }
+                        Method method = ReflectionUtils.findMethodByName(classType, "toString");
+                        Assert.assertNotNull(method);
+                        Assert.assertEquals("toString", method.getName());
+                        Assert.assertNull(ReflectionUtils.findMethodByName(classType, "notExistingMethod" + (i % 10)));
+                        lookups++;
+                    }
+                    return lookups;
+                }));
+            }
+            startGate.countDown();
+            for (Future<Integer> future : futures) {
+                Assert.assertEquals(Integer.valueOf(ITERATIONS), future.get(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * the values are cached per class identity, bounded cache evicts the oldest value and the values can be
+     * removed explicitly
+     */
+    @Test
+    public void testClassMetadataCache() throws Exception {
+        AtomicInteger computeCounter = new AtomicInteger();
+        ClassMetadataCache<String> cache = new ClassMetadataCache<>(classType -> {
+            computeCounter.incrementAndGet();
+            return classType.getName();
+        });
+        Assert.assertEquals(SimplePojoTest1.class.getName(), cache.get(SimplePojoTest1.class));
+        Assert.assertEquals(SimplePojoTest1.class.getName(), cache.get(SimplePojoTest1.class));
+        Assert.assertEquals(1, computeCounter.get());
+
+        // invalidate and clear
+        cache.invalidate(SimplePojoTest1.class);
+        cache.get(SimplePojoTest1.class);
+        Assert.assertEquals(2, computeCounter.get());
+        cache.clear();
+        cache.get(SimplePojoTest1.class);
+        Assert.assertEquals(3, computeCounter.get());
+
+        // bounded cache evicts the oldest class
+        cache.clear();
+        cache.setMaximumSize(2);
+        cache.get(SimplePojoTest1.class);
+        cache.get(SimplePojoTest2.class);
+        cache.get(SimplePojoTestWitPrefix.class);
+        Assert.assertEquals(6, computeCounter.get());
+        cache.get(SimplePojoTest2.class);
+        cache.get(SimplePojoTestWitPrefix.class);
+        Assert.assertEquals(6, computeCounter.get());
+        cache.get(SimplePojoTest1.class);
+        Assert.assertEquals(7, computeCounter.get());
+
+        // the class with the same name from other class loader has own value
+        URL classesLocation = SimplePojoTest1.class.getProtectionDomain().getCodeSource().getLocation();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{classesLocation}, null)) {
+            Class<?> otherSimplePojoTest1 = classLoader.loadClass(SimplePojoTest1.class.getName());
+            Assert.assertNotSame(SimplePojoTest1.class, otherSimplePojoTest1);
+            for (Field field : ReflectionUtils.getDeclarativeFields(otherSimplePojoTest1)) {
+                Assert.assertSame(otherSimplePojoTest1, field.getDeclaringClass());
+            }
+            Assert.assertSame(otherSimplePojoTest1, ReflectionUtils.findMethodByName(otherSimplePojoTest1, "getIntParam1").getDeclaringClass());
+            Assert.assertSame(SimplePojoTest1.class, ReflectionUtils.findMethodByName(SimplePojoTest1.class, "getIntParam1").getDeclaringClass());
+            ReflectionUtils.invalidate(otherSimplePojoTest1);
+        }
+    }
+
+    /**
+     * all static caches created by {@link ReflectionUtils#createMetadataCache(java.util.function.Function)} are bounded
+     * and cleared together, also the caches created after the maximum size was set
+     */
+    @Test
+    public void testStaticMetadataCaches() {
+        AtomicInteger computeCounter = new AtomicInteger();
+        ClassMetadataCache<String> cache = ReflectionUtils.createMetadataCache(classType -> {
+            computeCounter.incrementAndGet();
+            return classType.getName();
+        });
+        try {
+            ReflectionUtils.setCacheMaximumSize(1);
+            ClassMetadataCache<String> laterCache = ReflectionUtils.createMetadataCache(Class::getName);
+            Assert.assertEquals(1, cache.getMaximumSize());
+            Assert.assertEquals(1, laterCache.getMaximumSize());
+            cache.get(SimplePojoTest1.class);
+            cache.get(SimplePojoTest2.class);
+            cache.get(SimplePojoTest1.class);
+            Assert.assertEquals(3, computeCounter.get());
+
+            // the resolved mappings are removed together with definitions of classes
+            ReflectionUtils.invalidate(SimplePojoTest1.class);
+            cache.get(SimplePojoTest1.class);
+            Assert.assertEquals(4, computeCounter.get());
+            ReflectionUtils.clear();
+            cache.get(SimplePojoTest1.class);
+            Assert.assertEquals(5, computeCounter.get());
+        } finally {
+            ReflectionUtils.setCacheMaximumSize(ClassMetadataCache.UNBOUNDED);
+        }
+    }
+
+    /**
+     * the destination type loaded by child class loader is unloaded together with its class loader, although the
+     * source type is loaded by parent class loader and it is used for mapping all the time
+     */
+    @Test
+    public void testUnloadingOfDestinationType() throws Exception {
+        WeakReference<Class<?>> destinationTypeReference = mapIntoChildClassLoader();
+        for (int i = 0; i < 100 && destinationTypeReference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertNull("The destination type of child class loader was not unloaded", destinationTypeReference.get());
+    }
+
+    /**
+     * map {@link SimplePojoTest1} into {@link SimplePojoTest2} loaded by new child class loader by all mapping engines
+     *
+     * @return - weak reference of destination type
+     */
+    private static WeakReference<Class<?>> mapIntoChildClassLoader() throws Exception {
+        SimplePojoTest1 sourceObject = new SimplePojoTest1();
+        sourceObject.setIntParam1(5);
+        sourceObject.setStrParam1("value");
+        URL classesLocation = SimplePojoTest2.class.getProtectionDomain().getCodeSource().getLocation();
+        try (URLClassLoader classLoader = new ChildFirstClassLoader(classesLocation, SimplePojoTest2.class.getName())) {
+            Class<?> destinationType = classLoader.loadClass(SimplePojoTest2.class.getName());
+            Assert.assertNotSame(SimplePojoTest2.class, destinationType);
+            for (MappingEngine mappingEngine : MappingEngine.values()) {
+                MapperOptions mapperOptions = new MapperOptions().setMappingEngine(mappingEngine).freeze();
+                Object result = MappingPlan.of(SimplePojoTest1.class, destinationType, mapperOptions).map(sourceObject);
+                Assert.assertEquals(5, ReflectionUtils.findMethodByName(destinationType, "getIntParam1").invoke(result));
+                Assert.assertEquals("value", ReflectionUtils.findMethodByName(destinationType, "getStrParam1").invoke(result));
+            }
+            return new WeakReference<>(destinationType);
+        }
+    }
+
+    /**
+     * Class loader which loads one class itself and all other classes by parent class loader
+     */
+    private static class ChildFirstClassLoader extends URLClassLoader {
+
+        private final String className;
+
+        ChildFirstClassLoader(URL classesLocation, String className) {
+            super(new URL[]{classesLocation}, TestReflectionUtilsConcurrency.class.getClassLoader());
+            this.className = className;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(className)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> result = findLoadedClass(name);
+                return result != null ? result : findClass(name);
+            }
+        }
+    }
+}
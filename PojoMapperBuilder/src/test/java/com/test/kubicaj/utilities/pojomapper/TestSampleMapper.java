@@ -1,15 +1,57 @@
 package com.test.kubicaj.utilities.pojomapper;
 
+import com.kubicaj.utilities.pojomapper.AsyncMapper;
+import com.kubicaj.utilities.pojomapper.DestinationRing;
 import com.kubicaj.utilities.pojomapper.MapperBuilder;
+import com.kubicaj.utilities.pojomapper.MapMappingPlan;
+import com.kubicaj.utilities.pojomapper.MapperTemplate;
+import com.kubicaj.utilities.pojomapper.MappingContext;
+import com.kubicaj.utilities.pojomapper.MappingPlan;
+import com.kubicaj.utilities.pojomapper.MappingSpliterator;
+import com.kubicaj.utilities.pojomapper.MergePlan;
 import com.kubicaj.utilities.pojomapper.ReflectionMapperBuilder;
+import com.kubicaj.utilities.pojomapper.bytecode.GeneratedMapper;
+import com.kubicaj.utilities.pojomapper.bytecode.GeneratedMapperFactory;
+import com.kubicaj.utilities.pojomapper.exception.MapperException;
 import com.kubicaj.utilities.pojomapper.function.ConditionFunction;
+import com.kubicaj.utilities.pojomapper.options.AccessMode;
+import com.kubicaj.utilities.pojomapper.options.ConverterRegistry;
 import com.kubicaj.utilities.pojomapper.options.MapperOptions;
+import com.kubicaj.utilities.pojomapper.options.MappingEngine;
+import com.kubicaj.utilities.pojomapper.options.NamingStrategy;
+import com.kubicaj.utilities.pojomapper.reflection.AccessorFactory;
+import com.kubicaj.utilities.pojomapper.reflection.ReflectionUtils;
 import com.test.kubicaj.utilities.pojomapper.pojoObjects.*;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * test + samples how to use Mapper
@@ -69,6 +111,20 @@ public class TestSampleMapper {
                 .apply();
     };
 
+    // flag used in condition of template
+    private static volatile boolean mapStrParam1 = true;
+
+    // template defined once and applied on many objects
+    private static final MapperTemplate<SimplePojoTest1, SimplePojoTest2> TEMPLATE_SIMPLE_POJO_2 = MapperTemplate
+            .builder(SimplePojoTest1.class, SimplePojoTest2.class)
+            .withSetter(SimplePojoTest2::setIntParam1, SimplePojoTest1::getIntParam1)
+            .withSetter(SimplePojoTest2::setIntParam2, SimplePojoTest1::getIntParam2)
+            .withStartCondition(() -> mapStrParam1)
+                .withSetter(SimplePojoTest2::setStrParam1, SimplePojoTest1::getStrParam1)
+            .withEndCondition()
+            .withValue(SimplePojoTest2::setStrParam2, "constant")
+            .build();
+
     // -----------------------------------------------------------------------------------------------------------------
     // TEST METHOD SECTION
     // -----------------------------------------------------------------------------------------------------------------
@@ -300,4 +356,1086 @@ public class TestSampleMapper {
         Assert.assertEquals(simplePojoWithInternalObject2.getSimplePojoTest2().getStrParam2(), simplePojoWithInternalObject1.getSimplePojoTest1().getStrParam2());
 
     }
+
+    /**
+     * test/sample of {@link MappingPlan} which is created once and used for mapping of several objects
+     */
+    @Test
+    public void testMappingPlan(){
+        MappingPlan<SimplePojoTestWitPrefix, SimplePojoTestWithPrefixAndSuffix> mappingPlan = MappingPlan
+                .of(
+                        SimplePojoTestWitPrefix.class,
+                        SimplePojoTestWithPrefixAndSuffix.class,
+                        new MapperOptions()
+                                .setDestinationObjectFieldPrefix("myPrefix")
+                                .setDestinationObjectFieldSuffixe("MySuffix")
+                                .setSourceObjectFieldPrefix("myPrefix")
+                                .addExcludingField("myPrefixStrParam2MySuffix"));
+
+        SimplePojoTestWithPrefixAndSuffix result1 = mappingPlan.map(testSimplePojoTestWithPrefix1);
+        SimplePojoTestWithPrefixAndSuffix result2 = mappingPlan.map(testSimplePojoTestWithPrefix1);
+
+        // check result - every call create new object
+        Assert.assertNotSame(result1, result2);
+        Assert.assertEquals(result2.getMyPrefixIntParam1MySuffix(), testSimplePojoTestWithPrefix1.getMyPrefixIntParam1());
+        Assert.assertEquals(result2.getMyPrefixIntParam2MySuffix(), testSimplePojoTestWithPrefix1.getMyPrefixIntParam2());
+        Assert.assertEquals(result2.getMyPrefixStrParam1MySuffix(), testSimplePojoTestWithPrefix1.getMyPrefixStrParam1());
+        Assert.assertEquals(result2.isMyPrefixBoolParam1MySuffix(), testSimplePojoTestWithPrefix1.isMyPrefixBoolParam1());
+        // check excluding field
+        Assert.assertNull(result2.getMyPrefixStrParam2MySuffix());
+        // check null source
+        Assert.assertNull(mappingPlan.map(null));
+    }
+
+    /**
+     * test reflection mapping with generated mapper class. Excluding fields and internal mappers are processed by reflection
+     */
+    @Test
+    public void testGeneratedMappingEngine(){
+        SimplePojoWithInternalObject2 simplePojoWithInternalObject2 = ReflectionMapperBuilder.createReflectionBuilder(
+                simplePojoWithInternalObject1, SimplePojoWithInternalObject1.class, SimplePojoWithInternalObject2.class,
+                new MapperOptions().setMappingEngine(MappingEngine.GENERATED))
+                .withInternalFieldMapper("simplePojoTest2",ReflectionMapperBuilder.createReflectionBuilder(simplePojoWithInternalObject1.getSimplePojoTest1(),SimplePojoTest1.class,SimplePojoTest2.class))
+                .apply();
+        // check result - the internal object is copied as reference by generated mapper and mapped by internal mapper
+        Assert.assertEquals(simplePojoWithInternalObject2.getStrParam1(), simplePojoWithInternalObject1.getStrParam1());
+        Assert.assertSame(simplePojoWithInternalObject2.getSimplePojoTest1(), simplePojoWithInternalObject1.getSimplePojoTest1());
+        Assert.assertEquals(simplePojoWithInternalObject2.getSimplePojoTest2().getStrParam1(), simplePojoWithInternalObject1.getSimplePojoTest1().getStrParam1());
+
+        SimplePojoTestWithPrefixAndSuffix result = MappingPlan.of(
+                SimplePojoTestWitPrefix.class,
+                SimplePojoTestWithPrefixAndSuffix.class,
+                new MapperOptions()
+                        .setMappingEngine(MappingEngine.GENERATED)
+                        .setDestinationObjectFieldPrefix("myPrefix")
+                        .setDestinationObjectFieldSuffixe("MySuffix")
+                        .setSourceObjectFieldPrefix("myPrefix")
+                        .addConditionalExcludingField("myPrefixStrParam2MySuffix", () -> true))
+                .map(testSimplePojoTestWithPrefix1);
+        // check result
+        Assert.assertEquals(result.getMyPrefixIntParam1MySuffix(), testSimplePojoTestWithPrefix1.getMyPrefixIntParam1());
+        Assert.assertEquals(result.getMyPrefixIntParam2MySuffix(), testSimplePojoTestWithPrefix1.getMyPrefixIntParam2());
+        Assert.assertEquals(result.getMyPrefixStrParam1MySuffix(), testSimplePojoTestWithPrefix1.getMyPrefixStrParam1());
+        Assert.assertEquals(result.isMyPrefixBoolParam1MySuffix(), testSimplePojoTestWithPrefix1.isMyPrefixBoolParam1());
+        Assert.assertNull(result.getMyPrefixStrParam2MySuffix());
+    }
+
+    /**
+     * test generating of mapper class
+     */
+    @Test
+    public void testGeneratedMapperFactory() throws NoSuchMethodException {
+        GeneratedMapper generatedMapper = GeneratedMapperFactory.getGeneratedMapper(SimplePojoTest1.class, SimplePojoTest2.class,
+                Arrays.asList(SimplePojoTest1.class.getMethod("getIntParam1"), SimplePojoTest1.class.getMethod("getStrParam1")),
+                Arrays.asList(SimplePojoTest2.class.getMethod("setIntParam1", int.class), SimplePojoTest2.class.getMethod("setStrParam1", String.class)));
+        Assert.assertNotNull(generatedMapper);
+
+        SimplePojoTest2 simplePojoTest2 = new SimplePojoTest2();
+        generatedMapper.map(testSimplePojoTest1, simplePojoTest2);
+        Assert.assertEquals(simplePojoTest2.getIntParam1(), testSimplePojoTest1.getIntParam1());
+        Assert.assertEquals(simplePojoTest2.getStrParam1(), testSimplePojoTest1.getStrParam1());
+        Assert.assertNull(simplePojoTest2.getStrParam2());
+
+        // the generated mapper is cached and it is removed together with other metadata of destination type
+        List<Method> getterMethods = Collections.singletonList(SimplePojoTest1.class.getMethod("getIntParam1"));
+        List<Method> setterMethods = Collections.singletonList(SimplePojoTest2.class.getMethod("setIntParam1", int.class));
+        GeneratedMapper cachedMapper = GeneratedMapperFactory.getGeneratedMapper(SimplePojoTest1.class, SimplePojoTest2.class, getterMethods, setterMethods);
+        Assert.assertSame(cachedMapper, GeneratedMapperFactory.getGeneratedMapper(SimplePojoTest1.class, SimplePojoTest2.class, getterMethods, setterMethods));
+        MappingPlan.invalidate(SimplePojoTest2.class);
+        Assert.assertNotSame(cachedMapper, GeneratedMapperFactory.getGeneratedMapper(SimplePojoTest1.class, SimplePojoTest2.class, getterMethods, setterMethods));
+    }
+
+    /**
+     * test mapping with direct access to fields. The object without getters and setters is mapped there and back
+     */
+    @Test
+    public void testFieldAccessMode(){
+        MapperOptions mapperOptions = new MapperOptions().setAccessMode(AccessMode.FIELDS);
+        SimplePojoWithoutAccessors simplePojoWithoutAccessors = MappingPlan
+                .of(SimplePojoTest1.class, SimplePojoWithoutAccessors.class, mapperOptions)
+                .map(testSimplePojoTest1);
+        SimplePojoTest2 simplePojoTest2 = MappingPlan
+                .of(SimplePojoWithoutAccessors.class, SimplePojoTest2.class, mapperOptions)
+                .map(simplePojoWithoutAccessors);
+        // check result - attrs values of simplePojoTest2 has to be equal with attrs values of testSimplePojoTest1
+        Assert.assertEquals(simplePojoTest2.getIntParam1(), testSimplePojoTest1.getIntParam1());
+        Assert.assertEquals(simplePojoTest2.getIntParam2(), testSimplePojoTest1.getIntParam2());
+        Assert.assertEquals(simplePojoTest2.getStrParam1(), testSimplePojoTest1.getStrParam1());
+        Assert.assertEquals(simplePojoTest2.getStrParam2(), testSimplePojoTest1.getStrParam2());
+        Assert.assertEquals(simplePojoTest2.isBoolParam1(), testSimplePojoTest1.isBoolParam1());
+        // the field boolParam2 does not exist in SimplePojoWithoutAccessors
+        Assert.assertNull(simplePojoTest2.getBoolParam2());
+        // the null value can not be written into primitive field
+        try {
+            AccessorFactory.createFieldSetter(ReflectionUtils.findFieldByName(SimplePojoTest1.class, "intParam1"))
+                    .accept(new SimplePojoTest1(), null);
+            Assert.fail("The null value can not be set into primitive field");
+        } catch (MapperException e) {
+            // expected
+        }
+    }
+
+    /**
+     * test/sample of plan of builder - it is reused until the options of builder are changed
+     */
+    @Test
+    public void testReflectionBuilderMappingPlan(){
+        MapperOptions mapperOptions = new MapperOptions();
+        ReflectionMapperBuilder<SimplePojoTest2, SimplePojoTest1> mapperBuilder = ReflectionMapperBuilder
+                .createReflectionBuilder(testSimplePojoTest1, SimplePojoTest1.class, SimplePojoTest2.class, mapperOptions);
+        MappingPlan<SimplePojoTest1, SimplePojoTest2> mappingPlan = mapperBuilder.toMappingPlan();
+        Assert.assertSame(mappingPlan, mapperBuilder.toMappingPlan());
+        // the builders of the same types and options share the plan
+        Assert.assertSame(mappingPlan, ReflectionMapperBuilder
+                .createReflectionBuilder(testSimplePojoTest1, SimplePojoTest1.class, SimplePojoTest2.class).toMappingPlan());
+        Assert.assertEquals(mapperBuilder.apply().getStrParam2(), testSimplePojoTest1.getStrParam2());
+
+        // the change of options is used in next mapping
+        mapperOptions.addExcludingField("strParam2");
+        Assert.assertNotSame(mappingPlan, mapperBuilder.toMappingPlan());
+        Assert.assertNull(ReflectionMapperBuilder
+                .createReflectionBuilder(testSimplePojoTest1, SimplePojoTest1.class, SimplePojoTest2.class, mapperOptions)
+                .apply().getStrParam2());
+    }
+
+    /**
+     * test setter with primitive parameter - the null value throws {@link MapperException}
+     */
+    @Test
+    public void testNullIntoPrimitiveSetter() throws NoSuchMethodException {
+        try {
+            AccessorFactory.createSetter(SimplePojoTest1.class.getMethod("setIntParam1", int.class)).accept(new SimplePojoTest1(), null);
+            Assert.fail("The null value can not be set into primitive parameter");
+        } catch (MapperException e) {
+            // expected
+        }
+        // the wrapper parameter accepts null
+        SimplePojoTest1 simplePojoTest1 = new SimplePojoTest1();
+        simplePojoTest1.setIntParam2(5);
+        AccessorFactory.createSetter(SimplePojoTest1.class.getMethod("setIntParam2", Integer.class)).accept(simplePojoTest1, null);
+        Assert.assertNull(simplePojoTest1.getIntParam2());
+    }
+
+    /**
+     * test/sample of {@link MapperTemplate} which is defined once and applied on several objects
+     */
+    @Test
+    public void testMapperTemplate(){
+        SimplePojoTest1 otherSimplePojoTest1 = new SimplePojoTest1();
+        otherSimplePojoTest1.setIntParam1(10);
+        otherSimplePojoTest1.setStrParam1("other");
+
+        SimplePojoTest2 result1 = TEMPLATE_SIMPLE_POJO_2.apply(testSimplePojoTest1);
+        SimplePojoTest2 result2 = TEMPLATE_SIMPLE_POJO_2.apply(otherSimplePojoTest1);
+        // check result - each object is mapped from its own source
+        Assert.assertEquals(result1.getIntParam1(), testSimplePojoTest1.getIntParam1());
+        Assert.assertEquals(result1.getIntParam2(), testSimplePojoTest1.getIntParam2());
+        Assert.assertEquals(result1.getStrParam1(), testSimplePojoTest1.getStrParam1());
+        Assert.assertEquals(result1.getStrParam2(), "constant");
+        Assert.assertEquals(result2.getIntParam1(), otherSimplePojoTest1.getIntParam1());
+        Assert.assertEquals(result2.getStrParam1(), otherSimplePojoTest1.getStrParam1());
+
+        // the condition is evaluated in each apply
+        mapStrParam1 = false;
+        try {
+            SimplePojoTest2 result3 = TEMPLATE_SIMPLE_POJO_2.apply(testSimplePojoTest1);
+            Assert.assertNull(result3.getStrParam1());
+            Assert.assertEquals(result3.getStrParam2(), "constant");
+        } finally {
+            mapStrParam1 = true;
+        }
+
+        // the change of options after build has no effect on template
+        MapperOptions mapperOptions = new MapperOptions().setNullErrorExceptionType(IllegalStateException.class);
+        MapperTemplate<SimplePojoTest1, SimplePojoTest2> template = MapperTemplate
+                .builder(SimplePojoTest1.class, SimplePojoTest2.class, mapperOptions)
+                .withSetter(SimplePojoTest2::setIntParam1, SimplePojoTest1::getIntParam1)
+                .build();
+        mapperOptions.setNullErrorExceptionType(IllegalArgumentException.class);
+        try {
+            template.apply(testSimplePojoTest1, null);
+            Assert.fail("The IllegalStateException is expected");
+        } catch (IllegalStateException e) {
+            // expected - the template uses the options from the time of build
+        }
+    }
+
+    /**
+     * test/sample of nested conditions - if the outer condition is not valid then the whole nested block is skipped
+     */
+    @Test
+    public void testNestedConditions(){
+        BiFunction<Boolean, Boolean, SimplePojoTest2> mapper = (outer, inner) -> MapperBuilder.createBuilder(SimplePojoTest2.class)
+                .withStartCondition(() -> outer)
+                    .withStartCondition(() -> inner)
+                        .withSetter(SimplePojoTest2::setStrParam1, testSimplePojoTest1, SimplePojoTest1::getStrParam1)
+                    .withEndCondition()
+                    .withSetter(SimplePojoTest2::setStrParam2, testSimplePojoTest1, SimplePojoTest1::getStrParam2)
+                .withEndCondition()
+                .withSetter(SimplePojoTest2::setIntParam1, testSimplePojoTest1, SimplePojoTest1::getIntParam1)
+                .apply();
+
+        SimplePojoTest2 result = mapper.apply(true, true);
+        Assert.assertEquals(result.getStrParam1(), testSimplePojoTest1.getStrParam1());
+        Assert.assertEquals(result.getStrParam2(), testSimplePojoTest1.getStrParam2());
+        Assert.assertEquals(result.getIntParam1(), testSimplePojoTest1.getIntParam1());
+
+        // only the inner block is skipped
+        result = mapper.apply(true, false);
+        Assert.assertNull(result.getStrParam1());
+        Assert.assertEquals(result.getStrParam2(), testSimplePojoTest1.getStrParam2());
+        Assert.assertEquals(result.getIntParam1(), testSimplePojoTest1.getIntParam1());
+
+        // the end of inner condition does not end the outer condition
+        result = mapper.apply(false, true);
+        Assert.assertNull(result.getStrParam1());
+        Assert.assertNull(result.getStrParam2());
+        Assert.assertEquals(result.getIntParam1(), testSimplePojoTest1.getIntParam1());
+
+        // the same program in template
+        MapperTemplate<SimplePojoTest1, SimplePojoTest2> template = MapperTemplate.builder(SimplePojoTest1.class, SimplePojoTest2.class)
+                .withStartCondition(() -> false)
+                    .withStartCondition(() -> true)
+                        .withSetter(SimplePojoTest2::setStrParam1, SimplePojoTest1::getStrParam1)
+                    .withEndCondition()
+                    .withSetter(SimplePojoTest2::setStrParam2, SimplePojoTest1::getStrParam2)
+                .withEndCondition()
+                .withSetter(SimplePojoTest2::setIntParam1, SimplePojoTest1::getIntParam1)
+                .build();
+        result = template.apply(testSimplePojoTest1);
+        Assert.assertNull(result.getStrParam1());
+        Assert.assertNull(result.getStrParam2());
+        Assert.assertEquals(result.getIntParam1(), testSimplePojoTest1.getIntParam1());
+    }
+
+    /**
+     * test/sample of primitive setters which pass the values without boxing
+     */
+    @Test
+    public void testPrimitiveSetters(){
+        SimplePojoTest2 result = MapperBuilder.createBuilder(SimplePojoTest2.class)
+                .withIntSetter(SimplePojoTest2::setIntParam1, testSimplePojoTest1, SimplePojoTest1::getIntParam1)
+                .withBooleanSetter(SimplePojoTest2::setBoolParam1, true)
+                .withLongSetter((SimplePojoTest2 object, long value) -> object.setIntParam2((int) value), Long.MAX_VALUE - Integer.MAX_VALUE)
+                .withDoubleSetter((SimplePojoTest2 object, double value) -> object.setStrParam1(String.valueOf(value)), 1.5)
+                .apply();
+        Assert.assertEquals(result.getIntParam1(), testSimplePojoTest1.getIntParam1());
+        Assert.assertTrue(result.isBoolParam1());
+        Assert.assertEquals(result.getIntParam2(), Integer.valueOf((int) (Long.MAX_VALUE - Integer.MAX_VALUE)));
+        Assert.assertEquals(result.getStrParam1(), "1.5");
+
+        MapperTemplate<SimplePojoTest1, SimplePojoTest2> template = MapperTemplate.builder(SimplePojoTest1.class, SimplePojoTest2.class)
+                .withIntSetter(SimplePojoTest2::setIntParam1, SimplePojoTest1::getIntParam1)
+                .withBooleanSetter(SimplePojoTest2::setBoolParam1, SimplePojoTest1::isBoolParam1)
+                .withDoubleValue((SimplePojoTest2 object, double value) -> object.setStrParam2(String.valueOf(value)), -0.25)
+                .build();
+        result = template.apply(testSimplePojoTest1);
+        Assert.assertEquals(result.getIntParam1(), testSimplePojoTest1.getIntParam1());
+        Assert.assertEquals(result.isBoolParam1(), testSimplePojoTest1.isBoolParam1());
+        Assert.assertEquals(result.getStrParam2(), "-0.25");
+    }
+
+    /**
+     * test/sample of batch mapping where the mapping is resolved once for all objects
+     */
+    @Test
+    public void testBatchMapping(){
+        SimplePojoTest1 otherSimplePojoTest1 = new SimplePojoTest1();
+        otherSimplePojoTest1.setIntParam1(10);
+        otherSimplePojoTest1.setStrParam1("other");
+        ReflectionMapperBuilder<SimplePojoTest2, SimplePojoTest1> builder = ReflectionMapperBuilder
+                .createReflectionBuilder(SimplePojoTest1.class, SimplePojoTest2.class);
+
+        // collection
+        List<SimplePojoTest2> resultList = builder.mapAll(Arrays.asList(testSimplePojoTest1, null, otherSimplePojoTest1));
+        Assert.assertEquals(resultList.size(), 3);
+        Assert.assertEquals(resultList.get(0).getStrParam1(), testSimplePojoTest1.getStrParam1());
+        Assert.assertNull(resultList.get(1));
+        Assert.assertEquals(resultList.get(2).getIntParam1(), otherSimplePojoTest1.getIntParam1());
+
+        // array
+        SimplePojoTest2[] resultArray = builder.mapAll(new SimplePojoTest1[]{otherSimplePojoTest1, testSimplePojoTest1});
+        Assert.assertEquals(resultArray.length, 2);
+        Assert.assertEquals(resultArray[0].getStrParam1(), otherSimplePojoTest1.getStrParam1());
+        Assert.assertEquals(resultArray[1].getIntParam2(), testSimplePojoTest1.getIntParam2());
+
+        // existing destination objects
+        SimplePojoTest2 existingDestination = new SimplePojoTest2();
+        SimplePojoTest2[] destinations = new SimplePojoTest2[]{existingDestination, null};
+        Assert.assertSame(builder.mapInto(Arrays.asList(testSimplePojoTest1, otherSimplePojoTest1), destinations), destinations);
+        Assert.assertSame(destinations[0], existingDestination);
+        Assert.assertEquals(existingDestination.getStrParam1(), testSimplePojoTest1.getStrParam1());
+        Assert.assertEquals(destinations[1].getStrParam1(), otherSimplePojoTest1.getStrParam1());
+        try {
+            builder.mapInto(Arrays.asList(testSimplePojoTest1, otherSimplePojoTest1), new SimplePojoTest2[1]);
+            Assert.fail("The destination array is too short");
+        } catch (MapperException e) {
+            // expected
+        }
+    }
+
+    /**
+     * test/sample of {@link MappingPlan} used as {@link Function} in parallel stream and {@link MappingSpliterator}
+     */
+    @Test
+    public void testMappingStream(){
+        List<SimplePojoTest1> sourceObjects = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            SimplePojoTest1 sourceObject = new SimplePojoTest1();
+            sourceObject.setIntParam1(i);
+            sourceObjects.add(sourceObject);
+        }
+        MappingPlan<SimplePojoTest1, SimplePojoTest2> mappingPlan = MappingPlan.of(SimplePojoTest1.class, SimplePojoTest2.class);
+
+        // plan as function
+        List<SimplePojoTest2> result = sourceObjects.parallelStream().map(mappingPlan).collect(Collectors.toList());
+        Assert.assertEquals(result.size(), sourceObjects.size());
+        for (int i = 0; i < result.size(); i++) {
+            Assert.assertEquals(result.get(i).getIntParam1(), i);
+        }
+
+        // spliterator keeps the size of source
+        Spliterator<SimplePojoTest2> spliterator = MappingSpliterator.of(sourceObjects.spliterator(), mappingPlan);
+        Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+        Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+        Assert.assertEquals(spliterator.getExactSizeIfKnown(), sourceObjects.size());
+        Spliterator<SimplePojoTest2> prefix = spliterator.trySplit();
+        Assert.assertEquals(prefix.estimateSize() + spliterator.estimateSize(), sourceObjects.size());
+
+        // parallel stream of plan
+        Assert.assertEquals(mappingPlan.stream(sourceObjects, true).mapToInt(SimplePojoTest2::getIntParam1).sum(), 999 * 1000 / 2);
+        // template as function
+        Assert.assertEquals(sourceObjects.stream().map(TEMPLATE_SIMPLE_POJO_2).filter(Objects::nonNull).count(), sourceObjects.size());
+    }
+
+    /**
+     * test/sample of asynchronous mapping with default and custom executor
+     */
+    @Test
+    public void testAsyncMapper() throws Exception {
+        SimplePojoTest1 otherSimplePojoTest1 = new SimplePojoTest1();
+        otherSimplePojoTest1.setIntParam1(10);
+        MappingPlan<SimplePojoTest1, SimplePojoTest2> mappingPlan = MappingPlan.of(SimplePojoTest1.class, SimplePojoTest2.class);
+
+        // default executor
+        AsyncMapper<SimplePojoTest1, SimplePojoTest2> asyncMapper = AsyncMapper.of(mappingPlan);
+        Assert.assertEquals(asyncMapper.map(testSimplePojoTest1).get().getStrParam1(), testSimplePojoTest1.getStrParam1());
+        List<SimplePojoTest2> result = asyncMapper.mapAll(Arrays.asList(testSimplePojoTest1, null, otherSimplePojoTest1)).get();
+        Assert.assertEquals(result.size(), 3);
+        Assert.assertEquals(result.get(0).getIntParam1(), testSimplePojoTest1.getIntParam1());
+        Assert.assertNull(result.get(1));
+        Assert.assertEquals(result.get(2).getIntParam1(), otherSimplePojoTest1.getIntParam1());
+
+        // custom executor and failing mapping
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            AsyncMapper<SimplePojoTest1, SimplePojoTest2> failingMapper = AsyncMapper.of(sourceObject -> {
+                throw new MapperException("mapping failed");
+            }, executor);
+            Assert.assertSame(failingMapper.getExecutor(), executor);
+            try {
+                failingMapper.mapAll(Arrays.asList(testSimplePojoTest1, otherSimplePojoTest1)).get();
+                Assert.fail("The mapping has to fail");
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof MapperException);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * test of mapping of inherited fields and of searching of overloaded setter by its parameter type
+     */
+    @Test
+    public void testClassHierarchyMapping(){
+        ExtendedPojoTest1 sourceObject = new ExtendedPojoTest1();
+        sourceObject.setIntParam1(5);
+        sourceObject.setStrParam1("inherited");
+        sourceObject.setStrParam3("own");
+
+        // the fields of superclass are mapped together with own fields, static field is skipped
+        ExtendedPojoTest2 result = MappingPlan.of(ExtendedPojoTest1.class, ExtendedPojoTest2.class).map(sourceObject);
+        Assert.assertEquals(result.getIntParam1(), 5);
+        Assert.assertEquals(result.getStrParam1(), "inherited");
+        Assert.assertEquals(result.getStrParam3(), "own");
+        Assert.assertFalse(ReflectionUtils.getDeclarativeFields(ExtendedPojoTest2.class).stream()
+                .anyMatch(field -> field.getName().equals("serialVersionUID")));
+        Assert.assertEquals(ReflectionUtils.getDeclarativeFields(ExtendedPojoTest2.class).size(), 7);
+
+        // overloaded setters are found by parameter types regardless of order of lookups
+        Assert.assertEquals(ReflectionUtils.findMethodByName(ExtendedPojoTest2.class, "setStrParam3", int.class).getParameterTypes()[0], int.class);
+        Assert.assertEquals(ReflectionUtils.findMethodByName(ExtendedPojoTest2.class, "setStrParam3", String.class).getParameterTypes()[0], String.class);
+        Assert.assertNull(ReflectionUtils.findMethodByName(ExtendedPojoTest2.class, "setStrParam3", long.class));
+        // inherited method
+        Assert.assertEquals(ReflectionUtils.findMethodByName(ExtendedPojoTest2.class, "setIntParam1", int.class).getDeclaringClass(), SimplePojoTest2.class);
+
+        // the same in field access mode
+        ExtendedPojoTest2 fieldsResult = MappingPlan.of(ExtendedPojoTest1.class, ExtendedPojoTest2.class,
+                new MapperOptions().setAccessMode(AccessMode.FIELDS)).map(sourceObject);
+        Assert.assertEquals(fieldsResult.getStrParam1(), "inherited");
+        Assert.assertEquals(fieldsResult.getStrParam3(), "own");
+    }
+
+    /**
+     * test/sample of naming strategies for snake_case fields and fluent accessors
+     */
+    @Test
+    public void testNamingStrategies(){
+        SnakeCasePojo snakeCaseResult = MappingPlan.of(SimplePojoTest1.class, SnakeCasePojo.class,
+                new MapperOptions().setNamingStrategy(NamingStrategy.snakeCase())).map(testSimplePojoTest1);
+        Assert.assertEquals(snakeCaseResult.getIntParam1(), testSimplePojoTest1.getIntParam1());
+        Assert.assertEquals(snakeCaseResult.getStrParam1(), testSimplePojoTest1.getStrParam1());
+        Assert.assertEquals(snakeCaseResult.isBoolParam1(), testSimplePojoTest1.isBoolParam1());
+
+        FluentPojo fluentPojo = new FluentPojo().intParam1(7).strParam1("fluent");
+        for (MappingEngine mappingEngine : MappingEngine.values()) {
+            FluentPojo fluentResult = MappingPlan.of(FluentPojo.class, FluentPojo.class,
+                    new MapperOptions().setNamingStrategy(NamingStrategy.fluent()).setMappingEngine(mappingEngine)).map(fluentPojo);
+            Assert.assertEquals(fluentResult.intParam1(), 7);
+            Assert.assertEquals(fluentResult.strParam1(), "fluent");
+        }
+
+        // the strategy from prefixes and suffixes is equal for equal options
+        Assert.assertEquals(new MapperOptions().setSourceObjectFieldPrefix("my").getNamingStrategy(),
+                NamingStrategy.prefixSuffix("my", "", "", ""));
+    }
+
+    /**
+     * test/sample of frozen options - they can not be changed and the excluding fields are resolved in plan
+     */
+    @Test
+    public void testFrozenMapperOptions(){
+        MapperOptions mapperOptions = new MapperOptions()
+                .addExcludingField("strParam2")
+                .addConditionalExcludingField("intParam2", () -> mapStrParam1);
+        MapperOptions frozenOptions = mapperOptions.freeze();
+        Assert.assertTrue(frozenOptions.isFrozen());
+        Assert.assertFalse(mapperOptions.isFrozen());
+        Assert.assertSame(frozenOptions, frozenOptions.freeze());
+        try {
+            frozenOptions.addExcludingField("strParam1");
+            Assert.fail("The frozen options can not be changed");
+        } catch (MapperException e) {
+            // expected
+        }
+        // the change of original options has no influence on frozen copy
+        mapperOptions.addExcludingField("intParam1");
+
+        MappingPlan<SimplePojoTest1, SimplePojoTest2> mappingPlan = MappingPlan.of(SimplePojoTest1.class, SimplePojoTest2.class, frozenOptions);
+        SimplePojoTest2 result = mappingPlan.map(testSimplePojoTest1);
+        Assert.assertEquals(result.getIntParam1(), testSimplePojoTest1.getIntParam1());
+        Assert.assertEquals(result.getStrParam1(), testSimplePojoTest1.getStrParam1());
+        Assert.assertNull(result.getStrParam2());
+        Assert.assertNull(result.getIntParam2());
+        // the condition is still evaluated in each mapping
+        mapStrParam1 = false;
+        try {
+            Assert.assertEquals(mappingPlan.map(testSimplePojoTest1).getIntParam2(), testSimplePojoTest1.getIntParam2());
+        } finally {
+            mapStrParam1 = true;
+        }
+    }
+
+    /**
+     * test/sample of cached plans - the plan of the same frozen options is resolved only once
+     */
+    @Test
+    public void testMappingPlanCache(){
+        MapperOptions mapperOptions = new MapperOptions().addExcludingField("strParam2");
+        MapperOptions frozenOptions = mapperOptions.freeze();
+        // the frozen copy is reused until the options are changed
+        Assert.assertSame(frozenOptions, mapperOptions.freeze());
+        Assert.assertSame(MappingPlan.of(SimplePojoTest1.class, SimplePojoTest2.class, frozenOptions),
+                MappingPlan.of(SimplePojoTest1.class, SimplePojoTest2.class, mapperOptions.freeze()));
+        // the options which are not frozen have always new plan
+        Assert.assertNotSame(MappingPlan.of(SimplePojoTest1.class, SimplePojoTest2.class, mapperOptions),
+                MappingPlan.of(SimplePojoTest1.class, SimplePojoTest2.class, mapperOptions));
+        // the default options share one frozen copy and one plan
+        Assert.assertSame(new MapperOptions().freeze(), new MapperOptions().freeze());
+        Assert.assertSame(MappingPlan.of(SimplePojoTest1.class, SimplePojoTest2.class),
+                MappingPlan.of(SimplePojoTest1.class, SimplePojoTest2.class, new MapperOptions().freeze()));
+
+        // the change of options creates new frozen copy
+        mapperOptions.addExcludingField("intParam2");
+        MapperOptions changedOptions = mapperOptions.freeze();
+        Assert.assertNotSame(frozenOptions, changedOptions);
+        Assert.assertNull(MappingPlan.of(SimplePojoTest1.class, SimplePojoTest2.class, changedOptions).map(testSimplePojoTest1).getIntParam2());
+        // the change of converter registry creates new frozen copy too
+        mapperOptions.getConverterRegistry().register(String.class, Integer.class, Integer::valueOf);
+        Assert.assertNotSame(changedOptions, mapperOptions.freeze());
+        try {
+            mapperOptions.freeze().getConverterRegistry().register(String.class, Long.class, Long::valueOf);
+            Assert.fail("The converter registry of frozen options can not be changed");
+        } catch (MapperException e) {
+            // expected
+        }
+    }
+
+    /**
+     * test/sample of creating of destination objects - cached supplier of constructor, custom supplier and
+     * {@link DestinationRing} which reuses instances
+     */
+    @Test
+    public void testDestinationSupplier(){
+        Supplier<SimplePojoTest2> supplier = ReflectionUtils.getInstanceSupplier(SimplePojoTest2.class);
+        Assert.assertSame(supplier, ReflectionUtils.getInstanceSupplier(SimplePojoTest2.class));
+        Assert.assertNotSame(supplier.get(), supplier.get());
+
+        // the type without public no-argument constructor
+        for (Class<?> classType : Arrays.asList(Integer.class, Number.class, List.class)) {
+            try {
+                ReflectionUtils.getInstanceSupplier(classType).get();
+                Assert.fail("The type has no public no-argument constructor");
+            } catch (MapperException e) {
+                // expected
+            }
+        }
+
+        // the ring returns the same instances after wrap-around
+        DestinationRing<SimplePojoTest2> ring = DestinationRing.of(SimplePojoTest2.class, 2);
+        MappingPlan<SimplePojoTest1, SimplePojoTest2> mappingPlan = MappingPlan.of(SimplePojoTest1.class, SimplePojoTest2.class)
+                .withDestinationSupplier(ring);
+        SimplePojoTest2 result1 = mappingPlan.map(testSimplePojoTest1);
+        SimplePojoTest2 result2 = mappingPlan.map(testSimplePojoTest1);
+        Assert.assertNotSame(result1, result2);
+        Assert.assertSame(result1, mappingPlan.map(testSimplePojoTest1));
+        Assert.assertSame(result2, mappingPlan.map(testSimplePojoTest1));
+        Assert.assertEquals(result1.getIntParam1(), testSimplePojoTest1.getIntParam1());
+        Assert.assertEquals(result1.getStrParam1(), testSimplePojoTest1.getStrParam1());
+
+        // the reused instance is reset before it is returned
+        DestinationRing<SimplePojoTest2> resetRing = DestinationRing.of(SimplePojoTest2::new, 1, pojo -> pojo.setStrParam2(null));
+        MapperTemplate<SimplePojoTest1, SimplePojoTest2> template = MapperTemplate
+                .builder(SimplePojoTest1.class, SimplePojoTest2.class)
+                .withStartCondition(() -> mapStrParam1)
+                    .withValue(SimplePojoTest2::setStrParam2, "constant")
+                .withEndCondition()
+                .withDestinationSupplier(resetRing)
+                .build();
+        SimplePojoTest2 templateResult = template.apply(testSimplePojoTest1);
+        Assert.assertEquals("constant", templateResult.getStrParam2());
+        mapStrParam1 = false;
+        try {
+            Assert.assertSame(templateResult, template.apply(testSimplePojoTest1));
+            Assert.assertNull(templateResult.getStrParam2());
+        } finally {
+            mapStrParam1 = true;
+        }
+    }
+
+    /**
+     * test/sample of mapping of object graph with shared references and cycle - each source object is mapped only once
+     */
+    @Test
+    public void testObjectGraphMapping(){
+        SimplePojoTest1 customer = new SimplePojoTest1();
+        customer.setIntParam1(7);
+        customer.setStrParam1("customer");
+        GraphNodePojo1 first = new GraphNodePojo1();
+        first.setName("first");
+        first.setCustomer(customer);
+        GraphNodePojo1 second = new GraphNodePojo1();
+        second.setName("second");
+        second.setCustomer(customer);
+        first.setNext(second);
+        second.setNext(first);
+
+        ReflectionMapperBuilder<GraphNodePojo2, GraphNodePojo1> nodeMapper = ReflectionMapperBuilder
+                .createReflectionBuilder(GraphNodePojo1.class, GraphNodePojo2.class);
+        nodeMapper.withInternalClassMapper(GraphNodePojo2.class, nodeMapper)
+                .withInternalClassMapper(SimplePojoTest2.class, ReflectionMapperBuilder.createReflectionBuilder(SimplePojoTest1.class, SimplePojoTest2.class));
+        MappingPlan<GraphNodePojo1, GraphNodePojo2> mappingPlan = nodeMapper.toMappingPlan();
+
+        GraphNodePojo2 result = mappingPlan.map(first);
+        Assert.assertEquals("first", result.getName());
+        Assert.assertEquals("second", result.getNext().getName());
+        // the cycle is kept
+        Assert.assertSame(result, result.getNext().getNext());
+        // the shared customer is mapped only once
+        Assert.assertSame(result.getCustomer(), result.getNext().getCustomer());
+        Assert.assertEquals(customer.getIntParam1(), result.getCustomer().getIntParam1());
+        Assert.assertEquals(customer.getStrParam1(), result.getCustomer().getStrParam1());
+
+        // each call has its own context
+        Assert.assertNotSame(result, mappingPlan.map(first));
+
+        // the context shared by more calls
+        MappingContext context = new MappingContext();
+        GraphNodePojo2 firstResult = mappingPlan.map(first, context);
+        Assert.assertSame(firstResult, mappingPlan.map(first, context));
+        Assert.assertSame(firstResult.getNext(), mappingPlan.map(second, context));
+        Assert.assertSame(firstResult.getCustomer(), context.getMappedObject(customer, SimplePojoTest2.class));
+        Assert.assertEquals(3, context.size());
+    }
+
+    /**
+     * test/sample of mapping of collections and arrays - the elements are mapped into new collection of destination type
+     */
+    @Test
+    public void testCollectionMapping(){
+        SimplePojoTest1 otherSimplePojoTest1 = new SimplePojoTest1();
+        otherSimplePojoTest1.setIntParam1(10);
+        otherSimplePojoTest1.setStrParam1("other");
+        CollectionPojo1 source = new CollectionPojo1();
+        source.setItems(Arrays.asList(testSimplePojoTest1, otherSimplePojoTest1, testSimplePojoTest1));
+        source.setTags(new HashSet<>(Arrays.asList("b", "c", "a")));
+        source.setValues(new int[]{1, 2, 3});
+        source.setItemArray(new SimplePojoTest1[]{otherSimplePojoTest1, null});
+
+        CollectionPojo2 result = MappingPlan.of(CollectionPojo1.class, CollectionPojo2.class).map(source);
+        // elements are mapped by plan of element types
+        Assert.assertEquals(3, result.getItems().size());
+        Assert.assertEquals(testSimplePojoTest1.getIntParam1(), result.getItems().get(0).getIntParam1());
+        Assert.assertEquals(testSimplePojoTest1.getStrParam1(), result.getItems().get(0).getStrParam1());
+        Assert.assertEquals(otherSimplePojoTest1.getStrParam1(), result.getItems().get(1).getStrParam1());
+        // the same source element is mapped only once
+        Assert.assertSame(result.getItems().get(0), result.getItems().get(2));
+        Assert.assertSame(result.getItems().get(1), result.getItemArray().get(0));
+        Assert.assertNull(result.getItemArray().get(1));
+        // the destination collection is created according destination type
+        Assert.assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<>(result.getTags()));
+        // the array is copied
+        Assert.assertArrayEquals(source.getValues(), result.getValues());
+        Assert.assertNotSame(source.getValues(), result.getValues());
+
+        // the elements are mapped by internal class mapper of element type
+        CollectionPojo2 builderResult = ReflectionMapperBuilder.createReflectionBuilder(source, CollectionPojo1.class, CollectionPojo2.class)
+                .withInternalClassMapper(SimplePojoTest2.class, ReflectionMapperBuilder.createReflectionBuilder(SimplePojoTest1.class, SimplePojoTest2.class))
+                .apply();
+        Assert.assertEquals(otherSimplePojoTest1.getIntParam1(), builderResult.getItems().get(1).getIntParam1());
+        Assert.assertSame(builderResult.getItems().get(1), builderResult.getItemArray().get(0));
+
+        // the JDK elements are converted by converter of element types
+        source.setNumbers(Arrays.asList(1, 2));
+        source.setCodes(new String[]{"7", " 8"});
+        // the sorted set keeps comparator of source sorted set
+        TreeSet<String> reversedTags = new TreeSet<>(Comparator.reverseOrder());
+        reversedTags.addAll(Arrays.asList("b", "c", "a"));
+        source.setTags(reversedTags);
+        CollectionPojo2 convertedResult = MappingPlan.of(CollectionPojo1.class, CollectionPojo2.class).map(source);
+        Assert.assertEquals(Arrays.asList(1L, 2L), convertedResult.getNumbers());
+        Assert.assertArrayEquals(new Integer[]{7, 8}, convertedResult.getCodes());
+        Assert.assertEquals(Arrays.asList("c", "b", "a"), new ArrayList<>(convertedResult.getTags()));
+        Assert.assertSame(reversedTags.comparator(), convertedResult.getTags().comparator());
+    }
+
+    /**
+     * test/sample of mapping of collections which types are interfaces or abstract classes - the {@link java.util.Deque}
+     * is created as {@link ArrayDeque} and the {@link EnumSet}, which can not be created, is copied by reference
+     */
+    @Test
+    public void testAbstractCollectionMapping(){
+        AbstractCollectionPojo source = new AbstractCollectionPojo();
+        source.setQueue(new ArrayDeque<>(Arrays.asList("x", "y")));
+        source.setDays(EnumSet.of(DayOfWeek.MONDAY));
+
+        AbstractCollectionPojo result = ReflectionMapperBuilder.createReflectionBuilder(source, AbstractCollectionPojo.class,
+                new AbstractCollectionPojo(), AbstractCollectionPojo.class).apply();
+        Assert.assertEquals(Arrays.asList("x", "y"), new ArrayList<>(result.getQueue()));
+        Assert.assertNotSame(source.getQueue(), result.getQueue());
+        Assert.assertSame(source.getDays(), result.getDays());
+
+        AbstractCollectionPojo planResult = MappingPlan.of(AbstractCollectionPojo.class, AbstractCollectionPojo.class).map(source);
+        Assert.assertEquals("x", planResult.getQueue().peekFirst());
+        Assert.assertEquals(EnumSet.of(DayOfWeek.MONDAY), planResult.getDays());
+    }
+
+    /**
+     * test/sample of mapping of object into {@link Map} and back with the same naming options as object mapping
+     */
+    @Test
+    public void testMapMapping(){
+        MapMappingPlan<SimplePojoTest1> mapMappingPlan = MapMappingPlan.of(SimplePojoTest1.class);
+        Map<String, Object> map = mapMappingPlan.toMap(testSimplePojoTest1);
+        Assert.assertEquals(Arrays.asList("intParam1", "intParam2", "strParam1", "strParam2", "boolParam1", "boolParam2"),
+                new ArrayList<>(map.keySet()));
+        Assert.assertEquals(testSimplePojoTest1.getIntParam1(), map.get("intParam1"));
+        Assert.assertEquals(testSimplePojoTest1.getStrParam1(), map.get("strParam1"));
+        Assert.assertEquals(testSimplePojoTest1.isBoolParam1(), map.get("boolParam1"));
+
+        // back into object - unknown keys are ignored
+        map.put("unknownKey", "value");
+        SimplePojoTest1 result = mapMappingPlan.fromMap(map);
+        Assert.assertEquals(testSimplePojoTest1.getIntParam1(), result.getIntParam1());
+        Assert.assertEquals(testSimplePojoTest1.getIntParam2(), result.getIntParam2());
+        Assert.assertEquals(testSimplePojoTest1.getStrParam2(), result.getStrParam2());
+        Assert.assertEquals(testSimplePojoTest1.getBoolParam2(), result.getBoolParam2());
+
+        // prefixes and excluding fields of options
+        MapperOptions mapperOptions = new MapperOptions()
+                .setDestinationObjectFieldPrefix("myPrefix")
+                .addExcludingField("customParameter1");
+        MapMappingPlan<SimplePojoTestWitPrefix> prefixMappingPlan = MapMappingPlan.of(SimplePojoTestWitPrefix.class, mapperOptions);
+        Map<String, Object> prefixMap = prefixMappingPlan.toMap(testSimplePojoTestWithPrefix1);
+        Assert.assertEquals(testSimplePojoTestWithPrefix1.getMyPrefixStrParam1(), prefixMap.get("strParam1"));
+        Assert.assertEquals(testSimplePojoTestWithPrefix1.isMyPrefixBoolParam1(), prefixMap.get("boolParam1"));
+        Assert.assertFalse(prefixMap.containsKey("customParameter1"));
+        SimplePojoTestWitPrefix prefixResult = prefixMappingPlan.fromMap(map);
+        Assert.assertEquals(testSimplePojoTest1.getStrParam1(), prefixResult.getMyPrefixStrParam1());
+        Assert.assertEquals(testSimplePojoTest1.getIntParam2(), prefixResult.getMyPrefixIntParam2());
+
+        // the values are converted into types of fields
+        Map<String, Object> convertedMap = new HashMap<>();
+        convertedMap.put("intParam1", 7L);
+        convertedMap.put("strParam1", 12);
+        SimplePojoTest1 convertedResult = mapMappingPlan.fromMap(convertedMap);
+        Assert.assertEquals(7, convertedResult.getIntParam1());
+        Assert.assertEquals("12", convertedResult.getStrParam1());
+        // null into primitive field and value without converter
+        try {
+            mapMappingPlan.fromMap(Collections.singletonMap("intParam1", null));
+            Assert.fail("The MapperException is expected");
+        } catch (MapperException e) {
+            Assert.assertTrue(e.getMessage().contains("intParam1"));
+        }
+        try {
+            mapMappingPlan.fromMap(Collections.singletonMap("boolParam2", new Object()));
+            Assert.fail("The MapperException is expected");
+        } catch (MapperException e) {
+            Assert.assertTrue(e.getMessage().contains("boolParam2"));
+        }
+    }
+
+    /**
+     * test/sample of conversion of values - the converters are found when the plan is created
+     */
+    @Test
+    public void testValueConversion(){
+        ConversionPojo1 source = new ConversionPojo1();
+        source.setCount(Integer.MAX_VALUE);
+        source.setTotal(1L << 40);
+        source.setNumber(" 42 ");
+        source.setCreated(new Date(1000L));
+        source.setAmount(new BigDecimal("12.5"));
+        source.setMode("FIELDS");
+
+        for (AccessMode accessMode : AccessMode.values()) {
+            MappingPlan<ConversionPojo1, ConversionPojo2> mappingPlan = MappingPlan.of(ConversionPojo1.class, ConversionPojo2.class,
+                    new MapperOptions().setAccessMode(accessMode));
+            ConversionPojo2 result = mappingPlan.map(source);
+            // primitive widening
+            Assert.assertEquals((long) Integer.MAX_VALUE, result.getCount());
+            Assert.assertEquals((double) (1L << 40), result.getTotal(), 0);
+            // default converters
+            Assert.assertEquals(Integer.valueOf(42), result.getNumber());
+            Assert.assertEquals(Instant.ofEpochMilli(1000L), result.getCreated());
+            Assert.assertEquals(12.5, result.getAmount(), 0);
+            Assert.assertEquals(AccessMode.FIELDS, result.getMode());
+        }
+
+        // custom converter
+        MapperOptions mapperOptions = new MapperOptions();
+        mapperOptions.getConverterRegistry().register(String.class, Integer.class, value -> value.trim().length());
+        Assert.assertEquals(Integer.valueOf(2), MappingPlan.of(ConversionPojo1.class, ConversionPojo2.class, mapperOptions).map(source).getNumber());
+
+        // null is not converted
+        source.setNumber(null);
+        Assert.assertNull(MappingPlan.of(ConversionPojo1.class, ConversionPojo2.class).map(source).getNumber());
+    }
+
+    /**
+     * test/sample of narrowing conversion of numbers - the value which fits into destination type is converted,
+     * otherwise the mapping fails instead of silent overflow or truncation
+     */
+    @Test
+    public void testNarrowingConversion(){
+        ConversionPojo2 source = new ConversionPojo2();
+        source.setCount(7L);
+        source.setTotal(5.0);
+        MappingPlan<ConversionPojo2, ConversionPojo1> mappingPlan = MappingPlan.of(ConversionPojo2.class, ConversionPojo1.class);
+        ConversionPojo1 result = mappingPlan.map(source);
+        Assert.assertEquals(7, result.getCount());
+        Assert.assertEquals(5L, result.getTotal());
+
+        // long out of range of int
+        source.setCount(1L << 40);
+        try {
+            mappingPlan.map(source);
+            Assert.fail("MapperException expected");
+        } catch (MapperException e) {
+            // expected
+        }
+        // double with fraction
+        source.setCount(7L);
+        source.setTotal(5.5);
+        try {
+            mappingPlan.map(source);
+            Assert.fail("MapperException expected");
+        } catch (MapperException e) {
+            // expected
+        }
+
+        ConverterRegistry converterRegistry = ConverterRegistry.withDefaults();
+        Assert.assertEquals(BigInteger.TEN, converterRegistry.findConverter(BigDecimal.class, BigInteger.class).convert(new BigDecimal("10.0")));
+        try {
+            converterRegistry.findConverter(BigDecimal.class, BigInteger.class).convert(new BigDecimal("10.5"));
+            Assert.fail("MapperException expected");
+        } catch (MapperException e) {
+            // expected
+        }
+        try {
+            converterRegistry.findConverter(Double.class, Float.class).convert(Double.MAX_VALUE);
+            Assert.fail("MapperException expected");
+        } catch (MapperException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testConstructorDestinations(){
+        ConversionPojo1 source = new ConversionPojo1();
+        source.setCount(7);
+        source.setTotal(5L);
+        source.setNumber("42");
+        source.setMode("METHODS");
+
+        // all-args constructor with widening and conversion of arguments
+        for (AccessMode accessMode : AccessMode.values()) {
+            ImmutablePojo result = MappingPlan.of(ConversionPojo1.class, ImmutablePojo.class,
+                    new MapperOptions().setAccessMode(accessMode)).map(source);
+            Assert.assertEquals(7L, result.getCount());
+            Assert.assertEquals(5.0, result.getTotal(), 0);
+            Assert.assertEquals(Integer.valueOf(42), result.getNumber());
+            Assert.assertEquals(AccessMode.METHODS, result.getMode());
+        }
+
+        // excluded primitive argument gets default value
+        ImmutablePojo excludedResult = MappingPlan.of(ConversionPojo1.class, ImmutablePojo.class,
+                new MapperOptions().addExcludingField("count")).map(source);
+        Assert.assertEquals(0L, excludedResult.getCount());
+        Assert.assertEquals(Integer.valueOf(42), excludedResult.getNumber());
+
+        // builder
+        SimplePojoTest1 simplePojoTest1 = new SimplePojoTest1();
+        simplePojoTest1.setIntParam1(3);
+        simplePojoTest1.setStrParam1("value");
+        simplePojoTest1.setBoolParam2(Boolean.TRUE);
+        BuilderPojo builderPojo = ReflectionMapperBuilder.createReflectionBuilder(simplePojoTest1, SimplePojoTest1.class, BuilderPojo.class).apply();
+        Assert.assertEquals(3, builderPojo.getIntParam1());
+        Assert.assertEquals("value", builderPojo.getStrParam1());
+        Assert.assertEquals(Boolean.TRUE, builderPojo.getBoolParam2());
+
+        // immutable object can not be mapped into
+        MappingPlan<ConversionPojo1, ImmutablePojo> mappingPlan = MappingPlan.of(ConversionPojo1.class, ImmutablePojo.class);
+        try {
+            mappingPlan.mapInto(source, mappingPlan.map(source));
+            Assert.fail("MapperException expected");
+        } catch (MapperException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testPatchMapping(){
+        SimplePojoTest1 source = new SimplePojoTest1();
+        source.setIntParam1(1);
+        source.setIntParam2(2);
+        source.setStrParam1("str1");
+        source.setStrParam2("str2");
+        source.setBoolParam2(Boolean.TRUE);
+
+        for (AccessMode accessMode : AccessMode.values()) {
+            MappingPlan<SimplePojoTest1, SimplePojoTest1> mappingPlan = MappingPlan.of(SimplePojoTest1.class, SimplePojoTest1.class,
+                    new MapperOptions().setAccessMode(accessMode));
+            SimplePojoTest1 destination = new SimplePojoTest1();
+            Assert.assertEquals(5, mappingPlan.patch(source, destination).cardinality());
+            // nothing changed
+            Assert.assertTrue(mappingPlan.patch(source, destination).isEmpty());
+            // only changed field is written
+            source.setStrParam1("changed");
+            BitSet changedFields = mappingPlan.patch(source, destination);
+            Assert.assertEquals(1, changedFields.cardinality());
+            Assert.assertEquals("strParam1", mappingPlan.getDestinationFieldNames()[changedFields.nextSetBit(0)]);
+            Assert.assertEquals("changed", destination.getStrParam1());
+            source.setStrParam1("str1");
+        }
+
+        // converted and widened values are compared after conversion
+        ConversionPojo1 conversionPojo1 = new ConversionPojo1();
+        conversionPojo1.setCount(7);
+        conversionPojo1.setNumber("42");
+        conversionPojo1.setAmount(BigDecimal.ONE);
+        ConversionPojo2 conversionPojo2 = new ConversionPojo2();
+        MappingPlan<ConversionPojo1, ConversionPojo2> conversionPlan = MappingPlan.of(ConversionPojo1.class, ConversionPojo2.class);
+        Assert.assertFalse(conversionPlan.patch(conversionPojo1, conversionPojo2).isEmpty());
+        Assert.assertEquals(7L, conversionPojo2.getCount());
+        Assert.assertTrue(conversionPlan.patch(conversionPojo1, conversionPojo2).isEmpty());
+
+        // builder
+        SimplePojoTest1 destination = new SimplePojoTest1();
+        ReflectionMapperBuilder.createReflectionBuilder(source, SimplePojoTest1.class, destination, SimplePojoTest1.class).apply();
+        Assert.assertTrue(ReflectionMapperBuilder.createReflectionBuilder(source, SimplePojoTest1.class, destination, SimplePojoTest1.class).patch().isEmpty());
+
+        // the internal objects are patched into the existing internal objects
+        SimplePojoTest1 firstCustomer = new SimplePojoTest1();
+        firstCustomer.setStrParam1("firstCustomer");
+        SimplePojoTest1 secondCustomer = new SimplePojoTest1();
+        secondCustomer.setStrParam1("secondCustomer");
+        GraphNodePojo1 first = new GraphNodePojo1();
+        first.setName("first");
+        first.setCustomer(firstCustomer);
+        GraphNodePojo1 second = new GraphNodePojo1();
+        second.setName("second");
+        second.setCustomer(secondCustomer);
+        first.setNext(second);
+        second.setNext(first);
+        ReflectionMapperBuilder<GraphNodePojo2, GraphNodePojo1> nodeMapper = ReflectionMapperBuilder
+                .createReflectionBuilder(GraphNodePojo1.class, GraphNodePojo2.class);
+        nodeMapper.withInternalClassMapper(GraphNodePojo2.class, nodeMapper)
+                .withInternalClassMapper(SimplePojoTest2.class, ReflectionMapperBuilder.createReflectionBuilder(SimplePojoTest1.class, SimplePojoTest2.class));
+        MappingPlan<GraphNodePojo1, GraphNodePojo2> nodePlan = nodeMapper.toMappingPlan();
+        GraphNodePojo2 nodeDestination = new GraphNodePojo2();
+        Assert.assertEquals(3, nodePlan.patch(first, nodeDestination).cardinality());
+        SimplePojoTest2 patchedCustomer = nodeDestination.getCustomer();
+        GraphNodePojo2 patchedNext = nodeDestination.getNext();
+        Assert.assertSame(nodeDestination, patchedNext.getNext());
+        // nothing changed - the internal objects are not replaced
+        Assert.assertTrue(nodePlan.patch(first, nodeDestination).isEmpty());
+        Assert.assertSame(patchedCustomer, nodeDestination.getCustomer());
+        Assert.assertSame(patchedNext, nodeDestination.getNext());
+        // the changed field of internal object is patched into the same internal object
+        firstCustomer.setStrParam1("changedCustomer");
+        BitSet changedNodeFields = nodePlan.patch(first, nodeDestination);
+        Assert.assertEquals(1, changedNodeFields.cardinality());
+        Assert.assertEquals("customer", nodePlan.getDestinationFieldNames()[changedNodeFields.nextSetBit(0)]);
+        Assert.assertSame(patchedCustomer, nodeDestination.getCustomer());
+        Assert.assertEquals("changedCustomer", patchedCustomer.getStrParam1());
+
+        // the collections are compared element by element and the mapped elements are patched
+        CollectionPojo1 collectionSource = new CollectionPojo1();
+        collectionSource.setItems(Collections.singletonList(firstCustomer));
+        collectionSource.setTags(new HashSet<>(Arrays.asList("b", "a")));
+        collectionSource.setValues(new int[]{1, 2});
+        CollectionPojo2 collectionDestination = new CollectionPojo2();
+        MappingPlan<CollectionPojo1, CollectionPojo2> collectionPlan = MappingPlan.of(CollectionPojo1.class, CollectionPojo2.class);
+        Assert.assertEquals(3, collectionPlan.patch(collectionSource, collectionDestination).cardinality());
+        List<SimplePojoTest2> patchedItems = collectionDestination.getItems();
+        SimplePojoTest2 patchedItem = patchedItems.get(0);
+        Assert.assertTrue(collectionPlan.patch(collectionSource, collectionDestination).isEmpty());
+        firstCustomer.setStrParam1("changedItem");
+        BitSet changedCollectionFields = collectionPlan.patch(collectionSource, collectionDestination);
+        Assert.assertEquals(1, changedCollectionFields.cardinality());
+        Assert.assertEquals("items", collectionPlan.getDestinationFieldNames()[changedCollectionFields.nextSetBit(0)]);
+        Assert.assertSame(patchedItems, collectionDestination.getItems());
+        Assert.assertSame(patchedItem, collectionDestination.getItems().get(0));
+        Assert.assertEquals("changedItem", patchedItem.getStrParam1());
+    }
+
+    @Test
+    public void testMergeMapping(){
+        SimplePojoTest2 overlay = new SimplePojoTest2();
+        overlay.setIntParam1(9);
+        overlay.setStrParam1("overlay");
+        SimplePojoTest2 cache = new SimplePojoTest2();
+        cache.setStrParam2("cache");
+        SimplePojoTest1 databaseRow = new SimplePojoTest1();
+        databaseRow.setIntParam2(5);
+        databaseRow.setStrParam1("db");
+        databaseRow.setStrParam2("db");
+        databaseRow.setBoolParam2(Boolean.TRUE);
+
+        MergePlan<SimplePojoTest1> mergePlan = MergePlan.builder(SimplePojoTest1.class)
+                .withSource(SimplePojoTest2.class, 1)
+                .withSource(SimplePojoTest1.class)
+                .withSource(SimplePojoTest2.class, 2)
+                .build();
+        SimplePojoTest1 result = mergePlan.merge(cache, databaseRow, overlay);
+        Assert.assertEquals(9, result.getIntParam1());
+        Assert.assertEquals("overlay", result.getStrParam1());
+        Assert.assertEquals("cache", result.getStrParam2());
+        Assert.assertEquals(Integer.valueOf(5), result.getIntParam2());
+        Assert.assertEquals(Boolean.TRUE, result.getBoolParam2());
+
+        // null source is skipped
+        Assert.assertEquals("db", mergePlan.merge(cache, databaseRow, null).getStrParam1());
+
+        // field without value is not written
+        SimplePojoTest1 destination = new SimplePojoTest1();
+        destination.setIntParam2(77);
+        databaseRow.setIntParam2(null);
+        mergePlan.mergeInto(destination, cache, databaseRow, overlay);
+        Assert.assertEquals(Integer.valueOf(77), destination.getIntParam2());
+
+        // null of winning source is set
+        MergePlan<SimplePojoTest1> nullMergePlan = MergePlan.builder(SimplePojoTest1.class)
+                .withSource(SimplePojoTest2.class)
+                .withSource(SimplePojoTest1.class)
+                .withSkipNulls(false)
+                .build();
+        Assert.assertNull(nullMergePlan.merge(overlay, databaseRow).getStrParam2());
+
+        // the lowest precedence loses
+        MergePlan<SimplePojoTest1> lowestMergePlan = MergePlan.builder(SimplePojoTest1.class)
+                .withSource(SimplePojoTest2.class, Integer.MIN_VALUE)
+                .withSource(SimplePojoTest1.class)
+                .build();
+        Assert.assertEquals("db", lowestMergePlan.merge(overlay, databaseRow).getStrParam1());
+
+        // immutable destination
+        ConversionPojo1 first = new ConversionPojo1();
+        first.setCount(1);
+        ConversionPojo1 second = new ConversionPojo1();
+        second.setNumber("5");
+        ImmutablePojo immutablePojo = MergePlan.builder(ImmutablePojo.class)
+                .withSource(ConversionPojo1.class)
+                .withSource(ConversionPojo1.class)
+                .build()
+                .merge(first, second);
+        Assert.assertEquals(1L, immutablePojo.getCount());
+        Assert.assertEquals(Integer.valueOf(5), immutablePojo.getNumber());
+
+        // wrong count of sources
+        try {
+            mergePlan.merge(cache, databaseRow);
+            Assert.fail("MapperException expected");
+        } catch (MapperException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testSourceConditions(){
+        SimplePojoTest1 enabledSource = new SimplePojoTest1();
+        enabledSource.setIntParam1(1);
+        enabledSource.setStrParam1("enabled");
+        enabledSource.setBoolParam1(true);
+        SimplePojoTest1 disabledSource = new SimplePojoTest1();
+        disabledSource.setIntParam1(2);
+        disabledSource.setStrParam1("disabled");
+
+        // one template for all source objects
+        MapperTemplate<SimplePojoTest1, SimplePojoTest2> template = MapperTemplate.builder(SimplePojoTest1.class, SimplePojoTest2.class)
+                .withSetter(SimplePojoTest2::setIntParam1, SimplePojoTest1::getIntParam1)
+                .withStartCondition(SimplePojoTest1::isBoolParam1)
+                    .withSetter(SimplePojoTest2::setStrParam1, SimplePojoTest1::getStrParam1)
+                .withEndCondition()
+                .build();
+        SimplePojoTest2 enabledResult = template.apply(enabledSource);
+        Assert.assertEquals(1, enabledResult.getIntParam1());
+        Assert.assertEquals("enabled", enabledResult.getStrParam1());
+        SimplePojoTest2 disabledResult = template.apply(disabledSource);
+        Assert.assertEquals(2, disabledResult.getIntParam1());
+        Assert.assertNull(disabledResult.getStrParam1());
+
+        // builder
+        SimplePojoTest2 builderResult = ReflectionMapperBuilder.createReflectionBuilder(disabledSource, SimplePojoTest1.class, SimplePojoTest2.class)
+                .withStartCondition(SimplePojoTest1::isBoolParam1)
+                .withSetter(SimplePojoTest2::setStrParam2, "conditional")
+                .withEndCondition()
+                .apply();
+        Assert.assertNull(builderResult.getStrParam2());
+        Assert.assertEquals("disabled", builderResult.getStrParam1());
+
+        // excluding field shared by all source objects (mutable and frozen options)
+        MapperOptions mapperOptions = new MapperOptions()
+                .addConditionalExcludingField("strParam1", SimplePojoTest1.class, source -> !source.isBoolParam1());
+        for (MapperOptions options : Arrays.asList(mapperOptions, mapperOptions.freeze())) {
+            MappingPlan<SimplePojoTest1, SimplePojoTest2> mappingPlan = MappingPlan.of(SimplePojoTest1.class, SimplePojoTest2.class, options);
+            Assert.assertEquals("enabled", mappingPlan.map(enabledSource).getStrParam1());
+            Assert.assertNull(mappingPlan.map(disabledSource).getStrParam1());
+            Assert.assertEquals(2, mappingPlan.map(disabledSource).getIntParam1());
+            Assert.assertNull(MapMappingPlan.of(SimplePojoTest1.class, options).toMap(disabledSource).get("strParam1"));
+        }
+    }
 }
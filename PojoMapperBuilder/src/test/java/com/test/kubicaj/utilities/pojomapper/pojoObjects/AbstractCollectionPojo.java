@@ -0,0 +1,30 @@
+package com.test.kubicaj.utilities.pojomapper.pojoObjects;
+
+import java.time.DayOfWeek;
+import java.util.Deque;
+import java.util.EnumSet;
+
+/**
+ * pojo with collection fields whose types are interfaces or abstract classes without known implementation
+ */
+public class AbstractCollectionPojo {
+
+    private Deque<String> queue;
+    private EnumSet<DayOfWeek> days;
+
+    public Deque<String> getQueue() {
+        return queue;
+    }
+
+    public void setQueue(Deque<String> queue) {
+        this.queue = queue;
+    }
+
+    public EnumSet<DayOfWeek> getDays() {
+        return days;
+    }
+
+    public void setDays(EnumSet<DayOfWeek> days) {
+        this.days = days;
+    }
+}
@@ -0,0 +1,59 @@
+package com.test.kubicaj.utilities.pojomapper.pojoObjects;
+
+/**
+ * immutable pojo which is created by builder from {@link SimplePojoTest1}
+ */
+public class BuilderPojo {
+
+    private final int intParam1;
+    private final String strParam1;
+    private final Boolean boolParam2;
+
+    private BuilderPojo(Builder builder) {
+        this.intParam1 = builder.intParam1;
+        this.strParam1 = builder.strParam1;
+        this.boolParam2 = builder.boolParam2;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getIntParam1() {
+        return intParam1;
+    }
+
+    public String getStrParam1() {
+        return strParam1;
+    }
+
+    public Boolean getBoolParam2() {
+        return boolParam2;
+    }
+
+    public static class Builder {
+
+        private int intParam1;
+        private String strParam1;
+        private Boolean boolParam2;
+
+        public Builder intParam1(int intParam1) {
+            this.intParam1 = intParam1;
+            return this;
+        }
+
+        public Builder withStrParam1(String strParam1) {
+            this.strParam1 = strParam1;
+            return this;
+        }
+
+        public Builder setBoolParam2(Boolean boolParam2) {
+            this.boolParam2 = boolParam2;
+            return this;
+        }
+
+        public BuilderPojo build() {
+            return new BuilderPojo(this);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.test.kubicaj.utilities.pojomapper.pojoObjects;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * pojo with collection and array fields
+ */
+public class CollectionPojo1 {
+
+    private List<SimplePojoTest1> items;
+    private Set<String> tags;
+    private int[] values;
+    private SimplePojoTest1[] itemArray;
+    private List<Integer> numbers;
+    private String[] codes;
+
+    public List<SimplePojoTest1> getItems() {
+        return items;
+    }
+
+    public void setItems(List<SimplePojoTest1> items) {
+        this.items = items;
+    }
+
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(Set<String> tags) {
+        this.tags = tags;
+    }
+
+    public int[] getValues() {
+        return values;
+    }
+
+    public void setValues(int[] values) {
+        this.values = values;
+    }
+
+    public SimplePojoTest1[] getItemArray() {
+        return itemArray;
+    }
+
+    public void setItemArray(SimplePojoTest1[] itemArray) {
+        this.itemArray = itemArray;
+    }
+
+    public List<Integer> getNumbers() {
+        return numbers;
+    }
+
+    public void setNumbers(List<Integer> numbers) {
+        this.numbers = numbers;
+    }
+
+    public String[] getCodes() {
+        return codes;
+    }
+
+    public void setCodes(String[] codes) {
+        this.codes = codes;
+    }
+}
@@ -0,0 +1,65 @@
+package com.test.kubicaj.utilities.pojomapper.pojoObjects;
+
+import java.util.List;
+import java.util.SortedSet;
+
+/**
+ * pojo with collection and array fields of other types as {@link CollectionPojo1}
+ */
+public class CollectionPojo2 {
+
+    private List<SimplePojoTest2> items;
+    private SortedSet<String> tags;
+    private int[] values;
+    private List<SimplePojoTest2> itemArray;
+    private List<Long> numbers;
+    private Integer[] codes;
+
+    public List<SimplePojoTest2> getItems() {
+        return items;
+    }
+
+    public void setItems(List<SimplePojoTest2> items) {
+        this.items = items;
+    }
+
+    public SortedSet<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(SortedSet<String> tags) {
+        this.tags = tags;
+    }
+
+    public int[] getValues() {
+        return values;
+    }
+
+    public void setValues(int[] values) {
+        this.values = values;
+    }
+
+    public List<SimplePojoTest2> getItemArray() {
+        return itemArray;
+    }
+
+    public void setItemArray(List<SimplePojoTest2> itemArray) {
+        this.itemArray = itemArray;
+    }
+
+    public List<Long> getNumbers() {
+        return numbers;
+    }
+
+    public void setNumbers(List<Long> numbers) {
+        this.numbers = numbers;
+    }
+
+    public Integer[] getCodes() {
+        return codes;
+    }
+
+    public void setCodes(Integer[] codes) {
+        this.codes = codes;
+    }
+}
@@ -0,0 +1,65 @@
+package com.test.kubicaj.utilities.pojomapper.pojoObjects;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * pojo with values which have to be converted into types of {@link ConversionPojo2}
+ */
+public class ConversionPojo1 {
+
+    private int count;
+    private long total;
+    private String number;
+    private Date created;
+    private BigDecimal amount;
+    private String mode;
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public String getNumber() {
+        return number;
+    }
+
+    public void setNumber(String number) {
+        this.number = number;
+    }
+
+    public Date getCreated() {
+        return created;
+    }
+
+    public void setCreated(Date created) {
+        this.created = created;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+}
@@ -0,0 +1,66 @@
+package com.test.kubicaj.utilities.pojomapper.pojoObjects;
+
+import com.kubicaj.utilities.pojomapper.options.AccessMode;
+
+import java.time.Instant;
+
+/**
+ * pojo with values converted from types of {@link ConversionPojo1}
+ */
+public class ConversionPojo2 {
+
+    private long count;
+    private double total;
+    private Integer number;
+    private Instant created;
+    private double amount;
+    private AccessMode mode;
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getTotal() {
+        return total;
+    }
+
+    public void setTotal(double total) {
+        this.total = total;
+    }
+
+    public Integer getNumber() {
+        return number;
+    }
+
+    public void setNumber(Integer number) {
+        this.number = number;
+    }
+
+    public Instant getCreated() {
+        return created;
+    }
+
+    public void setCreated(Instant created) {
+        this.created = created;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public void setAmount(double amount) {
+        this.amount = amount;
+    }
+
+    public AccessMode getMode() {
+        return mode;
+    }
+
+    public void setMode(AccessMode mode) {
+        this.mode = mode;
+    }
+}
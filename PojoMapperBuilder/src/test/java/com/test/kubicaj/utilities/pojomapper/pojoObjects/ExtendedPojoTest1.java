@@ -0,0 +1,17 @@
+package com.test.kubicaj.utilities.pojomapper.pojoObjects;
+
+/**
+ * subclass of {@link SimplePojoTest1} with own field
+ */
+public class ExtendedPojoTest1 extends SimplePojoTest1 {
+
+    private String strParam3;
+
+    public String getStrParam3() {
+        return strParam3;
+    }
+
+    public void setStrParam3(String strParam3) {
+        this.strParam3 = strParam3;
+    }
+}
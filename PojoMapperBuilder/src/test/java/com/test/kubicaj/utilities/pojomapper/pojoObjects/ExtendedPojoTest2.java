@@ -0,0 +1,23 @@
+package com.test.kubicaj.utilities.pojomapper.pojoObjects;
+
+/**
+ * subclass of {@link SimplePojoTest2} with own field, static field and overloaded setter
+ */
+public class ExtendedPojoTest2 extends SimplePojoTest2 {
+
+    private static final long serialVersionUID = 1L;
+
+    private String strParam3;
+
+    public String getStrParam3() {
+        return strParam3;
+    }
+
+    public void setStrParam3(int strParam3) {
+        this.strParam3 = "int:" + strParam3;
+    }
+
+    public void setStrParam3(String strParam3) {
+        this.strParam3 = strParam3;
+    }
+}
@@ -0,0 +1,28 @@
+package com.test.kubicaj.utilities.pojomapper.pojoObjects;
+
+/**
+ * value class with fluent accessors
+ */
+public class FluentPojo {
+
+    private int intParam1;
+    private String strParam1;
+
+    public int intParam1() {
+        return intParam1;
+    }
+
+    public FluentPojo intParam1(int intParam1) {
+        this.intParam1 = intParam1;
+        return this;
+    }
+
+    public String strParam1() {
+        return strParam1;
+    }
+
+    public FluentPojo strParam1(String strParam1) {
+        this.strParam1 = strParam1;
+        return this;
+    }
+}
@@ -0,0 +1,35 @@
+package com.test.kubicaj.utilities.pojomapper.pojoObjects;
+
+/**
+ * node of object graph which can refer to other nodes (also in cycle) and to shared customer
+ */
+public class GraphNodePojo1 {
+
+    private String name;
+    private GraphNodePojo1 next;
+    private SimplePojoTest1 customer;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public GraphNodePojo1 getNext() {
+        return next;
+    }
+
+    public void setNext(GraphNodePojo1 next) {
+        this.next = next;
+    }
+
+    public SimplePojoTest1 getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(SimplePojoTest1 customer) {
+        this.customer = customer;
+    }
+}
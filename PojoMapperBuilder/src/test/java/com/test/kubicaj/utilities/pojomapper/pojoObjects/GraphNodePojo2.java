@@ -0,0 +1,35 @@
+package com.test.kubicaj.utilities.pojomapper.pojoObjects;
+
+/**
+ * node of object graph which can refer to other nodes (also in cycle) and to shared customer
+ */
+public class GraphNodePojo2 {
+
+    private String name;
+    private GraphNodePojo2 next;
+    private SimplePojoTest2 customer;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public GraphNodePojo2 getNext() {
+        return next;
+    }
+
+    public void setNext(GraphNodePojo2 next) {
+        this.next = next;
+    }
+
+    public SimplePojoTest2 getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(SimplePojoTest2 customer) {
+        this.customer = customer;
+    }
+}
@@ -0,0 +1,37 @@
+package com.test.kubicaj.utilities.pojomapper.pojoObjects;
+
+import com.kubicaj.utilities.pojomapper.options.AccessMode;
+
+/**
+ * immutable pojo which is created by all-args constructor from {@link ConversionPojo1}
+ */
+public class ImmutablePojo {
+
+    private final long count;
+    private final double total;
+    private final Integer number;
+    private final AccessMode mode;
+
+    public ImmutablePojo(long count, double total, Integer number, AccessMode mode) {
+        this.count = count;
+        this.total = total;
+        this.number = number;
+        this.mode = mode;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getTotal() {
+        return total;
+    }
+
+    public Integer getNumber() {
+        return number;
+    }
+
+    public AccessMode getMode() {
+        return mode;
+    }
+}
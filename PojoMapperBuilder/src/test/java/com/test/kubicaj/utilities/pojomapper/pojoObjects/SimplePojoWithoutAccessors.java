@@ -0,0 +1,18 @@
+package com.test.kubicaj.utilities.pojomapper.pojoObjects;
+
+/**
+ * value class without getters and setters
+ */
+public class SimplePojoWithoutAccessors {
+
+    private int intParam1;
+
+    private Integer intParam2;
+
+    private final String strParam1 = null;
+
+    private String strParam2;
+
+    private boolean boolParam1;
+
+}
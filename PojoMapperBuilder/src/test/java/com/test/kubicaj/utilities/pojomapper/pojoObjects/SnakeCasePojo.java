@@ -0,0 +1,35 @@
+package com.test.kubicaj.utilities.pojomapper.pojoObjects;
+
+/**
+ * value class with snake_case fields and java beans accessors
+ */
+public class SnakeCasePojo {
+
+    private int int_param1;
+    private String str_param1;
+    private boolean bool_param1;
+
+    public int getIntParam1() {
+        return int_param1;
+    }
+
+    public void setIntParam1(int intParam1) {
+        this.int_param1 = intParam1;
+    }
+
+    public String getStrParam1() {
+        return str_param1;
+    }
+
+    public void setStrParam1(String strParam1) {
+        this.str_param1 = strParam1;
+    }
+
+    public boolean isBoolParam1() {
+        return bool_param1;
+    }
+
+    public void setBoolParam1(boolean boolParam1) {
+        this.bool_param1 = boolParam1;
+    }
+}
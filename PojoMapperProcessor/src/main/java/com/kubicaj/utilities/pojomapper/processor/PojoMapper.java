@@ -0,0 +1,60 @@
+package com.kubicaj.utilities.pojomapper.processor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Mark interface for which the mapper implementation is generated in compile time by {@link PojoMapperProcessor}.
+ * <p>
+ * Each abstract method of interface in form {@code R map(S source)} is implemented as plain java code which creates
+ * new instance of {@code R} and sets all its fields from getters of {@code S}. The names of getters and setters
+ * are found with the same rules as in {@code ReflectionMapperBuilder}:
+ * <ul>
+ * <li>setter = set + capitalized destination field name</li>
+ * <li>getter = get (is for primitive boolean) + source prefix + base field name + source suffix</li>
+ * <li>base field name = destination field name without destination prefix and suffix</li>
+ * </ul>
+ * The generated class has name of interface with suffix {@code Impl} and it is in the same package.
+ * <p>
+ * Sample:
+ * <pre>
+ * {@literal @}PojoMapper(destinationObjectFieldPrefix = "myPrefix")
+ * public interface SimplePojoMapper {
+ *     SimplePojoTest2 map(SimplePojoTest1 source);
+ * }
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface PojoMapper {
+
+    /**
+     * the same as {@code MapperOptions#sourceObjectFieldPrefix}
+     */
+    String sourceObjectFieldPrefix() default "";
+
+    /**
+     * the same as {@code MapperOptions#sourceObjectFieldSuffix}
+     */
+    String sourceObjectFieldSuffix() default "";
+
+    /**
+     * the same as {@code MapperOptions#destinationObjectFieldPrefix}
+     */
+    String destinationObjectFieldPrefix() default "";
+
+    /**
+     * the same as {@code MapperOptions#destinationObjectFieldSuffixe}
+     */
+    String destinationObjectFieldSuffix() default "";
+
+    /**
+     * full names of destination fields (including prefix and suffix) which are exclude from mapping.
+     * The same as {@code MapperOptions#addExcludingField(String)}
+     */
+    String[] excludingFields() default {};
+}
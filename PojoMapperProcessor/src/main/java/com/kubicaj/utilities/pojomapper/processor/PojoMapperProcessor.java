@@ -0,0 +1,321 @@
+package com.kubicaj.utilities.pojomapper.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Annotation processor which generates implementation of interfaces marked by {@link PojoMapper}.
+ * <p>
+ * The generated code contains only direct calls of getters and setters, therefore there is no reflection
+ * and no warm-up in runtime. The naming rules are the same as in {@code ReflectionMapperBuilder}. The errors
+ * which reflection mapping reports in runtime (missing setter, incompatible types) are reported in compile time.
+ */
+public class PojoMapperProcessor extends AbstractProcessor {
+
+    private static final String GENERATED_CLASS_SUFFIX = "Impl";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(PojoMapper.class.getName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(PojoMapper.class)) {
+            if (element.getKind() != ElementKind.INTERFACE) {
+                error(element, "@PojoMapper can be used only on interface");
+                continue;
+            }
+            TypeElement mapperInterface = (TypeElement) element;
+            try {
+                generateMapper(mapperInterface, mapperInterface.getAnnotation(PojoMapper.class));
+            } catch (IOException e) {
+                error(mapperInterface, "Not able to write mapper implementation: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // GENERATING METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * generate implementation of {@code mapperInterface}
+     *
+     * @param mapperInterface
+     * @param pojoMapper      - options of mapping
+     * @throws IOException
+     */
+    private void generateMapper(TypeElement mapperInterface, PojoMapper pojoMapper) throws IOException {
+        String packageName = processingEnv.getElementUtils().getPackageOf(mapperInterface).getQualifiedName().toString();
+        String className = getGeneratedClassName(mapperInterface);
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n * Generated by ").append(PojoMapperProcessor.class.getName()).append("\n */\n");
+        source.append("public class ").append(className).append(" implements ")
+                .append(mapperInterface.getQualifiedName()).append(" {\n");
+
+        boolean valid = true;
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(mapperInterface))) {
+            if (!method.getModifiers().contains(Modifier.ABSTRACT)) {
+                continue;
+            }
+            if (method.getParameters().size() != 1 || method.getReturnType().getKind() != TypeKind.DECLARED
+                    || method.getParameters().get(0).asType().getKind() != TypeKind.DECLARED) {
+                error(method, "The mapping method has to be in form R map(S source)");
+                valid = false;
+                continue;
+            }
+            valid &= generateMappingMethod(source, method, pojoMapper);
+        }
+        source.append("}\n");
+
+        if (valid) {
+            String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+            JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(qualifiedName, mapperInterface);
+            try (Writer writer = sourceFile.openWriter()) {
+                writer.write(source.toString());
+            }
+        }
+    }
+
+    /**
+     * generate implementation of one mapping method
+     *
+     * @param source     - the source code of generated class
+     * @param method     - method of interface in form R map(S source)
+     * @param pojoMapper - options of mapping
+     * @return - true if the method was generated without errors
+     */
+    private boolean generateMappingMethod(StringBuilder source, ExecutableElement method, PojoMapper pojoMapper) {
+        TypeMirror sourceType = method.getParameters().get(0).asType();
+        TypeMirror destinationType = method.getReturnType();
+        TypeElement sourceElement = (TypeElement) processingEnv.getTypeUtils().asElement(sourceType);
+        TypeElement destinationElement = (TypeElement) processingEnv.getTypeUtils().asElement(destinationType);
+
+        if (!hasDefaultConstructor(destinationElement)) {
+            error(method, String.format("The type %s has no public no-argument constructor", destinationElement.getQualifiedName()));
+            return false;
+        }
+
+        source.append("\n    @Override\n");
+        source.append("    public ").append(destinationType).append(' ').append(method.getSimpleName())
+                .append('(').append(sourceType).append(" source) {\n");
+        source.append("        if (source == null) {\n            return null;\n        }\n");
+        source.append("        ").append(destinationType).append(" destination = new ").append(destinationType).append("();\n");
+
+        boolean valid = true;
+        Set<String> excludingFields = new HashSet<>(Arrays.asList(pojoMapper.excludingFields()));
+        for (VariableElement field : getAllFields(destinationElement)) {
+            String fieldName = field.getSimpleName().toString();
+            if (excludingFields.contains(fieldName)) {
+                continue;
+            }
+            // search getter function
+            String fieldBaseName = getDestinationBaseFieldName(fieldName, pojoMapper);
+            String getterName = getSourceMethodGetterName(fieldBaseName, field.asType().getKind() == TypeKind.BOOLEAN, pojoMapper);
+            ExecutableElement getter = findMethod(sourceElement, getterName, null);
+            if (getter == null) {
+                // the same as reflection - the field without getter is not mapped
+                continue;
+            }
+            String setterName = "set" + capitalize(fieldName);
+            ExecutableElement setter = findMethod(destinationElement, setterName, field.asType());
+            if (setter == null) {
+                error(method, String.format("There is getter %s.%s but no setter %s.%s(%s)",
+                        sourceElement.getQualifiedName(), getterName, destinationElement.getQualifiedName(), setterName, field.asType()));
+                valid = false;
+                continue;
+            }
+            if (!processingEnv.getTypeUtils().isAssignable(getter.getReturnType(), setter.getParameters().get(0).asType())) {
+                error(method, String.format("The result of %s.%s can not be passed into %s.%s",
+                        sourceElement.getQualifiedName(), getterName, destinationElement.getQualifiedName(), setterName));
+                valid = false;
+                continue;
+            }
+            source.append("        destination.").append(setterName).append("(source.").append(getterName).append("());\n");
+        }
+        source.append("        return destination;\n    }\n");
+        return valid;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // HELPER METHODS
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * find public instance method of {@code typeElement} (including inherited methods)
+     *
+     * @param typeElement
+     * @param methodName
+     * @param parameterType - type of the only parameter or null for method without parameters
+     * @return - method or null if there is no such method
+     */
+    private ExecutableElement findMethod(TypeElement typeElement, String methodName, TypeMirror parameterType) {
+        List<ExecutableElement> methods = ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(typeElement));
+        for (ExecutableElement method : methods) {
+            if (!method.getSimpleName().contentEquals(methodName) || !method.getModifiers().contains(Modifier.PUBLIC)
+                    || method.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            List<? extends VariableElement> parameters = method.getParameters();
+            if (parameterType == null && parameters.isEmpty()) {
+                return method;
+            }
+            if (parameterType != null && parameters.size() == 1 && processingEnv.getTypeUtils().isSameType(
+                    processingEnv.getTypeUtils().erasure(parameters.get(0).asType()),
+                    processingEnv.getTypeUtils().erasure(parameterType))) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * find instance fields of {@code typeElement} and all its superclasses. The same rule as in {@code ReflectionUtils}
+     * - the fields are in order from the top superclass and the field of subclass hides the field of superclass
+     *
+     * @param typeElement
+     * @return
+     */
+    private Collection<VariableElement> getAllFields(TypeElement typeElement) {
+        Deque<TypeElement> hierarchy = new ArrayDeque<>();
+        for (TypeElement type = typeElement; type != null && !type.getQualifiedName().contentEquals(Object.class.getName());
+             type = (TypeElement) processingEnv.getTypeUtils().asElement(type.getSuperclass())) {
+            hierarchy.addFirst(type);
+        }
+        Map<String, VariableElement> result = new LinkedHashMap<>();
+        for (TypeElement type : hierarchy) {
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                if (!field.getModifiers().contains(Modifier.STATIC)) {
+                    result.put(field.getSimpleName().toString(), field);
+                }
+            }
+        }
+        return result.values();
+    }
+
+    /**
+     * check if type has public no-argument constructor
+     *
+     * @param typeElement
+     * @return
+     */
+    private boolean hasDefaultConstructor(TypeElement typeElement) {
+        if (typeElement.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(typeElement.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param mapperInterface
+     * @return - name of generated class. The names of enclosing types are joined by underscore
+     */
+    private String getGeneratedClassName(TypeElement mapperInterface) {
+        StringBuilder className = new StringBuilder(mapperInterface.getSimpleName());
+        for (Element enclosing = mapperInterface.getEnclosingElement(); !(enclosing instanceof PackageElement); enclosing = enclosing.getEnclosingElement()) {
+            className.insert(0, enclosing.getSimpleName() + "_");
+        }
+        return className.append(GENERATED_CLASS_SUFFIX).toString();
+    }
+
+    /**
+     * find the getter name of source object. The same rule as in {@code ReflectionMapperBuilder}
+     *
+     * @param baseFieldName      - base name of method
+     * @param isPrimitiveBoolean - flag indicate if the field is type of primitive boolean
+     * @param pojoMapper         - options of mapping
+     * @return
+     */
+    private static String getSourceMethodGetterName(String baseFieldName, boolean isPrimitiveBoolean, PojoMapper pojoMapper) {
+        String prefix = "get";
+        if (isPrimitiveBoolean) {
+            prefix = "is";
+        }
+        return prefix +
+                capitalize(pojoMapper.sourceObjectFieldPrefix()) +
+                capitalize(baseFieldName) +
+                capitalize(pojoMapper.sourceObjectFieldSuffix());
+    }
+
+    /**
+     * find field name which is reduce by destination prefix and suffix. The same rule as in {@code ReflectionMapperBuilder}
+     *
+     * @param fieldName
+     * @param pojoMapper - options of mapping
+     * @return - base name of field
+     */
+    private static String getDestinationBaseFieldName(String fieldName, PojoMapper pojoMapper) {
+        String baseFieldName = fieldName;
+        String destinationPrefix = pojoMapper.destinationObjectFieldPrefix();
+        if (!destinationPrefix.isEmpty() && baseFieldName.startsWith(destinationPrefix)) {
+            baseFieldName = baseFieldName.substring(destinationPrefix.length());
+        }
+        String destinationSuffix = pojoMapper.destinationObjectFieldSuffix();
+        if (!destinationSuffix.isEmpty()) {
+            int suffixIndex = baseFieldName.lastIndexOf(destinationSuffix);
+            if (suffixIndex > -1) {
+                baseFieldName = baseFieldName.substring(0, suffixIndex);
+            }
+        }
+        return uncapitalize(baseFieldName);
+    }
+
+    private static String capitalize(String value) {
+        if (value.isEmpty()) {
+            return value;
+        }
+        return Character.toTitleCase(value.charAt(0)) + value.substring(1);
+    }
+
+    private static String uncapitalize(String value) {
+        if (value.isEmpty()) {
+            return value;
+        }
+        return Character.toLowerCase(value.charAt(0)) + value.substring(1);
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,18 @@
+package com.test.kubicaj.utilities.pojomapper.processor;
+
+import com.kubicaj.utilities.pojomapper.processor.PojoMapper;
+import com.test.kubicaj.utilities.pojomapper.pojoObjects.SimplePojoTestWitPrefix;
+import com.test.kubicaj.utilities.pojomapper.pojoObjects.SimplePojoTestWithPrefixAndSuffix;
+
+/**
+ * mapper with prefixes and suffixes. The implementation is generated in {@link PrefixPojoMapperImpl}
+ */
+@PojoMapper(
+        destinationObjectFieldPrefix = "myPrefix",
+        destinationObjectFieldSuffix = "MySuffix",
+        sourceObjectFieldPrefix = "myPrefix")
+public interface PrefixPojoMapper {
+
+    SimplePojoTestWithPrefixAndSuffix map(SimplePojoTestWitPrefix source);
+
+}
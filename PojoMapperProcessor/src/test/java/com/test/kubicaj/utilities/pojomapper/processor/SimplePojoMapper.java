@@ -0,0 +1,15 @@
+package com.test.kubicaj.utilities.pojomapper.processor;
+
+import com.kubicaj.utilities.pojomapper.processor.PojoMapper;
+import com.test.kubicaj.utilities.pojomapper.pojoObjects.SimplePojoTest1;
+import com.test.kubicaj.utilities.pojomapper.pojoObjects.SimplePojoTest2;
+
+/**
+ * mapper without options. The implementation is generated in {@link SimplePojoMapperImpl}
+ */
+@PojoMapper(excludingFields = "strParam2")
+public interface SimplePojoMapper {
+
+    SimplePojoTest2 map(SimplePojoTest1 source);
+
+}
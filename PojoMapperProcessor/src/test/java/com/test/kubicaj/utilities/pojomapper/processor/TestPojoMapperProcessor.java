@@ -0,0 +1,220 @@
+package com.test.kubicaj.utilities.pojomapper.processor;
+
+import com.kubicaj.utilities.pojomapper.MappingPlan;
+import com.kubicaj.utilities.pojomapper.options.MapperOptions;
+import com.kubicaj.utilities.pojomapper.processor.PojoMapper;
+import com.kubicaj.utilities.pojomapper.processor.PojoMapperProcessor;
+import com.kubicaj.utilities.pojomapper.reflection.ReflectionUtils;
+import com.test.kubicaj.utilities.pojomapper.pojoObjects.SimplePojoTest1;
+import com.test.kubicaj.utilities.pojomapper.pojoObjects.SimplePojoTest2;
+import com.test.kubicaj.utilities.pojomapper.pojoObjects.SimplePojoTestWitPrefix;
+import com.test.kubicaj.utilities.pojomapper.pojoObjects.SimplePojoTestWithPrefixAndSuffix;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * test + samples of mappers generated in compile time
+ */
+public class TestPojoMapperProcessor {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // INIT OBJECTS/ATTRIBUTES SECTION
+    // -----------------------------------------------------------------------------------------------------------------
+
+    // test object
+    private static SimplePojoTest1 testSimplePojoTest1 = new SimplePojoTest1();
+    static {
+        testSimplePojoTest1.setIntParam1(1);
+        testSimplePojoTest1.setIntParam2(2);
+        testSimplePojoTest1.setStrParam1("param1");
+        testSimplePojoTest1.setStrParam2("param2");
+        testSimplePojoTest1.setBoolParam1(true);
+    }
+
+    private static SimplePojoTestWitPrefix testSimplePojoTestWithPrefix1 = new SimplePojoTestWitPrefix();
+    static {
+        testSimplePojoTestWithPrefix1.setMyPrefixIntParam1(1);
+        testSimplePojoTestWithPrefix1.setMyPrefixIntParam2(2);
+        testSimplePojoTestWithPrefix1.setMyPrefixStrParam1("param1");
+        testSimplePojoTestWithPrefix1.setMyPrefixStrParam2("param2");
+        testSimplePojoTestWithPrefix1.setMyPrefixBoolParam1(true);
+        testSimplePojoTestWithPrefix1.setCustomParameter1("custom1");
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // TEST METHOD SECTION
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * test generated mapper without options
+     */
+    @Test
+    public void testGeneratedSimpleMapping(){
+        SimplePojoMapper mapper = new SimplePojoMapperImpl();
+        SimplePojoTest2 simplePojoTest2 = mapper.map(testSimplePojoTest1);
+        // check result - attrs values of simplePojoTest2 has to be equal with attrs values of testSimplePojoTest1
+        Assert.assertEquals(simplePojoTest2.getIntParam1(), testSimplePojoTest1.getIntParam1());
+        Assert.assertEquals(simplePojoTest2.getIntParam2(), testSimplePojoTest1.getIntParam2());
+        Assert.assertEquals(simplePojoTest2.getStrParam1(), testSimplePojoTest1.getStrParam1());
+        Assert.assertEquals(simplePojoTest2.isBoolParam1(), testSimplePojoTest1.isBoolParam1());
+        // check excluding field
+        Assert.assertNull(simplePojoTest2.getStrParam2());
+        // check null source
+        Assert.assertNull(mapper.map(null));
+    }
+
+    /**
+     * test generated mapper with prefixes and suffixes
+     */
+    @Test
+    public void testGeneratedMappingWithPrefixesAndSuffixes(){
+        SimplePojoTestWithPrefixAndSuffix result = new PrefixPojoMapperImpl().map(testSimplePojoTestWithPrefix1);
+        // check result - attrs values of result has to be equal with attrs values of testSimplePojoTestWithPrefix1
+        Assert.assertEquals(result.getMyPrefixIntParam1MySuffix(), testSimplePojoTestWithPrefix1.getMyPrefixIntParam1());
+        Assert.assertEquals(result.getMyPrefixIntParam2MySuffix(), testSimplePojoTestWithPrefix1.getMyPrefixIntParam2());
+        Assert.assertEquals(result.getMyPrefixStrParam1MySuffix(), testSimplePojoTestWithPrefix1.getMyPrefixStrParam1());
+        Assert.assertEquals(result.getMyPrefixStrParam2MySuffix(), testSimplePojoTestWithPrefix1.getMyPrefixStrParam2());
+        Assert.assertEquals(result.getMyPrefixBoolParam2MySuffix(), testSimplePojoTestWithPrefix1.getMyPrefixBoolParam2());
+        Assert.assertEquals(result.isMyPrefixBoolParam1MySuffix(), testSimplePojoTestWithPrefix1.isMyPrefixBoolParam1());
+        Assert.assertNull(result.getCustomParameter2());
+    }
+
+    /**
+     * test that generated mappers use the same names as reflection mapping with the same options. The names
+     * are resolved by the processor and by {@link MappingPlan} independently, therefore they have to map the same fields
+     */
+    @Test
+    public void testSameFieldsAsReflectionMapping(){
+        assertSameFields(new SimplePojoMapperImpl().map(testSimplePojoTest1),
+                MappingPlan.of(SimplePojoTest1.class, SimplePojoTest2.class, new MapperOptions()
+                        .addExcludingField("strParam2"))
+                        .map(testSimplePojoTest1));
+        assertSameFields(new PrefixPojoMapperImpl().map(testSimplePojoTestWithPrefix1),
+                MappingPlan.of(SimplePojoTestWitPrefix.class, SimplePojoTestWithPrefixAndSuffix.class, new MapperOptions()
+                        .setDestinationObjectFieldPrefix("myPrefix")
+                        .setDestinationObjectFieldSuffixe("MySuffix")
+                        .setSourceObjectFieldPrefix("myPrefix"))
+                        .map(testSimplePojoTestWithPrefix1));
+    }
+
+    /**
+     * test compile error - the source object has getter, but the destination object has no setter
+     */
+    @Test
+    public void testMissingSetterError() throws Exception {
+        List<String> errors = compile("MissingSetterMapper",
+                "@com.kubicaj.utilities.pojomapper.processor.PojoMapper\n" +
+                "public interface MissingSetterMapper {\n" +
+                "    Destination map(Source source);\n" +
+                "    class Source { public String getName() { return null; } }\n" +
+                "    class Destination { private String name; }\n" +
+                "}\n");
+        Assert.assertEquals(errors.toString(), 1, errors.size());
+        Assert.assertTrue(errors.get(0), errors.get(0).contains("no setter") && errors.get(0).contains("setName"));
+    }
+
+    /**
+     * test compile error - the result of getter can not be passed into setter
+     */
+    @Test
+    public void testIncompatibleTypesError() throws Exception {
+        List<String> errors = compile("IncompatibleTypesMapper",
+                "@com.kubicaj.utilities.pojomapper.processor.PojoMapper\n" +
+                "public interface IncompatibleTypesMapper {\n" +
+                "    Destination map(Source source);\n" +
+                "    class Source { public String getCount() { return null; } }\n" +
+                "    class Destination { private int count; public void setCount(int count) { this.count = count; } }\n" +
+                "}\n");
+        Assert.assertEquals(errors.toString(), 1, errors.size());
+        Assert.assertTrue(errors.get(0), errors.get(0).contains("getCount can not be passed into") && errors.get(0).contains("setCount"));
+    }
+
+    /**
+     * test compile errors - the annotation on class and destination without no-argument constructor
+     */
+    @Test
+    public void testInvalidMapperErrors() throws Exception {
+        List<String> errors = compile("ClassMapper",
+                "@com.kubicaj.utilities.pojomapper.processor.PojoMapper\n" +
+                "public class ClassMapper {\n" +
+                "}\n");
+        Assert.assertEquals(Collections.singletonList("@PojoMapper can be used only on interface"), errors);
+
+        errors = compile("NoConstructorMapper",
+                "@com.kubicaj.utilities.pojomapper.processor.PojoMapper\n" +
+                "public interface NoConstructorMapper {\n" +
+                "    Destination map(Destination source);\n" +
+                "    class Destination { public Destination(String name) { } }\n" +
+                "}\n");
+        Assert.assertEquals(errors.toString(), 1, errors.size());
+        Assert.assertTrue(errors.get(0), errors.get(0).contains("has no public no-argument constructor"));
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // HELPER METHODS SECTION
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * check that all fields of objects have equal values
+     *
+     * @param expected
+     * @param actual
+     */
+    private static void assertSameFields(Object expected, Object actual) {
+        Assert.assertSame(expected.getClass(), actual.getClass());
+        for (Field field : ReflectionUtils.getDeclarativeFields(expected.getClass())) {
+            field.setAccessible(true);
+            try {
+                Assert.assertEquals(field.getName(), field.get(expected), field.get(actual));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * compile source of one class by {@link PojoMapperProcessor}. The classes and generated sources are written into
+     * temporary directory
+     *
+     * @param className - simple name of class in default package
+     * @param source    - source code of class
+     * @return - messages of compile errors
+     */
+    private static List<String> compile(String className, String source) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Path outputDirectory = Files.createTempDirectory("pojo-mapper-processor");
+        String classPath = new File(PojoMapper.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+        JavaFileObject sourceFile = new SimpleJavaFileObject(URI.create("string:///" + className + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics,
+                Arrays.asList("-classpath", classPath, "-d", outputDirectory.toString(), "-s", outputDirectory.toString()),
+                null, Collections.singletonList(sourceFile));
+        task.setProcessors(Collections.singletonList(new PojoMapperProcessor()));
+        task.call();
+        return diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> diagnostic.getMessage(null))
+                .collect(Collectors.toList());
+    }
+}